@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookup of flexible enum values, done for every enum field of every deserialized entity. Known values are scanned
+ * linearly, so the cost grows with position of the value and is the highest for discovered ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FlexibleEnumBenchmark {
+
+    @Benchmark
+    public LangIso639 firstKnownValue() {
+        return LangIso639.valueOf("AB");
+    }
+
+    @Benchmark
+    public LangIso639 lastKnownValue() {
+        return LangIso639.valueOf("PT_BR");
+    }
+
+    @Benchmark
+    public LangIso639 discoveredValue() {
+        return LangIso639.valueOf("XX");
+    }
+
+    @Benchmark
+    public CountryIso3166 knownCountry() {
+        return CountryIso3166.valueOf("RU");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ai.toloka.client.v1.assignment.AssignmentSearchRequest;
+import ai.toloka.client.v1.assignment.AssignmentStatus;
+
+import static ai.toloka.client.v1.impl.transport.DefaultHttpClientConfiguration.DEFAULT_TOLOKA_PROD_URI;
+
+/**
+ * Building of a search request URI: query parameters of the request, version prefix and conversion of parameter
+ * values, as done by {@link AbstractClientImpl#find} before every page request. No request is sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestBuildingBenchmark {
+
+    private AssignmentClientImpl client;
+    private AssignmentSearchRequest request;
+
+    @Setup
+    public void setUp() {
+        client = new AssignmentClientImpl(
+                new TolokaClientFactoryImpl(DEFAULT_TOLOKA_PROD_URI, HttpClients.createMinimal()));
+
+        request = AssignmentSearchRequest.make()
+                .filter().byPoolId("21").byStatus(AssignmentStatus.SUBMITTED)
+                .and()
+                .range().bySubmitted(new Date(1476013321000L)).gte().byId("assignment-i1d").gt()
+                .and()
+                .sort().byId().asc()
+                .and()
+                .limit(1000)
+                .done();
+    }
+
+    @Benchmark
+    public Object getQueryParameters() {
+        return request.getQueryParameters();
+    }
+
+    @Benchmark
+    public URI buildSearchUri() throws URISyntaxException {
+        return client.addVersionPrefix(new URIBuilder(client.getTolokaApiUrl()), "assignments")
+                .addParameters(client.convertParameters(request.getQueryParameters()))
+                .build();
+    }
+}
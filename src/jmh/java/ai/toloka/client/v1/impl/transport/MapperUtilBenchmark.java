@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.assignment.Assignment;
+import ai.toloka.client.v1.pool.Pool;
+import ai.toloka.client.v1.task.Task;
+
+/**
+ * Reading and writing of typical entities through {@link MapperUtil}, the way every request and response does.
+ * Run with the {@code gc} profiler to see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperUtilBenchmark {
+
+    private byte[] taskJson;
+    private byte[] assignmentJson;
+    private byte[] poolJson;
+
+    private Task task;
+    private Assignment assignment;
+    private Pool pool;
+
+    @Setup
+    public void setUp() throws IOException {
+        taskJson = readResource("task.json");
+        assignmentJson = readResource("assignment.json");
+        poolJson = readResource("pool.json");
+
+        task = MapperUtil.getObjectReader(Task.class).readValue(taskJson);
+        assignment = MapperUtil.getObjectReader(Assignment.class).readValue(assignmentJson);
+        pool = MapperUtil.getObjectReader(Pool.class).readValue(poolJson);
+    }
+
+    @Benchmark
+    public Task readTask() throws IOException {
+        return MapperUtil.getObjectReader(Task.class).readValue(taskJson);
+    }
+
+    @Benchmark
+    public byte[] writeTask() throws IOException {
+        return MapperUtil.getObjectWriter().writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public Assignment readAssignment() throws IOException {
+        return MapperUtil.getObjectReader(Assignment.class).readValue(assignmentJson);
+    }
+
+    @Benchmark
+    public byte[] writeAssignment() throws IOException {
+        return MapperUtil.getObjectWriter().writeValueAsBytes(assignment);
+    }
+
+    @Benchmark
+    public Pool readPool() throws IOException {
+        return MapperUtil.getObjectReader(Pool.class).readValue(poolJson);
+    }
+
+    @Benchmark
+    public byte[] writePool() throws IOException {
+        return MapperUtil.getObjectWriter().writeValueAsBytes(pool);
+    }
+
+    @Benchmark
+    public SearchResult<Assignment> readAssignmentPage(AssignmentPage page) throws IOException {
+        return MapperUtil.getObjectReader(new TypeReference<SearchResult<Assignment>>() {})
+                .readValue(page.json);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return MapperUtil.getTolokaDateFormat().format(task.getCreated());
+    }
+
+    /**
+     * Search response of {@code pageSize} assignments, kept apart so that only page benchmarks run per size.
+     */
+    @State(Scope.Benchmark)
+    public static class AssignmentPage {
+
+        @Param({"10", "100", "1000"})
+        public int pageSize;
+
+        private byte[] json;
+
+        @Setup
+        public void setUp() throws IOException {
+            Map<String, Object> assignmentMap = MapperUtil.getObjectReader(Map.class)
+                    .readValue(readResource("assignment.json"));
+            List<Object> items = new ArrayList<>(Collections.nCopies(pageSize, assignmentMap));
+            Map<String, Object> page = new HashMap<>();
+            page.put("items", items);
+            page.put("has_more", true);
+            json = MapperUtil.getObjectWriter().writeValueAsBytes(page);
+        }
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream stream = MapperUtilBenchmark.class.getResourceAsStream(name)) {
+            return stream.readAllBytes();
+        }
+    }
+}
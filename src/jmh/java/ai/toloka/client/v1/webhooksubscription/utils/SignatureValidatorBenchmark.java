@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.webhooksubscription.utils;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Signature check of an incoming webhook, done once per delivered event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignatureValidatorBenchmark {
+
+    private static final String SECRET_KEY = "webhook-secret-key";
+    private static final String PAYLOAD = "{\"uuid\":\"e4ad7bd1-4ed8-4f5a-b3b4-b2fd3e5a8c33\","
+            + "\"event_time\":\"2021-10-10T10:10:10\",\"events\":[{\"type\":\"ASSIGNMENT_CREATED\","
+            + "\"pool_id\":\"21\",\"assignment_id\":\"assignment-i1d\"}]}";
+
+    @Benchmark
+    public String generateSignature() throws NoSuchAlgorithmException, InvalidKeyException {
+        return SignatureValidator.generateSignature(SECRET_KEY, 1633860610L, 1, PAYLOAD);
+    }
+}
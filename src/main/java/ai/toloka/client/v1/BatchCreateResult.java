@@ -27,6 +27,14 @@ public class BatchCreateResult<T> {
     @JsonProperty("validation_errors")
     private Map<Integer, Map<String, FieldValidationError>> validationsErrors;
 
+    public BatchCreateResult() {}
+
+    public BatchCreateResult(Map<Integer, T> items,
+                             Map<Integer, Map<String, FieldValidationError>> validationsErrors) {
+        this.items = items;
+        this.validationsErrors = validationsErrors;
+    }
+
     public Map<Integer, T> getItems() {
         return items;
     }
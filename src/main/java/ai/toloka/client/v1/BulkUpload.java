@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1;
+
+import java.util.function.Consumer;
+
+/**
+ * Describes how to upload a large number of objects: input is split into chunks of {@code chunkSize} objects, each
+ * chunk is created with a separate request, at most {@code parallelism} requests are sent at the same time. Indices in
+ * the aggregated result refer to positions in the whole input. Optional listener is notified after every chunk.
+ *
+ * <p>If results are not collected, the aggregated result is empty and created objects and validation errors are only
+ * passed to the listener chunk by chunk, so memory use does not depend on the input size.
+ */
+public class BulkUpload {
+
+    private final int chunkSize;
+    private final int parallelism;
+    private final Consumer<BulkUploadProgress> progressListener;
+    private final boolean collectingResults;
+
+    public BulkUpload(int chunkSize, int parallelism) {
+        this(chunkSize, parallelism, null);
+    }
+
+    /**
+     * @param progressListener called from the uploading thread after every completed chunk, may be {@code null}
+     */
+    public BulkUpload(int chunkSize, int parallelism, Consumer<BulkUploadProgress> progressListener) {
+        this(chunkSize, parallelism, progressListener, true);
+    }
+
+    /**
+     * @param progressListener  called from the uploading thread after every completed chunk, may be {@code null}
+     * @param collectingResults whether created objects and validation errors are kept for the aggregated result
+     */
+    public BulkUpload(int chunkSize, int parallelism, Consumer<BulkUploadProgress> progressListener,
+                      boolean collectingResults) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Chunk size and parallelism should be positive");
+        }
+
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.progressListener = progressListener;
+        this.collectingResults = collectingResults;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public Consumer<BulkUploadProgress> getProgressListener() {
+        return progressListener;
+    }
+
+    public boolean isCollectingResults() {
+        return collectingResults;
+    }
+}
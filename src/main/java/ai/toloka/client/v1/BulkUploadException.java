@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1;
+
+/**
+ * Thrown when a bulk upload is stopped by a failed chunk, the input or the progress listener, see {@link BulkUpload}.
+ * The cause is the original error. Objects of chunks completed before it remain created and are available as the
+ * partial result, so that the upload may be resumed with the rest of the input. Objects of chunks which were in
+ * flight are not in the partial result and may have been created or not.
+ */
+public class BulkUploadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient BatchCreateResult<?> partialResult;
+
+    public BulkUploadException(BatchCreateResult<?> partialResult, Throwable cause) {
+        super("Bulk upload was stopped: " + cause, cause);
+        this.partialResult = partialResult;
+    }
+
+    /**
+     * @return objects created and validation errors of completed chunks keyed by positions in the whole input, both
+     *     are empty if results are not collected, see {@link BulkUpload#isCollectingResults()}
+     */
+    public BatchCreateResult<?> getPartialResult() {
+        return partialResult;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1;
+
+/**
+ * State of a bulk upload after a chunk is completed, see {@link BulkUpload}.
+ */
+public class BulkUploadProgress {
+
+    private final int completedChunks;
+    private final long submittedItems;
+    private final long createdItems;
+    private final long failedItems;
+    private final BatchCreateResult<?> chunkResult;
+
+    public BulkUploadProgress(int completedChunks, long submittedItems, long createdItems, long failedItems) {
+        this(completedChunks, submittedItems, createdItems, failedItems, null);
+    }
+
+    public BulkUploadProgress(int completedChunks, long submittedItems, long createdItems, long failedItems,
+                              BatchCreateResult<?> chunkResult) {
+        this.completedChunks = completedChunks;
+        this.submittedItems = submittedItems;
+        this.createdItems = createdItems;
+        this.failedItems = failedItems;
+        this.chunkResult = chunkResult;
+    }
+
+    public int getCompletedChunks() {
+        return completedChunks;
+    }
+
+    /**
+     * @return number of objects read from the input and sent, including ones of chunks not completed yet
+     */
+    public long getSubmittedItems() {
+        return submittedItems;
+    }
+
+    public long getCreatedItems() {
+        return createdItems;
+    }
+
+    /**
+     * @return number of objects rejected with validation errors
+     */
+    public long getFailedItems() {
+        return failedItems;
+    }
+
+    /**
+     * @return objects created and validation errors of the chunk just completed keyed by positions in the whole input
+     */
+    public BatchCreateResult<?> getChunkResult() {
+        return chunkResult;
+    }
+}
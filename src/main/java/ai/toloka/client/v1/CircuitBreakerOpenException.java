@@ -0,0 +1,37 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1;
+
+/**
+ * Thrown without sending a request when the circuit breaker of its endpoint family is open after too many failed or
+ * slow requests.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String family;
+
+    public CircuitBreakerOpenException(String family) {
+        super("Circuit breaker of " + family + " is open");
+        this.family = family;
+    }
+
+    public String getFamily() {
+        return family;
+    }
+}
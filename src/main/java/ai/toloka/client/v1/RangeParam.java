@@ -19,4 +19,11 @@ package ai.toloka.client.v1;
 public interface RangeParam {
 
     String parameter();
+
+    /**
+     * @return whether the parameter takes dates, so that its range may be split by {@link RangePartitioning}
+     */
+    default boolean isDate() {
+        return false;
+    }
 }
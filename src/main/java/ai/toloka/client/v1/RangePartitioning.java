@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1;
+
+import java.util.Date;
+
+import ai.toloka.client.v1.impl.validation.Assertions;
+
+/**
+ * Describes how to split a search into disjoint slices of a date range, so that slices could be paged through
+ * concurrently. Range {@code [from, to)} is divided into {@code partitions} equal slices; at most
+ * {@code parallelism} of them are fetched at the same time. Ranges on the same parameter in the original request
+ * are replaced by the slice bounds. Only parameters taking dates may be partitioned, see {@link RangeParam#isDate()}.
+ */
+public class RangePartitioning<P extends RangeParam> {
+
+    private final P param;
+    private final Date from;
+    private final Date to;
+    private final int partitions;
+    private final int parallelism;
+
+    public RangePartitioning(P param, Date from, Date to, int partitions, int parallelism) {
+        Assertions.checkArgNotNull(param, "Range parameter may not be null");
+        if (!param.isDate()) {
+            throw new IllegalArgumentException("Only ranges of dates may be partitioned, not " + param.parameter());
+        }
+        Assertions.checkArgNotNull(from, "Range start may not be null");
+        Assertions.checkArgNotNull(to, "Range end may not be null");
+        if (!from.before(to)) {
+            throw new IllegalArgumentException("Range start should be before its end");
+        }
+        if (partitions < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Partitions and parallelism should be positive");
+        }
+
+        this.param = param;
+        this.from = from;
+        this.to = to;
+        this.partitions = partitions;
+        this.parallelism = parallelism;
+    }
+
+    public P getParam() {
+        return param;
+    }
+
+    public Date getFrom() {
+        return from;
+    }
+
+    public Date getTo() {
+        return to;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
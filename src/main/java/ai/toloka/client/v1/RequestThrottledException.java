@@ -0,0 +1,30 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1;
+
+/**
+ * Thrown without sending a request when the client-side budget of its endpoint family is exhausted and the request
+ * governor of the client factory is configured to fail fast.
+ */
+public class RequestThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RequestThrottledException(String message) {
+        super(message);
+    }
+}
@@ -18,16 +18,22 @@ package ai.toloka.client.v1;
 
 import ai.toloka.client.v1.aggregatedsolutions.AggregatedSolutionClient;
 import ai.toloka.client.v1.assignment.AssignmentClient;
+import ai.toloka.client.v1.assignment.AssignmentClientAsync;
 import ai.toloka.client.v1.attachment.AttachmentClient;
 import ai.toloka.client.v1.messagethread.MessageThreadClient;
 import ai.toloka.client.v1.metadata.UserMetadataClient;
 import ai.toloka.client.v1.operation.OperationClient;
+import ai.toloka.client.v1.operation.OperationClientAsync;
 import ai.toloka.client.v1.pool.PoolClient;
+import ai.toloka.client.v1.pool.PoolClientAsync;
 import ai.toloka.client.v1.project.ProjectClient;
+import ai.toloka.client.v1.project.ProjectClientAsync;
 import ai.toloka.client.v1.requester.RequesterClient;
 import ai.toloka.client.v1.skill.SkillClient;
 import ai.toloka.client.v1.task.TaskClient;
+import ai.toloka.client.v1.task.TaskClientAsync;
 import ai.toloka.client.v1.tasksuite.TaskSuiteClient;
+import ai.toloka.client.v1.tasksuite.TaskSuiteClientAsync;
 import ai.toloka.client.v1.training.TrainingClient;
 import ai.toloka.client.v1.userbonus.UserBonusClient;
 import ai.toloka.client.v1.userrestriction.UserRestrictionClient;
@@ -69,4 +75,46 @@ public interface TolokaClientFactory {
     WebhookSubscriptionClient getWebhookSubscriptionClient();
 
     UserMetadataClient getUserMetadataClient();
+
+    /**
+     * @throws UnsupportedOperationException unless overridden, for implementations without non-blocking clients
+     */
+    default ProjectClientAsync getProjectClientAsync() {
+        throw new UnsupportedOperationException("Non-blocking clients are not provided by " + getClass().getName());
+    }
+
+    /**
+     * @throws UnsupportedOperationException unless overridden, for implementations without non-blocking clients
+     */
+    default PoolClientAsync getPoolClientAsync() {
+        throw new UnsupportedOperationException("Non-blocking clients are not provided by " + getClass().getName());
+    }
+
+    /**
+     * @throws UnsupportedOperationException unless overridden, for implementations without non-blocking clients
+     */
+    default TaskClientAsync getTaskClientAsync() {
+        throw new UnsupportedOperationException("Non-blocking clients are not provided by " + getClass().getName());
+    }
+
+    /**
+     * @throws UnsupportedOperationException unless overridden, for implementations without non-blocking clients
+     */
+    default TaskSuiteClientAsync getTaskSuiteClientAsync() {
+        throw new UnsupportedOperationException("Non-blocking clients are not provided by " + getClass().getName());
+    }
+
+    /**
+     * @throws UnsupportedOperationException unless overridden, for implementations without non-blocking clients
+     */
+    default AssignmentClientAsync getAssignmentClientAsync() {
+        throw new UnsupportedOperationException("Non-blocking clients are not provided by " + getClass().getName());
+    }
+
+    /**
+     * @throws UnsupportedOperationException unless overridden, for implementations without non-blocking clients
+     */
+    default OperationClientAsync getOperationClientAsync() {
+        throw new UnsupportedOperationException("Non-blocking clients are not provided by " + getClass().getName());
+    }
 }
@@ -16,13 +16,64 @@
 
 package ai.toloka.client.v1.assignment;
 
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.RangePartitioning;
 import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.SearchStreams;
 
 public interface AssignmentClient {
 
     SearchResult<Assignment> findAssignments(AssignmentSearchRequest request);
 
+    /**
+     * Reads one page of assignments matching the request and passes them to the consumer one by one while the
+     * response is being parsed, so memory use does not depend on page size. The default implementation reads the
+     * whole page with {@link #findAssignments(AssignmentSearchRequest)} first.
+     *
+     * @return whether there are more assignments after this page
+     */
+    default boolean findAssignments(AssignmentSearchRequest request, Consumer<? super Assignment> consumer) {
+        SearchResult<Assignment> result = findAssignments(request);
+        result.getItems().forEach(consumer);
+        return result.isHasMore();
+    }
+
+    /**
+     * Lazily iterates over all assignments matching the request. Pages of {@code limit} size are requested one by one
+     * as the stream is consumed, continuing from the id of the last received assignment. Result is ordered by id;
+     * descending order may be requested with {@code sort().byId().desc()}.
+     *
+     * @throws IllegalArgumentException if the request is sorted by anything but id
+     */
+    default Stream<Assignment> streamAssignments(AssignmentSearchRequest request) {
+        return SearchStreams.keyset(request, AssignmentSearchRequest::new, this::findAssignments, Assignment::getId);
+    }
+
+    /**
+     * Same as {@link #streamAssignments(AssignmentSearchRequest)}, but up to {@code prefetchPages} next pages are
+     * requested in background while the current one is consumed. Requests are still sent one at a time. The stream
+     * should be closed if it is not consumed till the end. Implementations without background fetching, like the
+     * default one, page lazily as {@link #streamAssignments(AssignmentSearchRequest)} does.
+     */
+    default Stream<Assignment> streamAssignments(AssignmentSearchRequest request, int prefetchPages) {
+        return streamAssignments(request);
+    }
+
+    /**
+     * Iterates over all assignments matching the request, splitting it into slices of a created or submitted date
+     * range which are paged through concurrently. Assignments of different slices are interleaved. The stream should
+     * be closed if it is not consumed till the end. Implementations without concurrent fetching, like the default
+     * one, page through the whole range sequentially.
+     */
+    default Stream<Assignment> streamAssignments(AssignmentSearchRequest request,
+                                                 RangePartitioning<AssignmentRangeParam> partitioning) {
+        return SearchStreams.keyset(request, partitioning, AssignmentSearchRequest::new, this::findAssignments,
+                Assignment::getId);
+    }
+
     Assignment getAssignment(String assignmentId);
 
     ModificationResult<Assignment> patchAssignment(String assignmentId, AssignmentPatch patch);
@@ -20,18 +20,25 @@ import ai.toloka.client.v1.RangeParam;
 
 public enum AssignmentRangeParam implements RangeParam {
 
-    id(AssignmentSearchRequest.ID_PARAMETER),
-    created(AssignmentSearchRequest.CREATED_PARAMETER),
-    submitted(AssignmentSearchRequest.SUBMITTED_PARAMETER);
+    id(AssignmentSearchRequest.ID_PARAMETER, false),
+    created(AssignmentSearchRequest.CREATED_PARAMETER, true),
+    submitted(AssignmentSearchRequest.SUBMITTED_PARAMETER, true);
 
     private String parameter;
+    private boolean date;
 
-    AssignmentRangeParam(String parameter) {
+    AssignmentRangeParam(String parameter, boolean date) {
         this.parameter = parameter;
+        this.date = date;
     }
 
     @Override
     public String parameter() {
         return parameter;
     }
+
+    @Override
+    public boolean isDate() {
+        return date;
+    }
 }
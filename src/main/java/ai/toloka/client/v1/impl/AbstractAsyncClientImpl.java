@@ -0,0 +1,357 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.RequestParameters;
+import ai.toloka.client.v1.SearchRequest;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.TolokaRequestIOException;
+import ai.toloka.client.v1.impl.transport.ContentCompression;
+import ai.toloka.client.v1.impl.transport.RequestTrace;
+import ai.toloka.client.v1.impl.transport.TransportUtil;
+import ai.toloka.client.v1.impl.validation.Assertions;
+import ai.toloka.client.v1.operation.Operation;
+
+import static ai.toloka.client.v1.impl.transport.MapperUtil.getObjectReader;
+
+/**
+ * Non-blocking counterpart of {@link AbstractClientImpl}. Requests are sent with {@link HttpAsyncClient} and every
+ * method returns immediately with a {@link CompletableFuture}. Response mapping and error translation are the same as
+ * in blocking clients: API errors complete the future with {@link ai.toloka.client.v1.TlkException} subclasses, I/O
+ * errors with {@link TolokaRequestIOException}. Responses are parsed on the executor of the factory, so I/O dispatcher
+ * threads are never blocked by mapping and dependent stages do not run on them.
+ */
+public abstract class AbstractAsyncClientImpl extends AbstractClientImpl {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractAsyncClientImpl.class);
+
+    private static final String ASYNC_MODE_PARAMETER = "async_mode";
+
+    protected AbstractAsyncClientImpl(TolokaClientFactoryImpl factory) {
+        super(factory);
+    }
+
+    protected AbstractAsyncClientImpl(TolokaClientFactoryImpl factory, String versionPrefix) {
+        super(factory, versionPrefix);
+    }
+
+    public HttpAsyncClient getHttpAsyncClient() {
+        return getFactory().getTransportHttpAsyncClient();
+    }
+
+    protected <T> CompletableFuture<SearchResult<T>> findAsync(
+            final SearchRequest request,
+            final String path,
+            final TypeReference<SearchResult<T>> typeReference
+    ) {
+        return new AsyncRequestExecutorWrapper<SearchResult<T>>() {
+
+            @Override
+            CompletableFuture<HttpResponse> execute() throws URISyntaxException {
+                URIBuilder uriBuilder = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path);
+                if (request != null) {
+                    uriBuilder.addParameters(convertParameters(request.getQueryParameters()));
+                }
+
+                return TransportUtil.executeGetAsync(getHttpAsyncClient(), uriBuilder.build(), getHttpConsumer());
+            }
+
+            @Override
+            SearchResult<T> handle(HttpResponse response) throws IOException {
+                if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+                    throw parseException(response);
+                }
+
+                return getObjectReader(typeReference).readValue(response.getEntity().getContent());
+            }
+        }.wrap();
+    }
+
+    protected <T> CompletableFuture<T> getAsync(final String id, final String path, final Class<T> clazz) {
+        Assertions.checkArgNotNull(id, "Id may not be null");
+
+        return new AsyncRequestExecutorWrapper<T>() {
+
+            @Override
+            CompletableFuture<HttpResponse> execute() throws URISyntaxException {
+                URI uri = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path, id).build();
+
+                return TransportUtil.executeGetAsync(getHttpAsyncClient(), uri, getHttpConsumer());
+            }
+
+            @Override
+            T handle(HttpResponse response) throws IOException {
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+                    return getObjectReader(clazz).readValue(response.getEntity().getContent());
+                }
+
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    return null;
+                }
+
+                throw parseException(response);
+            }
+        }.wrap();
+    }
+
+    protected <T, R> CompletableFuture<ModificationResult<R>> createAsync(
+            final T form,
+            final String path,
+            final Class<R> responseClass,
+            final Map<String, Object> queryParameters
+    ) {
+        return new AsyncRequestExecutorWrapper<ModificationResult<R>>() {
+
+            @Override
+            CompletableFuture<HttpResponse> execute() throws URISyntaxException, IOException {
+                URIBuilder uriBuilder = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path);
+                if (queryParameters != null) {
+                    uriBuilder.addParameters(convertParameters(queryParameters));
+                }
+
+                return TransportUtil
+                        .executePostAsync(getHttpAsyncClient(), uriBuilder.build(), getHttpConsumer(), form);
+            }
+
+            @Override
+            ModificationResult<R> handle(HttpResponse response) throws IOException {
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
+                    return new ModificationResult<>(
+                            getObjectReader(responseClass).readValue(response.getEntity().getContent()), true);
+                }
+
+                throw parseException(response);
+            }
+        }.wrap();
+    }
+
+    <T> CompletableFuture<BatchCreateResult<T>> createBatchAsync(
+            final List<T> forms,
+            final String path,
+            final TypeReference<BatchCreateResult<T>> typeReference,
+            final RequestParameters requestParameters
+    ) {
+        return new AsyncRequestExecutorWrapper<BatchCreateResult<T>>() {
+
+            @Override
+            CompletableFuture<HttpResponse> execute() throws URISyntaxException, IOException {
+                URIBuilder uriBuilder = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path);
+                if (requestParameters != null) {
+                    uriBuilder.addParameters(convertParameters(requestParameters.getQueryParameters()));
+                }
+
+                uriBuilder.addParameter(ASYNC_MODE_PARAMETER, Boolean.FALSE.toString());
+
+                return TransportUtil
+                        .executePostAsync(getHttpAsyncClient(), uriBuilder.build(), getHttpConsumer(), forms);
+            }
+
+            @Override
+            BatchCreateResult<T> handle(HttpResponse response) throws IOException {
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
+                    return getObjectReader(typeReference).readValue(response.getEntity().getContent());
+                }
+
+                throw parseException(response);
+            }
+        }.wrap();
+    }
+
+    protected <T> CompletableFuture<ModificationResult<T>> updateAsync(
+            final String resourceId,
+            final T form,
+            final String path,
+            final Class<T> formClass
+    ) {
+        return new AsyncRequestExecutorWrapper<ModificationResult<T>>() {
+
+            @Override
+            CompletableFuture<HttpResponse> execute() throws URISyntaxException, IOException {
+                URI uri = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path, resourceId).build();
+
+                return TransportUtil.executePutAsync(getHttpAsyncClient(), uri, getHttpConsumer(), form);
+            }
+
+            @Override
+            ModificationResult<T> handle(HttpResponse response) throws IOException {
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+                    T result = getObjectReader(formClass).readValue(response.getEntity().getContent());
+                    return new ModificationResult<>(result, false);
+                }
+
+                throw parseException(response);
+            }
+        }.wrap();
+    }
+
+    protected <P, T> CompletableFuture<ModificationResult<T>> patchAsync(
+            final String resourceId,
+            final P patch,
+            final String path,
+            final Class<T> resourceClass,
+            final Map<String, Object> queryParameters
+    ) {
+        return patchAsync(patch, resourceClass, queryParameters, path, resourceId);
+    }
+
+    /**
+     * Sends PATCH to the given path segments, e.g. {@code tasks/{id}/set-overlap-or-min}.
+     */
+    protected <P, T> CompletableFuture<ModificationResult<T>> patchAsync(
+            final P patch,
+            final Class<T> resourceClass,
+            final Map<String, Object> queryParameters,
+            final String... paths
+    ) {
+        return new AsyncRequestExecutorWrapper<ModificationResult<T>>() {
+
+            @Override
+            CompletableFuture<HttpResponse> execute() throws URISyntaxException, IOException {
+                URIBuilder uriBuilder = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), paths);
+                if (queryParameters != null && !queryParameters.isEmpty()) {
+                    uriBuilder.addParameters(convertParameters(queryParameters));
+                }
+
+                return TransportUtil
+                        .executePatchAsync(getHttpAsyncClient(), uriBuilder.build(), getHttpConsumer(), patch);
+            }
+
+            @Override
+            ModificationResult<T> handle(HttpResponse response) throws IOException {
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+                    return new ModificationResult<>(
+                            getObjectReader(resourceClass).readValue(response.getEntity().getContent()), false);
+                }
+
+                throw parseException(response);
+            }
+        }.wrap();
+    }
+
+    /**
+     * @return future of operation instance on 202 code, future of {@code null} on 204 - means that external resource
+     * is already in desired state, no operation required.
+     */
+    protected <T extends Operation<?, ?>> CompletableFuture<T> executeActionAsync(
+            final String resourceId,
+            final String path,
+            final String actionPath,
+            final Class<T> resourceClass
+    ) {
+        return new AsyncRequestExecutorWrapper<T>() {
+
+            @Override
+            CompletableFuture<HttpResponse> execute() throws URISyntaxException {
+                URI uri = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path, resourceId, actionPath).build();
+
+                return TransportUtil.executePostAsync(getHttpAsyncClient(), uri, getHttpConsumer());
+            }
+
+            @Override
+            T handle(HttpResponse response) throws IOException {
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_ACCEPTED) {
+                    T operation = getObjectReader(resourceClass).readValue(response.getEntity().getContent());
+                    Operation.setOperationClient(operation, getFactory().getOperationClient());
+                    return operation;
+                }
+
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NO_CONTENT) {
+                    return null;
+                }
+
+                throw parseException(response);
+            }
+        }.wrap();
+    }
+
+    protected abstract class AsyncRequestExecutorWrapper<T> {
+
+        CompletableFuture<T> wrap() {
+            getInFlightRequests().incrementAndGet();
+            final RequestTrace trace = getFactory().hasRequestListeners() ? RequestTrace.start() : null;
+
+            CompletableFuture<T> result;
+            try {
+                result = handleAsync(execute());
+            } catch (URISyntaxException e) {
+                logger.error("Unable to initialize valid URL", e);
+                result = CompletableFuture.failedFuture(new RuntimeException(e));
+            } catch (IOException e) {
+                logger.error("Request error", e);
+                result = CompletableFuture.failedFuture(new TolokaRequestIOException(e));
+            } catch (RuntimeException e) {
+                getInFlightRequests().decrementAndGet();
+                throw e;
+            } finally {
+                if (trace != null) {
+                    trace.detach();
+                }
+            }
+
+            return result.whenComplete((value, ex) -> {
+                getInFlightRequests().decrementAndGet();
+                if (trace != null) {
+                    getFactory().fireRequestEvent(trace.finish(
+                            ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex));
+                }
+            });
+        }
+
+        private CompletableFuture<T> handleAsync(CompletableFuture<HttpResponse> response) {
+            return response
+                    .exceptionally(ex -> {
+                        if (ex instanceof IOException) {
+                            logger.error("Request error", ex);
+                            throw new TolokaRequestIOException((IOException) ex);
+                        }
+                        throw ex instanceof RuntimeException ? (RuntimeException) ex : new CompletionException(ex);
+                    })
+                    .thenApplyAsync(httpResponse -> {
+                        try {
+                            return handle(ContentCompression.decode(httpResponse, getFactory().getCompressionStats()));
+                        } catch (IOException e) {
+                            logger.error("Request error", e);
+                            throw new TolokaRequestIOException(e);
+                        }
+                    }, getExecutor());
+        }
+
+        abstract CompletableFuture<HttpResponse> execute() throws URISyntaxException, IOException;
+
+        abstract T handle(HttpResponse response) throws IOException;
+    }
+}
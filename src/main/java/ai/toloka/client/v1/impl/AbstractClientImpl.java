@@ -18,8 +18,6 @@ package ai.toloka.client.v1.impl;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -28,14 +26,23 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import com.fasterxml.jackson.core.JsonEncoding;
-import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
@@ -48,8 +55,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.BulkUpload;
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.NotFoundException;
+import ai.toloka.client.v1.RangePartitioning;
 import ai.toloka.client.v1.RequestParameters;
 import ai.toloka.client.v1.SearchRequest;
 import ai.toloka.client.v1.SearchResult;
@@ -59,6 +68,9 @@ import ai.toloka.client.v1.TlkException;
 import ai.toloka.client.v1.TolokaRequestIOException;
 import ai.toloka.client.v1.ValidationError;
 import ai.toloka.client.v1.ValidationException;
+import ai.toloka.client.v1.impl.cache.Versioned;
+import ai.toloka.client.v1.impl.transport.JsonArrayEntity;
+import ai.toloka.client.v1.impl.transport.RequestTrace;
 import ai.toloka.client.v1.impl.transport.TransportUtil;
 import ai.toloka.client.v1.impl.validation.Assertions;
 import ai.toloka.client.v1.operation.Operation;
@@ -71,15 +83,16 @@ public abstract class AbstractClientImpl {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractClientImpl.class);
 
-    private static final String ASYNC_MODE_PARAMETER = "async_mode";
+    private static final String SEARCH_ITEMS_FIELD = "items";
+    private static final String SEARCH_HAS_MORE_FIELD = "has_more";
 
-    private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    private static final String ASYNC_MODE_PARAMETER = "async_mode";
 
     private final String prefix;
 
     private final TolokaClientFactoryImpl factory;
 
-    private final ExecutorService executor;
+    private final AtomicInteger inFlightRequests;
 
     protected AbstractClientImpl(TolokaClientFactoryImpl factory) {
         this(factory, "v1");
@@ -88,8 +101,7 @@ public abstract class AbstractClientImpl {
     protected AbstractClientImpl(TolokaClientFactoryImpl factory, String versionPrefix) {
         this.prefix = versionPrefix;
         this.factory = factory;
-
-        this.executor = Executors.newCachedThreadPool();
+        this.inFlightRequests = factory.getInFlightCounter(getClass().getSimpleName().replaceFirst("Impl$", ""));
     }
 
     public URI getTolokaApiUrl() {
@@ -97,17 +109,61 @@ public abstract class AbstractClientImpl {
     }
 
     public HttpClient getHttpClient() {
-        return factory.getHttpClient();
+        return factory.getTransportHttpClient();
     }
 
     public Consumer<HttpRequestBase> getHttpConsumer() {
-        return factory.getHeadersSupplier();
+        return factory.getRequestConsumer();
+    }
+
+    /**
+     * @return request consumer additionally setting conditional headers from validators of the cached version
+     */
+    protected Consumer<HttpRequestBase> getConditionalHttpConsumer(Versioned<?> cached) {
+        Consumer<HttpRequestBase> consumer = getHttpConsumer();
+        if (cached == null || !cached.hasValidators()) {
+            return consumer;
+        }
+
+        return request -> {
+            if (consumer != null) {
+                consumer.accept(request);
+            }
+            if (cached.getEtag() != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, cached.getEtag());
+            }
+            if (cached.getLastModified() != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        };
     }
 
     public TolokaClientFactoryImpl getFactory() {
         return factory;
     }
 
+    AtomicInteger getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    protected ExecutorService getExecutor() {
+        return factory.getExecutor();
+    }
+
+    protected ExecutorService getBlockingExecutor() {
+        return factory.getBlockingExecutor();
+    }
+
+    protected static <T> Versioned<T> versioned(T value, HttpResponse response) {
+        return new Versioned<>(value, headerValue(response, HttpHeaders.ETAG),
+                headerValue(response, HttpHeaders.LAST_MODIFIED));
+    }
+
+    private static String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
     private static URIBuilder addPaths(URIBuilder uriBuilder, String... paths) {
         for (String path : paths) {
             if (path == null || path.isEmpty()) {
@@ -132,15 +188,23 @@ public abstract class AbstractClientImpl {
     protected <T> SearchResult<T> find(
             final SearchRequest request,
             final String path,
-            final TypeReference typeReference
+            final TypeReference<SearchResult<T>> typeReference
+    ) {
+        return find(request != null ? request.getQueryParameters() : null, path, typeReference);
+    }
+
+    protected <T> SearchResult<T> find(
+            final Map<String, Object> queryParameters,
+            final String path,
+            final TypeReference<SearchResult<T>> typeReference
     ) {
         return new RequestExecutorWrapper<SearchResult<T>>() {
 
             @Override
             SearchResult<T> execute() throws URISyntaxException, IOException {
                 URIBuilder uriBuilder = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path);
-                if (request != null) {
-                    uriBuilder.addParameters(convertParameters(request.getQueryParameters()));
+                if (queryParameters != null) {
+                    uriBuilder.addParameters(convertParameters(queryParameters));
                 }
 
                 HttpResponse response = TransportUtil
@@ -155,19 +219,145 @@ public abstract class AbstractClientImpl {
         }.wrap();
     }
 
+    /**
+     * Reads search result page item by item right from the response body, passing each item to the consumer as soon
+     * as it is parsed. Unlike other finds, neither the whole body nor the list of items is held in memory.
+     *
+     * @return {@code has_more} flag of the page
+     */
+    protected <T> boolean find(
+            final Map<String, Object> queryParameters,
+            final String path,
+            final Class<T> itemClass,
+            final Consumer<? super T> consumer
+    ) {
+        return new RequestExecutorWrapper<Boolean>() {
+
+            @Override
+            Boolean execute() throws URISyntaxException, IOException {
+                URIBuilder uriBuilder = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path);
+                if (queryParameters != null) {
+                    uriBuilder.addParameters(convertParameters(queryParameters));
+                }
+
+                HttpResponse response = TransportUtil
+                        .executeGet(getHttpClient(), uriBuilder.build(), getHttpConsumer());
+
+                if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+                    throw parseException(response);
+                }
+
+                ObjectReader itemReader = getObjectReader(itemClass);
+                boolean hasMore = false;
+                try (JsonParser parser = itemReader.getFactory().createParser(response.getEntity().getContent())) {
+                    parser.nextToken(); // read start of object
+
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        JsonToken value = parser.nextToken();
+
+                        if (SEARCH_ITEMS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                consumer.accept(itemReader.<T>readValue(parser));
+                            }
+                        } else if (SEARCH_HAS_MORE_FIELD.equals(field)) {
+                            hasMore = parser.getValueAsBoolean();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } finally {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                }
+                return hasMore;
+            }
+        }.wrap();
+    }
+
+    /**
+     * Lazily streams all items matching the request, fetching next page only when the consumer reaches the end of the
+     * current one. Items are ordered by id, see {@link KeysetPagingIterator}.
+     */
+    protected <T> Stream<T> stream(
+            final SearchRequest request,
+            final String path,
+            final TypeReference<SearchResult<T>> typeReference,
+            final Function<T, String> idExtractor
+    ) {
+        return SearchStreams.stream(
+                new KeysetPagingIterator<T>(request, parameters -> find(parameters, path, typeReference), idExtractor));
+    }
+
+    /**
+     * Same as {@link #stream(SearchRequest, String, TypeReference, Function)}, but next pages are fetched in
+     * background while the consumer processes the current one. Closing the stream stops fetching.
+     */
+    protected <T> Stream<T> stream(
+            final SearchRequest request,
+            final String path,
+            final TypeReference<SearchResult<T>> typeReference,
+            final Function<T, String> idExtractor,
+            final int prefetchPages
+    ) {
+        PrefetchingPagingIterator<T> iterator = new PrefetchingPagingIterator<>(
+                new KeysetPagingIterator<T>(request, parameters -> find(parameters, path, typeReference), idExtractor),
+                prefetchPages, getBlockingExecutor());
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Streams all items matching the request, paging through slices of {@code partitioning} range concurrently.
+     * Items of different slices are interleaved. Closing the stream stops fetching.
+     */
+    protected <T> Stream<T> stream(
+            final SearchRequest request,
+            final RangePartitioning<?> partitioning,
+            final String path,
+            final TypeReference<SearchResult<T>> typeReference,
+            final Function<T, String> idExtractor
+    ) {
+        PartitionedPagingIterator<T> iterator = new PartitionedPagingIterator<>(
+                request, partitioning, parameters -> find(parameters, path, typeReference), idExtractor,
+                getBlockingExecutor());
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
     protected <T> T get(final String id, final String path, final Class<T> clazz) {
+        Versioned<T> entity = getIfModified(id, path, clazz, null);
+        return entity != null ? entity.getValue() : null;
+    }
+
+    /**
+     * Gets the entity along with its validators. If the cached version is passed, it is sent for revalidation and
+     * returned as is once the API responds it was not modified, without reading the body.
+     */
+    protected <T> Versioned<T> getIfModified(final String id,
+                                             final String path,
+                                             final Class<T> clazz,
+                                             final Versioned<T> cached) {
         Assertions.checkArgNotNull(id, "Id may not be null");
 
-        return new RequestExecutorWrapper<T>() {
+        return coalesced(getFlightKey(cached, path, id), () -> new RequestExecutorWrapper<Versioned<T>>() {
 
             @Override
-            T execute() throws URISyntaxException, IOException {
+            Versioned<T> execute() throws URISyntaxException, IOException {
                 URI uri = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), path, id).build();
 
-                HttpResponse response = TransportUtil.executeGet(getHttpClient(), uri, getHttpConsumer());
+                HttpResponse response = TransportUtil.executeGet(getHttpClient(), uri,
+                        getConditionalHttpConsumer(cached));
+
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    return cached;
+                }
 
                 if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                    return getObjectReader(clazz).readValue(response.getEntity().getContent());
+                    return versioned(getObjectReader(clazz).readValue(response.getEntity().getContent()), response);
                 }
 
                 if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_FOUND) {
@@ -177,7 +367,26 @@ public abstract class AbstractClientImpl {
 
                 throw parseException(response);
             }
-        }.wrap();
+        }.wrap());
+    }
+
+    /**
+     * Runs the call sharing it with identical concurrent ones if single-flight mode is enabled, see
+     * {@link TolokaClientFactoryImpl#setSingleFlight}.
+     */
+    protected <T> T coalesced(String key, Supplier<T> call) {
+        SingleFlight singleFlight = factory.getSingleFlight();
+        return singleFlight != null ? singleFlight.execute(key, call) : call.get();
+    }
+
+    /**
+     * @return key identifying a GET of the path, along with validators of the cached version if it is revalidated
+     */
+    protected String getFlightKey(Versioned<?> cached, String... paths) {
+        String key = prefix + '/' + String.join("/", paths);
+        return cached != null && cached.hasValidators()
+                ? key + '|' + cached.getEtag() + '|' + cached.getLastModified()
+                : key;
     }
 
     protected <T, R> ModificationResult<R> create(final T form,
@@ -236,6 +445,15 @@ public abstract class AbstractClientImpl {
                                             final TypeReference<BatchCreateResult<T>> typeReference,
                                             final RequestParameters requestParameters) {
 
+        return createMultiple(forms, path, typeReference, requestParameters, getHttpConsumer());
+    }
+
+    private <T> BatchCreateResult<T> createMultiple(final List<T> forms,
+                                                    final String path,
+                                                    final TypeReference<BatchCreateResult<T>> typeReference,
+                                                    final RequestParameters requestParameters,
+                                                    final Consumer<HttpRequestBase> httpConsumer) {
+
         return new RequestExecutorWrapper<BatchCreateResult<T>>() {
 
             @Override
@@ -248,7 +466,7 @@ public abstract class AbstractClientImpl {
                 uriBuilder.addParameter(ASYNC_MODE_PARAMETER, Boolean.FALSE.toString());
 
                 HttpResponse response = TransportUtil
-                        .executePost(getHttpClient(), uriBuilder.build(), getHttpConsumer(), forms);
+                        .executePost(getHttpClient(), uriBuilder.build(), httpConsumer, forms);
 
                 if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
                     return getObjectReader(typeReference).readValue(response.getEntity().getContent());
@@ -259,6 +477,28 @@ public abstract class AbstractClientImpl {
         }.wrap();
     }
 
+    /**
+     * Creates objects in chunks sent concurrently, indices of the result refer to positions in the whole input.
+     * Request parameters are sent with every chunk, so they may not carry an operation id.
+     */
+    <T> BatchCreateResult<T> createMultiple(final Iterator<T> forms,
+                                            final String path,
+                                            final TypeReference<BatchCreateResult<T>> typeReference,
+                                            final RequestParameters requestParameters,
+                                            final BulkUpload upload) {
+
+        ChunkedUploader.checkUpload(forms, requestParameters, upload);
+        Consumer<HttpRequestBase> httpConsumer = getHttpConsumer();
+
+        return new ChunkedUploader<T>(upload, (chunk, requestConsumer) -> createMultiple(chunk, path, typeReference,
+                requestParameters, request -> {
+                    if (httpConsumer != null) {
+                        httpConsumer.accept(request);
+                    }
+                    requestConsumer.accept(request);
+                }), getBlockingExecutor()).upload(forms);
+    }
+
     <T, O extends Operation> O createMultipleAsync(final Iterator<T> forms,
                                                      final String path,
                                                      final Class<O> opClass,
@@ -277,22 +517,16 @@ public abstract class AbstractClientImpl {
 
                 uriBuilder.addParameter(ASYNC_MODE_PARAMETER, Boolean.TRUE.toString());
 
-                try (final PipedInputStream in = new PipedInputStream(DEFAULT_BUFFER_SIZE);
-                     final PipedOutputStream out = new PipedOutputStream(in)) {
+                HttpResponse response = TransportUtil.executePost(getHttpClient(), uriBuilder.build(),
+                        getHttpConsumer(), new JsonArrayEntity(forms, getFactory().getUploadBufferSize()));
 
-                    executor.execute(readJsonForms(out, forms));
-
-                    HttpResponse response = TransportUtil.executePost(getHttpClient(), uriBuilder.build(),
-                            getHttpConsumer(), in);
-
-                    if (response.getStatusLine().getStatusCode() == HttpStatus.SC_ACCEPTED) {
-                        O operation = getObjectReader(opClass).readValue(response.getEntity().getContent());
-                        Operation.setOperationClient(operation, getFactory().getOperationClient());
-                        return operation;
-                    }
-
-                    throw parseException(response);
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_ACCEPTED) {
+                    O operation = getObjectReader(opClass).readValue(response.getEntity().getContent());
+                    Operation.setOperationClient(operation, getFactory().getOperationClient());
+                    return operation;
                 }
+
+                throw parseException(response);
             }
         }.wrap();
     }
@@ -516,7 +750,7 @@ public abstract class AbstractClientImpl {
         }
     }
 
-    private List<NameValuePair> convertParameters(Map<String, Object> mapParameters) {
+    List<NameValuePair> convertParameters(Map<String, Object> mapParameters) {
         List<NameValuePair> parameters = new ArrayList<>();
         for (Map.Entry<String, Object> mapParam : mapParameters.entrySet()) {
             if (mapParam.getValue() != null) {
@@ -533,36 +767,31 @@ public abstract class AbstractClientImpl {
         return value.toString();
     }
 
-    private <T> Runnable readJsonForms(final PipedOutputStream out, final Iterator<T> forms) {
-        return new Runnable() {
-            @Override
-            public void run() {
-                try (final JsonGenerator generator =
-                             getObjectReader().getFactory().createGenerator(out, JsonEncoding.UTF8)) {
-
-                    generator.writeStartArray();
-
-                    while (forms.hasNext()) {
-                        generator.writeObject(forms.next());
-                    }
+    protected abstract class RequestExecutorWrapper<T> {
 
-                    generator.writeEndArray();
-                } catch (Exception ex) {
-                    try {
-                        out.close();
-                    } catch (IOException e) {
-                        e.addSuppressed(ex);
-                        throw new RuntimeException(e);
-                    }
-                    throw new RuntimeException(ex);
-                }
+        T wrap() {
+            inFlightRequests.incrementAndGet();
+            try {
+                return factory.hasRequestListeners() ? executeTraced() : executeWrapped();
+            } finally {
+                inFlightRequests.decrementAndGet();
             }
-        };
-    }
+        }
 
-    protected abstract static class RequestExecutorWrapper<T> {
+        private T executeTraced() {
+            RequestTrace trace = RequestTrace.start();
+            Throwable error = null;
+            try {
+                return executeWrapped();
+            } catch (RuntimeException | Error e) {
+                error = e;
+                throw e;
+            } finally {
+                factory.fireRequestEvent(trace.finish(error));
+            }
+        }
 
-        T wrap() {
+        private T executeWrapped() {
             try {
                 return execute();
             } catch (URISyntaxException e) {
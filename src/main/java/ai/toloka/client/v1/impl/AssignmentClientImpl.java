@@ -16,13 +16,18 @@
 
 package ai.toloka.client.v1.impl;
 
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.RangePartitioning;
 import ai.toloka.client.v1.SearchResult;
 import ai.toloka.client.v1.assignment.Assignment;
 import ai.toloka.client.v1.assignment.AssignmentClient;
 import ai.toloka.client.v1.assignment.AssignmentPatch;
+import ai.toloka.client.v1.assignment.AssignmentRangeParam;
 import ai.toloka.client.v1.assignment.AssignmentSearchRequest;
 import ai.toloka.client.v1.assignment.AssignmentStatus;
 import ai.toloka.client.v1.impl.validation.Assertions;
@@ -40,6 +45,31 @@ public class AssignmentClientImpl extends AbstractClientImpl implements Assignme
         return find(request, ASSIGNMENTS_PATH, new TypeReference<SearchResult<Assignment>>() {});
     }
 
+    @Override
+    public boolean findAssignments(AssignmentSearchRequest request, Consumer<? super Assignment> consumer) {
+        Assertions.checkArgNotNull(consumer, "Consumer may not be null");
+        return find(request != null ? request.getQueryParameters() : null, ASSIGNMENTS_PATH, Assignment.class,
+                consumer);
+    }
+
+    @Override
+    public Stream<Assignment> streamAssignments(AssignmentSearchRequest request) {
+        return stream(request, ASSIGNMENTS_PATH, new TypeReference<SearchResult<Assignment>>() {}, Assignment::getId);
+    }
+
+    @Override
+    public Stream<Assignment> streamAssignments(AssignmentSearchRequest request, int prefetchPages) {
+        return stream(request, ASSIGNMENTS_PATH, new TypeReference<SearchResult<Assignment>>() {}, Assignment::getId,
+                prefetchPages);
+    }
+
+    @Override
+    public Stream<Assignment> streamAssignments(AssignmentSearchRequest request,
+                                                RangePartitioning<AssignmentRangeParam> partitioning) {
+        return stream(request, partitioning, ASSIGNMENTS_PATH, new TypeReference<SearchResult<Assignment>>() {},
+                Assignment::getId);
+    }
+
     @Override
     public Assignment getAssignment(final String assignmentId) {
         return get(assignmentId, ASSIGNMENTS_PATH, Assignment.class);
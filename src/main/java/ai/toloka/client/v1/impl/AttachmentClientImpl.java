@@ -44,7 +44,7 @@ public class AttachmentClientImpl extends AbstractClientImpl implements Attachme
 
     @Override
     public SearchResult<Attachment<?>> findAttachments(AttachmentSearchRequest request) {
-        return find(request, ATTACHMENTS_PATH, new TypeReference<SearchResult<Attachment>>() {});
+        return find(request, ATTACHMENTS_PATH, new TypeReference<SearchResult<Attachment<?>>>() {});
     }
 
     @Override
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.http.client.methods.HttpRequestBase;
+
+import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.BulkUpload;
+import ai.toloka.client.v1.BulkUploadException;
+import ai.toloka.client.v1.BulkUploadProgress;
+import ai.toloka.client.v1.FieldValidationError;
+import ai.toloka.client.v1.RequestParameters;
+import ai.toloka.client.v1.impl.transport.RequestContext;
+import ai.toloka.client.v1.impl.validation.Assertions;
+
+/**
+ * Uploads objects read from an iterator in chunks, see {@link BulkUpload}. The iterator is read and results are merged
+ * on the calling thread, only chunk requests run on the executor, so neither the input nor the listener have to be
+ * thread-safe. Chunk requests keep the request options and trace of the calling thread, see {@link RequestContext}.
+ *
+ * <p>The first failed chunk stops the upload: no more chunks are sent, requests in flight are aborted and the error
+ * is rethrown as {@link BulkUploadException} with the result of chunks completed before it. Objects of those chunks
+ * remain created and are reported to the progress listener.
+ */
+public final class ChunkedUploader<T> {
+
+    private static final String OPERATION_ID_PARAMETER = "operation_id";
+
+    private final BulkUpload upload;
+    private final BiFunction<List<T>, Consumer<HttpRequestBase>, BatchCreateResult<T>> chunkCreator;
+    private final CompletionService<ChunkResult<T>> completionService;
+    private final RequestContext context = RequestContext.capture();
+
+    private final Map<Integer, T> items = new HashMap<>();
+    private final Map<Integer, Map<String, FieldValidationError>> validationErrors = new HashMap<>();
+    private final Map<Future<ChunkResult<T>>, RequestTracker> inFlight = new IdentityHashMap<>();
+
+    private int completedChunks;
+    private long submittedItems;
+    private long createdItems;
+    private long failedItems;
+
+    /**
+     * @param chunkCreator creates objects of a chunk passing its requests to the given consumer before they are sent,
+     *                     so that they can be aborted
+     */
+    ChunkedUploader(BulkUpload upload,
+                    BiFunction<List<T>, Consumer<HttpRequestBase>, BatchCreateResult<T>> chunkCreator,
+                    Executor executor) {
+
+        this.upload = upload;
+        this.chunkCreator = chunkCreator;
+        this.completionService = new ExecutorCompletionService<>(executor);
+    }
+
+    /**
+     * Uploads chunks one by one on the calling thread, for clients which do not send chunks concurrently.
+     *
+     * @param parameters   parameters of every chunk request
+     * @param chunkCreator creates objects of a chunk
+     * @throws IllegalArgumentException if operation id is set, since it would be shared by all chunks
+     */
+    public static <T> BatchCreateResult<T> uploadSequentially(Iterator<T> forms,
+                                                              RequestParameters parameters,
+                                                              BulkUpload upload,
+                                                              Function<List<T>, BatchCreateResult<T>> chunkCreator) {
+        checkUpload(forms, parameters, upload);
+        return new ChunkedUploader<T>(upload, (chunk, requestConsumer) -> chunkCreator.apply(chunk), Runnable::run)
+                .upload(forms);
+    }
+
+    static void checkUpload(Iterator<?> forms, RequestParameters parameters, BulkUpload upload) {
+        Assertions.checkArgNotNull(forms, "Objects may not be null");
+        Assertions.checkArgNotNull(upload, "Bulk upload may not be null");
+        if (parameters != null && parameters.getQueryParameters().get(OPERATION_ID_PARAMETER) != null) {
+            throw new IllegalArgumentException("Operation id may not be set for chunked upload, chunks would share it");
+        }
+    }
+
+    BatchCreateResult<T> upload(Iterator<T> forms) {
+        try {
+            while (forms.hasNext()) {
+                if (inFlight.size() >= upload.getParallelism()) {
+                    merge(completionService.take());
+                }
+                submit(nextChunk(forms));
+            }
+            while (!inFlight.isEmpty()) {
+                merge(completionService.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortInFlight();
+            throw new BulkUploadException(result(), e);
+        } catch (RuntimeException e) {
+            abortInFlight();
+            throw new BulkUploadException(result(), e);
+        } catch (Error e) {
+            abortInFlight();
+            throw e;
+        }
+
+        return result();
+    }
+
+    private BatchCreateResult<T> result() {
+        return new BatchCreateResult<>(items, validationErrors);
+    }
+
+    private List<T> nextChunk(Iterator<T> forms) {
+        List<T> chunk = new ArrayList<>(upload.getChunkSize());
+        while (chunk.size() < upload.getChunkSize() && forms.hasNext()) {
+            chunk.add(forms.next());
+        }
+        return chunk;
+    }
+
+    private void submit(List<T> chunk) {
+        final long offset = submittedItems;
+        final RequestTracker requests = new RequestTracker();
+        submittedItems += chunk.size();
+        inFlight.put(completionService.submit(
+                context.wrap(() -> new ChunkResult<>(offset, chunkCreator.apply(chunk, requests)))), requests);
+    }
+
+    private void merge(Future<ChunkResult<T>> future) throws InterruptedException {
+        inFlight.remove(future);
+
+        ChunkResult<T> chunk;
+        try {
+            chunk = future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+
+        Map<Integer, T> chunkItems = new HashMap<>();
+        if (chunk.result.getItems() != null) {
+            for (Map.Entry<Integer, T> item : chunk.result.getItems().entrySet()) {
+                chunkItems.put(globalIndex(chunk, item.getKey()), item.getValue());
+            }
+        }
+        Map<Integer, Map<String, FieldValidationError>> chunkErrors = new HashMap<>();
+        if (chunk.result.getValidationsErrors() != null) {
+            for (Map.Entry<Integer, Map<String, FieldValidationError>> error
+                    : chunk.result.getValidationsErrors().entrySet()) {
+                chunkErrors.put(globalIndex(chunk, error.getKey()), error.getValue());
+            }
+        }
+        if (upload.isCollectingResults()) {
+            items.putAll(chunkItems);
+            validationErrors.putAll(chunkErrors);
+        }
+        createdItems += chunkItems.size();
+        failedItems += chunkErrors.size();
+        completedChunks++;
+
+        if (upload.getProgressListener() != null) {
+            upload.getProgressListener().accept(new BulkUploadProgress(completedChunks, submittedItems, createdItems,
+                    failedItems, new BatchCreateResult<>(chunkItems, chunkErrors)));
+        }
+    }
+
+    /**
+     * Cancels chunks waiting for a thread and aborts requests already sent, since interruption does not stop
+     * blocking I/O.
+     */
+    private void abortInFlight() {
+        for (Map.Entry<Future<ChunkResult<T>>, RequestTracker> chunk : inFlight.entrySet()) {
+            chunk.getKey().cancel(true);
+            chunk.getValue().abort();
+        }
+        inFlight.clear();
+    }
+
+    private static int globalIndex(ChunkResult<?> chunk, int index) {
+        return Math.toIntExact(chunk.offset + index);
+    }
+
+    private static class ChunkResult<T> {
+
+        private final long offset;
+        private final BatchCreateResult<T> result;
+
+        ChunkResult(long offset, BatchCreateResult<T> result) {
+            this.offset = offset;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Keeps the last request of a chunk. A request passed after the chunk was aborted is aborted at once, so retries
+     * are not sent either.
+     */
+    private static class RequestTracker implements Consumer<HttpRequestBase> {
+
+        private volatile HttpRequestBase request;
+        private volatile boolean aborted;
+
+        @Override
+        public void accept(HttpRequestBase request) {
+            this.request = request;
+            if (aborted) {
+                request.abort();
+            }
+        }
+
+        void abort() {
+            this.aborted = true;
+            HttpRequestBase current = request;
+            if (current != null) {
+                current.abort();
+            }
+        }
+    }
+}
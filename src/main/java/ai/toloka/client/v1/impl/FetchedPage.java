@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page handed over from a background fetcher to the consumer of a search stream. Carries the fetch error instead of
+ * items if the page could not be loaded.
+ */
+final class FetchedPage<T> {
+
+    private final List<T> items;
+    private final boolean last;
+    private final RuntimeException error;
+
+    private FetchedPage(List<T> items, boolean last, RuntimeException error) {
+        this.items = items;
+        this.last = last;
+        this.error = error;
+    }
+
+    static <T> FetchedPage<T> of(List<T> items, boolean last) {
+        return new FetchedPage<>(items, last, null);
+    }
+
+    static <T> FetchedPage<T> failed(RuntimeException error) {
+        return new FetchedPage<>(Collections.emptyList(), true, error);
+    }
+
+    /**
+     * @return items of the page, rethrowing the fetch error if there was one
+     */
+    List<T> getItems() {
+        if (error != null) {
+            throw error;
+        }
+        return items;
+    }
+
+    boolean isLast() {
+        return last;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import ai.toloka.client.v1.RangeOperator;
+import ai.toloka.client.v1.SearchRequest;
+import ai.toloka.client.v1.SearchResult;
+
+/**
+ * Lazily walks through all items matching a search request. Next page is requested only when the consumer has read
+ * the current one, and it continues right after the id of the last item seen, so only one page is held in memory.
+ *
+ * <p>Keyset pagination requires sorting by id, so the request may only be sorted by {@code id} or {@code -id}, and is
+ * sorted by {@code id} if no sort order is set.
+ */
+class KeysetPagingIterator<T> implements Iterator<T> {
+
+    private static final String SORT_PARAMETER = "sort";
+    private static final String ID_PARAMETER = "id";
+    private static final String DESCENDING_PREFIX = "-";
+
+    private final Function<Map<String, Object>, SearchResult<T>> pageLoader;
+    private final Function<T, String> idExtractor;
+    private final boolean descending;
+
+    private Map<String, Object> pageParameters;
+    private Iterator<T> page = Collections.emptyIterator();
+    private boolean hasMorePages = true;
+
+    KeysetPagingIterator(SearchRequest request,
+                         Function<Map<String, Object>, SearchResult<T>> pageLoader,
+                         Function<T, String> idExtractor) {
+
+        this(request == null ? new HashMap<>() : request.getQueryParameters(), pageLoader, idExtractor);
+    }
+
+    KeysetPagingIterator(Map<String, Object> queryParameters,
+                         Function<Map<String, Object>, SearchResult<T>> pageLoader,
+                         Function<T, String> idExtractor) {
+
+        this.pageLoader = pageLoader;
+        this.idExtractor = idExtractor;
+        this.pageParameters = new HashMap<>(queryParameters);
+
+        Object sort = pageParameters.get(SORT_PARAMETER);
+        if (sort != null && !ID_PARAMETER.equals(sort) && !(DESCENDING_PREFIX + ID_PARAMETER).equals(sort)) {
+            throw new IllegalArgumentException("Streamed items are ordered by id, the request may not be sorted by "
+                    + sort);
+        }
+        this.descending = (DESCENDING_PREFIX + ID_PARAMETER).equals(sort);
+        this.pageParameters.put(SORT_PARAMETER, descending ? DESCENDING_PREFIX + ID_PARAMETER : ID_PARAMETER);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && hasMorePages) {
+            page = nextPage().iterator();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    /**
+     * @return whether {@link #nextPage()} may return more items
+     */
+    boolean hasMorePages() {
+        return hasMorePages;
+    }
+
+    /**
+     * Requests next page and moves the cursor past its last item. Page-level counterpart of {@link #next()}, these
+     * two should not be mixed on the same instance.
+     */
+    List<T> nextPage() {
+        if (!hasMorePages) {
+            throw new NoSuchElementException();
+        }
+        SearchResult<T> result = pageLoader.apply(pageParameters);
+        List<T> items = result.getItems();
+
+        hasMorePages = result.isHasMore() && !items.isEmpty();
+        if (hasMorePages) {
+            pageParameters = nextPageParameters(pageParameters, idExtractor.apply(items.get(items.size() - 1)));
+        }
+        return items;
+    }
+
+    /**
+     * @return parameters of the page following the item with given id. Other filters and ranges stay untouched.
+     */
+    Map<String, Object> nextPageParameters(Map<String, Object> parameters, String lastId) {
+        Map<String, Object> next = new HashMap<>(parameters);
+        if (descending) {
+            next.remove(rangeKey(RangeOperator.lte));
+            next.put(rangeKey(RangeOperator.lt), lastId);
+        } else {
+            next.remove(rangeKey(RangeOperator.gte));
+            next.put(rangeKey(RangeOperator.gt), lastId);
+        }
+        return next;
+    }
+
+    private static String rangeKey(RangeOperator operator) {
+        return ID_PARAMETER + "_" + operator.name();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.validation.Assertions;
+import ai.toloka.client.v1.operation.Operation;
+import ai.toloka.client.v1.operation.OperationClientAsync;
+import ai.toloka.client.v1.operation.OperationSearchRequest;
+
+public class OperationClientAsyncImpl extends AbstractAsyncClientImpl implements OperationClientAsync {
+
+    private static final String OPERATIONS_PATH = "operations";
+
+    OperationClientAsyncImpl(TolokaClientFactoryImpl factory) {
+        super(factory);
+    }
+
+    @Override
+    public CompletableFuture<SearchResult<Operation<?, ?>>> findOperations(OperationSearchRequest request) {
+        return this.<Operation<?, ?>>findAsync(request, OPERATIONS_PATH,
+                new TypeReference<SearchResult<Operation<?, ?>>>() {})
+                .thenApply(result -> {
+                    for (Operation<?, ?> operation : result.getItems()) {
+                        Operation.setOperationClient(operation, getFactory().getOperationClient());
+                    }
+                    return result;
+                });
+    }
+
+    @Override
+    public <T extends Operation<?, ?>> CompletableFuture<T> getOperation(final String operationId) {
+        Assertions.checkArgNotNull(operationId, "Id may not be null");
+
+        if (Operation.PSEUDO_OPERATION_ID.equals(operationId)) {
+            @SuppressWarnings("unchecked")
+            T pseudo = (T) Operation.createPseudo(new Date());
+            return CompletableFuture.completedFuture(pseudo);
+        }
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<T> result = getAsync(operationId, OPERATIONS_PATH, Operation.class)
+                .thenApply(operation -> {
+                    if (operation != null) {
+                        Operation.setOperationClient(operation, getFactory().getOperationClient());
+                    }
+                    return (T) operation;
+                });
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Operation<?, ?>> CompletableFuture<T> getOperation(String operationId, Class<T> c) {
+        Assertions.checkArgNotNull(c, "Requested class may not be null");
+
+        return this.<Operation<?, ?>>getOperation(operationId).thenApply(operation -> {
+            if (operation == null) {
+                return null;
+            }
+
+            if (!operation.getClass().equals(c)) {
+                throw new IllegalArgumentException("Requested class and actual operation type doesn't match");
+            }
+
+            return (T) operation;
+        });
+    }
+}
@@ -29,6 +29,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.util.EntityUtils;
 
 import ai.toloka.client.v1.SearchResult;
 import ai.toloka.client.v1.impl.transport.TransportUtil;
@@ -37,6 +38,7 @@ import ai.toloka.client.v1.operation.Operation;
 import ai.toloka.client.v1.operation.OperationClient;
 import ai.toloka.client.v1.operation.OperationLogItem;
 import ai.toloka.client.v1.operation.OperationSearchRequest;
+import ai.toloka.client.v1.operation.PollingStrategy;
 
 import static ai.toloka.client.v1.impl.transport.MapperUtil.getObjectReader;
 
@@ -52,8 +54,8 @@ public class OperationClientImpl extends AbstractClientImpl implements Operation
     @Override
     public SearchResult<Operation<?, ?>> findOperations(OperationSearchRequest request) {
         SearchResult<Operation<?, ?>> result =
-                find(request, OPERATIONS_PATH, new TypeReference<SearchResult<Operation>>() {});
-        for (Operation operation : result.getItems()) {
+                find(request, OPERATIONS_PATH, new TypeReference<SearchResult<Operation<?, ?>>>() {});
+        for (Operation<?, ?> operation : result.getItems()) {
             Operation.setOperationClient(operation, this);
         }
         return result;
@@ -69,7 +71,7 @@ public class OperationClientImpl extends AbstractClientImpl implements Operation
             return pseudo;
         }
 
-        return new RequestExecutorWrapper<T>() {
+        return coalesced(getFlightKey(null, OPERATIONS_PATH, operationId), () -> new RequestExecutorWrapper<T>() {
 
             @SuppressWarnings("unchecked")
             @Override
@@ -85,12 +87,13 @@ public class OperationClientImpl extends AbstractClientImpl implements Operation
                 }
 
                 if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                    EntityUtils.consumeQuietly(response.getEntity());
                     return null;
                 }
 
                 throw parseException(response);
             }
-        }.wrap();
+        }.wrap());
     }
 
     @SuppressWarnings("unchecked")
@@ -142,6 +145,7 @@ public class OperationClientImpl extends AbstractClientImpl implements Operation
                 }
 
                 if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                    EntityUtils.consumeQuietly(response.getEntity());
                     return null;
                 }
 
@@ -149,4 +153,9 @@ public class OperationClientImpl extends AbstractClientImpl implements Operation
             }
         }.wrap();
     }
+
+    @Override
+    public PollingStrategy getPollingStrategy() {
+        return getFactory().getPollingStrategy();
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue of pages handed over from background fetchers to the iterator consuming them. Fetchers give up once
+ * the buffer is closed, or once the consuming iterator became unreachable without being closed, e.g. when a stream
+ * is abandoned after {@code limit(n)} or an exception in the consumer, so they do not keep pool threads blocked.
+ * Concurrent fetchers also stop once one of them queued the page ending the iteration, e.g. an error.
+ */
+final class PageBuffer<T> {
+
+    static final long ABANDON_CHECK_INTERVAL_MILLIS = 1000;
+
+    private final BlockingQueue<FetchedPage<T>> pages;
+    private final WeakReference<Object> consumer;
+
+    private volatile boolean closed;
+    private volatile boolean completed;
+
+    /**
+     * @param consumer iterator taking pages from the buffer, referenced weakly
+     */
+    PageBuffer(int capacity, Object consumer) {
+        this.pages = new ArrayBlockingQueue<>(capacity);
+        this.consumer = new WeakReference<>(consumer);
+    }
+
+    /**
+     * @return whether fetchers should go on: the buffer is neither completed, closed nor abandoned by its consumer
+     */
+    boolean isOpen() {
+        return !completed && isConsumed();
+    }
+
+    private boolean isConsumed() {
+        return !closed && consumer.get() != null;
+    }
+
+    /**
+     * Waits for free space and queues the page.
+     *
+     * @return {@code false} if the page was dropped as the buffer was closed or abandoned meanwhile
+     */
+    boolean put(FetchedPage<T> page) throws InterruptedException {
+        while (!pages.offer(page, ABANDON_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (!isOpen()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queues the page ending the iteration and makes other fetchers stop.
+     *
+     * @return {@code false} if the page was dropped as the buffer was closed or abandoned meanwhile
+     */
+    boolean putLast(FetchedPage<T> page) throws InterruptedException {
+        completed = true;
+        while (!pages.offer(page, ABANDON_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (!isConsumed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    FetchedPage<T> take() {
+        try {
+            return pages.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Makes fetchers stop and discards pages already buffered.
+     */
+    void close() {
+        closed = true;
+        pages.clear();
+    }
+}
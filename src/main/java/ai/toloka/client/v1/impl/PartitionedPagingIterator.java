@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import ai.toloka.client.v1.RangeOperator;
+import ai.toloka.client.v1.RangePartitioning;
+import ai.toloka.client.v1.SearchRequest;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.transport.RequestContext;
+
+/**
+ * Pages through disjoint slices of a search concurrently and merges their pages into one iteration. Each slice is
+ * walked with its own {@link KeysetPagingIterator}, at most {@link RangePartitioning#getParallelism()} slices are
+ * fetched at a time. Items of different slices are interleaved, order is kept only inside a page.
+ *
+ * <p>Up to one parsed page per worker is buffered. Fetching stops on the first error, on {@link #close()} or once
+ * an iterator abandoned without closing is garbage collected, see {@link PageBuffer}.
+ */
+class PartitionedPagingIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final Queue<KeysetPagingIterator<T>> slices;
+    private final PageBuffer<T> pages;
+    private final List<Future<?>> workers = new ArrayList<>();
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean lastPageReceived;
+
+    PartitionedPagingIterator(SearchRequest request,
+                              RangePartitioning<?> partitioning,
+                              Function<Map<String, Object>, SearchResult<T>> pageLoader,
+                              Function<T, String> idExtractor,
+                              ExecutorService executor) {
+
+        Queue<KeysetPagingIterator<T>> sliceQueue = new ConcurrentLinkedQueue<>();
+        int partitions = partitioning.getPartitions();
+        for (Map<String, Object> sliceParameters : sliceParameters(request, partitioning, partitions)) {
+            sliceQueue.add(new KeysetPagingIterator<>(sliceParameters, pageLoader, idExtractor));
+        }
+        this.slices = sliceQueue;
+
+        int workerCount = Math.min(partitioning.getParallelism(), sliceQueue.size());
+        PageBuffer<T> buffer = new PageBuffer<>(workerCount, this);
+        this.pages = buffer;
+        AtomicInteger activeWorkers = new AtomicInteger(workerCount);
+        RequestContext context = RequestContext.capture();
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(executor.submit(context.wrap(() -> work(sliceQueue, buffer, activeWorkers))));
+        }
+    }
+
+    /**
+     * Static so that workers do not keep the iterator reachable.
+     */
+    private static <T> void work(Queue<KeysetPagingIterator<T>> slices,
+                                 PageBuffer<T> pages,
+                                 AtomicInteger activeWorkers) {
+        try {
+            KeysetPagingIterator<T> slice;
+            while (pages.isOpen() && (slice = slices.poll()) != null) {
+                while (slice.hasMorePages() && pages.isOpen()) {
+                    List<T> items;
+                    try {
+                        items = slice.nextPage();
+                    } catch (RuntimeException e) {
+                        slices.clear();
+                        pages.putLast(FetchedPage.failed(e));
+                        return;
+                    }
+                    if (!pages.put(FetchedPage.of(items, false))) {
+                        return;
+                    }
+                }
+            }
+            if (pages.isOpen() && activeWorkers.decrementAndGet() == 0) {
+                pages.putLast(FetchedPage.of(Collections.emptyList(), true));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !lastPageReceived) {
+            FetchedPage<T> page = pages.take();
+            lastPageReceived = page.isLast();
+            current = page.getItems().iterator();
+        }
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stops fetching of all slices. Pages already buffered are discarded.
+     */
+    @Override
+    public void close() {
+        slices.clear();
+        pages.close();
+        for (Future<?> worker : workers) {
+            worker.cancel(true);
+        }
+    }
+
+    /**
+     * @return query parameters of each of {@code partitions} slices: {@code [from + i * step, from + (i + 1) * step)},
+     *     the last slice ends exactly at {@code to}
+     */
+    static List<Map<String, Object>> sliceParameters(SearchRequest request, RangePartitioning<?> partitioning,
+                                                     int partitions) {
+        Map<String, Object> base = request == null ? new HashMap<>() : new HashMap<>(request.getQueryParameters());
+        String name = partitioning.getParam().parameter();
+        for (RangeOperator operator : RangeOperator.values()) {
+            base.remove(name + "_" + operator.name());
+        }
+
+        long from = partitioning.getFrom().getTime();
+        long to = partitioning.getTo().getTime();
+        int slices = (int) Math.max(1, Math.min(partitions, to - from));
+
+        List<Map<String, Object>> result = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            Map<String, Object> slice = new HashMap<>(base);
+            slice.put(name + "_" + RangeOperator.gte.name(), new Date(from + (to - from) * i / slices));
+            slice.put(name + "_" + RangeOperator.lt.name(), new Date(from + (to - from) * (i + 1) / slices));
+            result.add(slice);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.validation.Assertions;
+import ai.toloka.client.v1.operation.Operation;
+import ai.toloka.client.v1.pool.Pool;
+import ai.toloka.client.v1.pool.PoolArchiveOperation;
+import ai.toloka.client.v1.pool.PoolClientAsync;
+import ai.toloka.client.v1.pool.PoolCloneOperation;
+import ai.toloka.client.v1.pool.PoolCloseOperation;
+import ai.toloka.client.v1.pool.PoolOpenOperation;
+import ai.toloka.client.v1.pool.PoolPatchRequest;
+import ai.toloka.client.v1.pool.PoolSearchRequest;
+
+public class PoolClientAsyncImpl extends AbstractAsyncClientImpl implements PoolClientAsync {
+
+    private static final String POOLS_PATH = "pools";
+    private static final String POOLS_OPEN_ACTION_PATH = "open";
+    private static final String POOLS_CLOSE_ACTION_PATH = "close";
+    private static final String POOLS_CLOSE_FOR_UPDATE_ACTION_PATH = "close-for-update";
+    private static final String POOLS_ARCHIVE_ACTION_PATH = "archive";
+    private static final String POOLS_CLONE_ACTION_PATH = "clone";
+
+    PoolClientAsyncImpl(TolokaClientFactoryImpl factory) {
+        super(factory);
+    }
+
+    @Override
+    public CompletableFuture<SearchResult<Pool>> findPools(final PoolSearchRequest request) {
+        return findAsync(request, POOLS_PATH, new TypeReference<SearchResult<Pool>>() {});
+    }
+
+    @Override
+    public CompletableFuture<Pool> getPool(final String id) {
+        return getAsync(id, POOLS_PATH, Pool.class);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Pool>> createPool(final Pool pool) {
+        Assertions.checkArgNotNull(pool, "Pool may not be null");
+
+        return createAsync(pool, POOLS_PATH, Pool.class, null);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Pool>> updatePool(String poolId, Pool pool) {
+        Assertions.checkArgNotNull(poolId, "Pool id may not be null");
+        Assertions.checkArgNotNull(pool, "Pool form may not be null");
+
+        return updateAsync(poolId, pool, POOLS_PATH, Pool.class);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Pool>> patchPool(String poolId, PoolPatchRequest request) {
+        Assertions.checkArgNotNull(poolId, "Id may not be null");
+        Assertions.checkArgNotNull(request, "Patch request may not be null");
+
+        return patchAsync(poolId, request, POOLS_PATH, Pool.class, null);
+    }
+
+    @Override
+    public CompletableFuture<PoolOpenOperation> openPool(final String poolId) {
+        return executePoolAction(poolId, POOLS_OPEN_ACTION_PATH, PoolOpenOperation::createPseudo);
+    }
+
+    @Override
+    public CompletableFuture<PoolCloseOperation> closePool(final String poolId) {
+        return executePoolAction(poolId, POOLS_CLOSE_ACTION_PATH, PoolCloseOperation::createPseudo);
+    }
+
+    @Override
+    public CompletableFuture<PoolCloseOperation> closePoolForUpdate(String poolId) {
+        return executePoolAction(poolId, POOLS_CLOSE_FOR_UPDATE_ACTION_PATH, PoolCloseOperation::createPseudo);
+    }
+
+    @Override
+    public CompletableFuture<PoolArchiveOperation> archivePool(final String poolId) {
+        return executePoolAction(poolId, POOLS_ARCHIVE_ACTION_PATH, PoolArchiveOperation::createPseudo);
+    }
+
+    @Override
+    public CompletableFuture<PoolCloneOperation> clonePool(String poolId) {
+        return executePoolAction(poolId, POOLS_CLONE_ACTION_PATH, PoolCloneOperation::createPseudo);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <O extends Operation<?, ?>> CompletableFuture<O> executePoolAction(
+            String poolId, String actionPath, Function<Date, O> pseudoFactory) {
+
+        Assertions.checkArgNotNull(poolId, "Id may not be null");
+
+        return executeActionAsync(poolId, POOLS_PATH, actionPath, Operation.class)
+                .thenApply(operation -> operation == null ? pseudoFactory.apply(new Date()) : (O) operation);
+    }
+}
@@ -22,6 +22,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.cache.ConditionalGetClient;
+import ai.toloka.client.v1.impl.cache.Versioned;
 import ai.toloka.client.v1.impl.validation.Assertions;
 import ai.toloka.client.v1.operation.Operation;
 import ai.toloka.client.v1.pool.Pool;
@@ -33,7 +35,7 @@ import ai.toloka.client.v1.pool.PoolOpenOperation;
 import ai.toloka.client.v1.pool.PoolPatchRequest;
 import ai.toloka.client.v1.pool.PoolSearchRequest;
 
-public class PoolClientImpl extends AbstractClientImpl implements PoolClient {
+public class PoolClientImpl extends AbstractClientImpl implements PoolClient, ConditionalGetClient<Pool> {
 
     private static final String POOLS_PATH = "pools";
     private static final String POOLS_OPEN_ACTION_PATH = "open";
@@ -56,6 +58,11 @@ public class PoolClientImpl extends AbstractClientImpl implements PoolClient {
         return get(id, POOLS_PATH, Pool.class);
     }
 
+    @Override
+    public Versioned<Pool> getIfModified(final String id, final Versioned<Pool> cached) {
+        return getIfModified(id, POOLS_PATH, Pool.class, cached);
+    }
+
     @Override
     public ModificationResult<Pool> createPool(final Pool pool) {
         Assertions.checkArgNotNull(pool, "Pool may not be null");
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import ai.toloka.client.v1.impl.transport.RequestContext;
+
+/**
+ * Iterates over pages of {@link KeysetPagingIterator} fetched in background. Request for the next page is sent as
+ * soon as the previous one is parsed, while the consumer is still processing it, so export throughput is no longer
+ * bounded by round-trip latency. Requests are still sent one at a time.
+ *
+ * <p>At most {@code prefetchPages} parsed pages are buffered. Producer stops when the last page is fetched, on the
+ * first error, on {@link #close()} or once an iterator abandoned without closing is garbage collected, see
+ * {@link PageBuffer}.
+ */
+class PrefetchingPagingIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final PageBuffer<T> pages;
+    private final Future<?> producer;
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private boolean lastPageReceived;
+
+    PrefetchingPagingIterator(KeysetPagingIterator<T> pager, int prefetchPages, ExecutorService executor) {
+        if (prefetchPages < 1) {
+            throw new IllegalArgumentException("Prefetch depth should be positive");
+        }
+        PageBuffer<T> buffer = new PageBuffer<>(prefetchPages, this);
+        this.pages = buffer;
+        this.producer = executor.submit(RequestContext.capture().wrap(() -> produce(pager, buffer)));
+    }
+
+    /**
+     * Static so that the producer does not keep the iterator reachable.
+     */
+    private static <T> void produce(KeysetPagingIterator<T> pager, PageBuffer<T> pages) {
+        try {
+            FetchedPage<T> page;
+            do {
+                try {
+                    List<T> items = pager.nextPage();
+                    page = FetchedPage.of(items, !pager.hasMorePages());
+                } catch (RuntimeException e) {
+                    page = FetchedPage.failed(e);
+                }
+            } while (pages.put(page) && !page.isLast() && pages.isOpen());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext() && !lastPageReceived) {
+            FetchedPage<T> page = pages.take();
+            lastPageReceived = page.isLast();
+            current = page.getItems().iterator();
+        }
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stops background fetching. Pages already buffered are discarded.
+     */
+    @Override
+    public void close() {
+        pages.close();
+        producer.cancel(true);
+    }
+}
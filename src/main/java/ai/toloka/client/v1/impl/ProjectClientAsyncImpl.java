@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.validation.Assertions;
+import ai.toloka.client.v1.operation.Operation;
+import ai.toloka.client.v1.project.Project;
+import ai.toloka.client.v1.project.ProjectArchiveOperation;
+import ai.toloka.client.v1.project.ProjectClientAsync;
+import ai.toloka.client.v1.project.ProjectSearchRequest;
+
+public class ProjectClientAsyncImpl extends AbstractAsyncClientImpl implements ProjectClientAsync {
+
+    private static final String PROJECTS_PATH = "projects";
+    private static final String ARCHIVE_ACTION_PATH = "archive";
+
+    ProjectClientAsyncImpl(TolokaClientFactoryImpl factory) {
+        super(factory);
+    }
+
+    @Override
+    public CompletableFuture<SearchResult<Project>> findProjects(final ProjectSearchRequest request) {
+        return findAsync(request, PROJECTS_PATH, new TypeReference<SearchResult<Project>>() {});
+    }
+
+    @Override
+    public CompletableFuture<Project> getProject(final String projectId) {
+        return getAsync(projectId, PROJECTS_PATH, Project.class);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Project>> createProject(final Project project) {
+        Assertions.checkArgNotNull(project, "Project may not be null");
+
+        return createAsync(project, PROJECTS_PATH, Project.class, null);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Project>> updateProject(final String projectId,
+                                                                        final Project project) {
+        Assertions.checkArgNotNull(projectId, "Project id may not be null");
+        Assertions.checkArgNotNull(project, "Project may not be null");
+
+        return updateAsync(projectId, project, PROJECTS_PATH, Project.class);
+    }
+
+    @Override
+    public CompletableFuture<ProjectArchiveOperation> archiveProject(String projectId) {
+        Assertions.checkArgNotNull(projectId, "Id may not be null");
+
+        return executeActionAsync(projectId, PROJECTS_PATH, ARCHIVE_ACTION_PATH, Operation.class)
+                .thenApply(operation -> operation == null
+                        ? ProjectArchiveOperation.createPseudo(new Date())
+                        : (ProjectArchiveOperation) operation);
+    }
+}
@@ -22,6 +22,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.cache.ConditionalGetClient;
+import ai.toloka.client.v1.impl.cache.Versioned;
 import ai.toloka.client.v1.impl.validation.Assertions;
 import ai.toloka.client.v1.operation.Operation;
 import ai.toloka.client.v1.project.Project;
@@ -29,7 +31,7 @@ import ai.toloka.client.v1.project.ProjectArchiveOperation;
 import ai.toloka.client.v1.project.ProjectClient;
 import ai.toloka.client.v1.project.ProjectSearchRequest;
 
-public class ProjectClientImpl extends AbstractClientImpl implements ProjectClient {
+public class ProjectClientImpl extends AbstractClientImpl implements ProjectClient, ConditionalGetClient<Project> {
 
     private static final String PROJECTS_PATH = "projects";
     private static final String ARCHIVE_ACTION_PATH = "archive";
@@ -48,6 +50,11 @@ public class ProjectClientImpl extends AbstractClientImpl implements ProjectClie
         return get(projectId, PROJECTS_PATH, Project.class);
     }
 
+    @Override
+    public Versioned<Project> getIfModified(final String projectId, final Versioned<Project> cached) {
+        return getIfModified(projectId, PROJECTS_PATH, Project.class, cached);
+    }
+
     @Override
     public ModificationResult<Project> createProject(final Project project) {
         Assertions.checkArgNotNull(project, "Project may not be null");
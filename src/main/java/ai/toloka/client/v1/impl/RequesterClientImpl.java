@@ -23,13 +23,17 @@ import java.net.URISyntaxException;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.util.EntityUtils;
 
+import ai.toloka.client.v1.impl.cache.ConditionalGetClient;
+import ai.toloka.client.v1.impl.cache.Versioned;
 import ai.toloka.client.v1.impl.transport.MapperUtil;
 import ai.toloka.client.v1.impl.transport.TransportUtil;
 import ai.toloka.client.v1.requester.Requester;
 import ai.toloka.client.v1.requester.RequesterClient;
 
-public class RequesterClientImpl extends AbstractClientImpl implements RequesterClient {
+public class RequesterClientImpl extends AbstractClientImpl
+        implements RequesterClient, ConditionalGetClient<Requester> {
 
     private static final String REQUESTER_PATH = "requester";
 
@@ -39,19 +43,34 @@ public class RequesterClientImpl extends AbstractClientImpl implements Requester
 
     @Override
     public Requester getRequester() {
-        return new RequestExecutorWrapper<Requester>() {
+        return getIfModified(null, null).getValue();
+    }
+
+    /**
+     * @param id ignored, there is a single requester per client
+     */
+    @Override
+    public Versioned<Requester> getIfModified(final String id, final Versioned<Requester> cached) {
+        return new RequestExecutorWrapper<Versioned<Requester>>() {
 
             @Override
-            Requester execute() throws URISyntaxException, IOException {
+            Versioned<Requester> execute() throws URISyntaxException, IOException {
                 URI uri = addVersionPrefix(new URIBuilder(getTolokaApiUrl()), REQUESTER_PATH).build();
 
-                HttpResponse response = TransportUtil.executeGet(getHttpClient(), uri, getHttpConsumer());
+                HttpResponse response = TransportUtil.executeGet(getHttpClient(), uri,
+                        getConditionalHttpConsumer(cached));
+
+                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    return cached;
+                }
 
                 if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
                     throw parseException(response);
                 }
 
-                return MapperUtil.getObjectReader(Requester.class).readValue(response.getEntity().getContent());
+                return versioned(MapperUtil.getObjectReader(Requester.class)
+                        .readValue(response.getEntity().getContent()), response);
             }
         }.wrap();
     }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ai.toloka.client.v1.RangePartitioning;
+import ai.toloka.client.v1.SearchRequest;
+import ai.toloka.client.v1.SearchResult;
+
+/**
+ * Streams over all items matching a search request, built on the method of a client finding one page. Backs default
+ * streaming methods of client interfaces, so that implementations predating them keep working.
+ */
+public final class SearchStreams {
+
+    private static final String SORT_PARAMETER = "sort";
+    private static final String LIMIT_PARAMETER = "limit";
+
+    private SearchStreams() {
+    }
+
+    /**
+     * Lazily pages through all items matching the request, continuing from the id of the last received item, see
+     * {@link KeysetPagingIterator}.
+     *
+     * @param requestFactory constructor of requests of the finder
+     * @throws IllegalArgumentException if the request is sorted by anything but id
+     */
+    public static <R extends SearchRequest, T> Stream<T> keyset(R request,
+                                                                RequestFactory<R> requestFactory,
+                                                                Function<R, SearchResult<T>> finder,
+                                                                Function<T, String> idExtractor) {
+        return stream(new KeysetPagingIterator<>(request, pageLoader(requestFactory, finder), idExtractor));
+    }
+
+    /**
+     * Pages through all items matching the request within the whole range of the partitioning as a single slice,
+     * for clients which do not fetch slices concurrently.
+     *
+     * @param requestFactory constructor of requests of the finder
+     */
+    public static <R extends SearchRequest, T> Stream<T> keyset(R request,
+                                                                RangePartitioning<?> partitioning,
+                                                                RequestFactory<R> requestFactory,
+                                                                Function<R, SearchResult<T>> finder,
+                                                                Function<T, String> idExtractor) {
+        Map<String, Object> parameters = PartitionedPagingIterator.sliceParameters(request, partitioning, 1).get(0);
+        return stream(new KeysetPagingIterator<>(parameters, pageLoader(requestFactory, finder), idExtractor));
+    }
+
+    static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    static <R extends SearchRequest, T> Function<Map<String, Object>, SearchResult<T>> pageLoader(
+            RequestFactory<R> requestFactory, Function<R, SearchResult<T>> finder) {
+
+        return parameters -> finder.apply(requestFactory.create(parameters, Collections.emptyMap(),
+                (String) parameters.get(SORT_PARAMETER), (Integer) parameters.get(LIMIT_PARAMETER)));
+    }
+
+    /**
+     * Constructor of search requests, e.g. {@code AssignmentSearchRequest::new}.
+     */
+    public interface RequestFactory<R extends SearchRequest> {
+
+        R create(Map<String, Object> filterParameters, Map<String, Object> rangeParameters, String sortParameter,
+                 Integer limit);
+    }
+}
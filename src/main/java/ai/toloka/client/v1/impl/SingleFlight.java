@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import ai.toloka.client.v1.TolokaRequestIOException;
+import ai.toloka.client.v1.impl.transport.DeadlineExceededException;
+import ai.toloka.client.v1.impl.transport.RequestOptions;
+
+/**
+ * Coalesces identical concurrent calls: the first call with a key runs, calls with the same key made while it is in
+ * flight wait for it and share its result or error. Nothing is kept once the call completes, so later calls run
+ * again.
+ *
+ * <p>Calls made in a {@link RequestOptions} scope with a deadline never run for others, so their deadline errors are
+ * not shared. They still join a call in flight, waiting for it no longer than their own deadline.
+ */
+final class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    <T> T execute(String key, Supplier<T> call) {
+        RequestOptions.Scope scope = RequestOptions.current();
+        long remainingMillis = scope != null ? scope.getRemainingMillis() : Long.MAX_VALUE;
+        boolean hasDeadline = remainingMillis != Long.MAX_VALUE;
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> current = hasDeadline ? flights.get(key) : flights.putIfAbsent(key, flight);
+        if (current != null) {
+            return (T) await(current, hasDeadline ? remainingMillis : -1);
+        }
+        if (hasDeadline) {
+            return call.get();
+        }
+
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    int getInFlight() {
+        return flights.size();
+    }
+
+    /**
+     * @param timeoutMillis time left until the deadline of the waiting call, or negative to wait without limit
+     */
+    private static Object await(CompletableFuture<Object> flight, long timeoutMillis) {
+        try {
+            return timeoutMillis < 0 ? flight.get() : flight.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new TolokaRequestIOException(
+                    new DeadlineExceededException("Deadline exceeded while waiting for identical call in flight"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
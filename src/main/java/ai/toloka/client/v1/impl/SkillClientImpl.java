@@ -27,6 +27,8 @@ import org.apache.http.client.utils.URIBuilder;
 
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.cache.ConditionalGetClient;
+import ai.toloka.client.v1.impl.cache.Versioned;
 import ai.toloka.client.v1.impl.transport.TransportUtil;
 import ai.toloka.client.v1.impl.validation.Assertions;
 import ai.toloka.client.v1.skill.Skill;
@@ -35,7 +37,7 @@ import ai.toloka.client.v1.skill.SkillSearchRequest;
 
 import static ai.toloka.client.v1.impl.transport.MapperUtil.getObjectReader;
 
-public class SkillClientImpl extends AbstractClientImpl implements SkillClient {
+public class SkillClientImpl extends AbstractClientImpl implements SkillClient, ConditionalGetClient<Skill> {
 
     private static final String SKILLS_PATH = "skills";
 
@@ -53,6 +55,11 @@ public class SkillClientImpl extends AbstractClientImpl implements SkillClient {
         return get(skillId, SKILLS_PATH, Skill.class);
     }
 
+    @Override
+    public Versioned<Skill> getIfModified(final String skillId, final Versioned<Skill> cached) {
+        return getIfModified(skillId, SKILLS_PATH, Skill.class, cached);
+    }
+
     @Override
     public ModificationResult<Skill> createSkill(final Skill skill) {
         Assertions.checkArgNotNull(skill, "Skill may not be null");
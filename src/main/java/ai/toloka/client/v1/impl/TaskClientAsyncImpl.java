@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.validation.Assertions;
+import ai.toloka.client.v1.task.Task;
+import ai.toloka.client.v1.task.TaskClientAsync;
+import ai.toloka.client.v1.task.TaskCreateRequestParameters;
+import ai.toloka.client.v1.task.TaskOverlapPatch;
+import ai.toloka.client.v1.task.TaskPatch;
+import ai.toloka.client.v1.task.TaskPatchRequestParameters;
+import ai.toloka.client.v1.task.TaskSearchRequest;
+
+public class TaskClientAsyncImpl extends AbstractAsyncClientImpl implements TaskClientAsync {
+
+    private static final String TASKS_PATH = "tasks";
+    private static final String SET_OVERLAP_OR_MIN_PATH = "set-overlap-or-min";
+
+    TaskClientAsyncImpl(TolokaClientFactoryImpl factory) {
+        super(factory);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Task>> createTask(Task task) {
+        return createTask(task, null);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Task>> createTask(Task task, TaskCreateRequestParameters parameters) {
+        Assertions.checkArgNotNull(task, "Task may not be null");
+
+        return createAsync(task, TASKS_PATH, Task.class, parameters != null ? parameters.getQueryParameters() : null);
+    }
+
+    @Override
+    public CompletableFuture<BatchCreateResult<Task>> createTasks(List<Task> tasks) {
+        return createTasks(tasks, null);
+    }
+
+    @Override
+    public CompletableFuture<BatchCreateResult<Task>> createTasks(List<Task> tasks,
+                                                                  TaskCreateRequestParameters parameters) {
+        Assertions.checkArgNotNull(tasks, "Tasks may not be null");
+
+        return createBatchAsync(tasks, TASKS_PATH, new TypeReference<BatchCreateResult<Task>>() {}, parameters);
+    }
+
+    @Override
+    public CompletableFuture<SearchResult<Task>> findTasks(TaskSearchRequest request) {
+        return findAsync(request, TASKS_PATH, new TypeReference<SearchResult<Task>>() {});
+    }
+
+    @Override
+    public CompletableFuture<Task> getTask(String taskId) {
+        return getAsync(taskId, TASKS_PATH, Task.class);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Task>> patchTask(String taskId, TaskPatch patch) {
+        return patchTask(taskId, patch, null);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Task>> patchTask(String taskId, TaskPatch patch,
+                                                                 TaskPatchRequestParameters parameters) {
+
+        return patchAsync(taskId, patch, TASKS_PATH, Task.class,
+                parameters != null ? parameters.getQueryParameters() : null);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<Task>> setOverlapOrMin(final String taskId,
+                                                                       final TaskOverlapPatch overlapPatch) {
+        Assertions.checkArgNotNull(taskId, "Id may not be null");
+        Assertions.checkArgNotNull(overlapPatch, "Patch form may not be null");
+
+        return patchAsync(overlapPatch, Task.class, null, TASKS_PATH, taskId, SET_OVERLAP_OR_MIN_PATH);
+    }
+}
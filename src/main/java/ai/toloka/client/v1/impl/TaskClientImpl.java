@@ -20,6 +20,8 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.apache.http.HttpResponse;
@@ -27,7 +29,9 @@ import org.apache.http.HttpStatus;
 import org.apache.http.client.utils.URIBuilder;
 
 import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.BulkUpload;
 import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.RangePartitioning;
 import ai.toloka.client.v1.SearchResult;
 import ai.toloka.client.v1.impl.transport.TransportUtil;
 import ai.toloka.client.v1.impl.validation.Assertions;
@@ -39,6 +43,7 @@ import ai.toloka.client.v1.task.TaskCreateRequestParameters;
 import ai.toloka.client.v1.task.TaskOverlapPatch;
 import ai.toloka.client.v1.task.TaskPatch;
 import ai.toloka.client.v1.task.TaskPatchRequestParameters;
+import ai.toloka.client.v1.task.TaskRangeParam;
 import ai.toloka.client.v1.task.TaskSearchRequest;
 
 import static ai.toloka.client.v1.impl.transport.MapperUtil.getObjectReader;
@@ -76,6 +81,18 @@ public class TaskClientImpl extends AbstractClientImpl implements TaskClient {
         return createMultiple(tasks, TASKS_PATH, new TypeReference<BatchCreateResult<Task>>() {}, parameters);
     }
 
+    @Override
+    public BatchCreateResult<Task> createTasks(Iterator<Task> tasks, BulkUpload upload) {
+        return createTasks(tasks, null, upload);
+    }
+
+    @Override
+    public BatchCreateResult<Task> createTasks(Iterator<Task> tasks, TaskCreateRequestParameters parameters,
+                                               BulkUpload upload) {
+
+        return createMultiple(tasks, TASKS_PATH, new TypeReference<BatchCreateResult<Task>>() {}, parameters, upload);
+    }
+
     @Override
     public TaskCreateBatchOperation createTasksAsync(Iterator<Task> tasks) {
         return createTasksAsync(tasks, null);
@@ -91,6 +108,27 @@ public class TaskClientImpl extends AbstractClientImpl implements TaskClient {
         return find(request, TASKS_PATH, new TypeReference<SearchResult<Task>>() {});
     }
 
+    @Override
+    public boolean findTasks(TaskSearchRequest request, Consumer<? super Task> consumer) {
+        Assertions.checkArgNotNull(consumer, "Consumer may not be null");
+        return find(request != null ? request.getQueryParameters() : null, TASKS_PATH, Task.class, consumer);
+    }
+
+    @Override
+    public Stream<Task> streamTasks(TaskSearchRequest request) {
+        return stream(request, TASKS_PATH, new TypeReference<SearchResult<Task>>() {}, Task::getId);
+    }
+
+    @Override
+    public Stream<Task> streamTasks(TaskSearchRequest request, int prefetchPages) {
+        return stream(request, TASKS_PATH, new TypeReference<SearchResult<Task>>() {}, Task::getId, prefetchPages);
+    }
+
+    @Override
+    public Stream<Task> streamTasks(TaskSearchRequest request, RangePartitioning<TaskRangeParam> partitioning) {
+        return stream(request, partitioning, TASKS_PATH, new TypeReference<SearchResult<Task>>() {}, Task::getId);
+    }
+
     @Override
     public Task getTask(String taskId) {
         return get(taskId, TASKS_PATH, Task.class);
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.validation.Assertions;
+import ai.toloka.client.v1.tasksuite.TaskSuite;
+import ai.toloka.client.v1.tasksuite.TaskSuiteClientAsync;
+import ai.toloka.client.v1.tasksuite.TaskSuiteCreateRequestParameters;
+import ai.toloka.client.v1.tasksuite.TaskSuiteOverlapPatch;
+import ai.toloka.client.v1.tasksuite.TaskSuitePatch;
+import ai.toloka.client.v1.tasksuite.TaskSuitePatchRequestParameters;
+import ai.toloka.client.v1.tasksuite.TaskSuiteSearchRequest;
+
+public class TaskSuiteClientAsyncImpl extends AbstractAsyncClientImpl implements TaskSuiteClientAsync {
+
+    private static final String TASK_SUITES_PATH = "task-suites";
+    private static final String SET_OVERLAP_OR_MIN_PATH = "set-overlap-or-min";
+
+    TaskSuiteClientAsyncImpl(TolokaClientFactoryImpl factory) {
+        super(factory);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<TaskSuite>> createTaskSuite(TaskSuite taskSuite) {
+        return createTaskSuite(taskSuite, null);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<TaskSuite>> createTaskSuite(
+            final TaskSuite taskSuite,
+            final TaskSuiteCreateRequestParameters parameters
+    ) {
+        Assertions.checkArgNotNull(taskSuite, "Task suite may not be null");
+
+        return createAsync(taskSuite, TASK_SUITES_PATH, TaskSuite.class,
+                parameters != null ? parameters.getQueryParameters() : null);
+    }
+
+    @Override
+    public CompletableFuture<BatchCreateResult<TaskSuite>> createTaskSuites(List<TaskSuite> taskSuites) {
+        return createTaskSuites(taskSuites, null);
+    }
+
+    @Override
+    public CompletableFuture<BatchCreateResult<TaskSuite>> createTaskSuites(
+            final List<TaskSuite> taskSuites,
+            final TaskSuiteCreateRequestParameters parameters
+    ) {
+        Assertions.checkArgNotNull(taskSuites, "Task suites may not be null");
+
+        return createBatchAsync(
+                taskSuites, TASK_SUITES_PATH, new TypeReference<BatchCreateResult<TaskSuite>>() {}, parameters);
+    }
+
+    @Override
+    public CompletableFuture<SearchResult<TaskSuite>> findTaskSuites(TaskSuiteSearchRequest request) {
+        return findAsync(request, TASK_SUITES_PATH, new TypeReference<SearchResult<TaskSuite>>() {});
+    }
+
+    @Override
+    public CompletableFuture<TaskSuite> getTaskSuite(String taskSuiteId) {
+        Assertions.checkArgNotNull(taskSuiteId, "Id may not be null");
+
+        return getAsync(taskSuiteId, TASK_SUITES_PATH, TaskSuite.class);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<TaskSuite>> patchTaskSuite(String taskSuiteId,
+                                                                           TaskSuitePatch patch) {
+        return patchTaskSuite(taskSuiteId, patch, null);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<TaskSuite>> patchTaskSuite(
+            String taskSuiteId,
+            TaskSuitePatch patch,
+            TaskSuitePatchRequestParameters parameters
+    ) {
+        Assertions.checkArgNotNull(taskSuiteId, "Id may not be null");
+        Assertions.checkArgNotNull(patch, "Patch form may not be null");
+
+        return patchAsync(taskSuiteId, patch, TASK_SUITES_PATH, TaskSuite.class,
+                parameters != null ? parameters.getQueryParameters() : null);
+    }
+
+    @Override
+    public CompletableFuture<ModificationResult<TaskSuite>> setOverlapOrMin(
+            final String taskSuiteId,
+            final TaskSuiteOverlapPatch overlapPatch
+    ) {
+        Assertions.checkArgNotNull(taskSuiteId, "Id may not be null");
+        Assertions.checkArgNotNull(overlapPatch, "Overlap patch form may not be null");
+
+        return patchAsync(overlapPatch, TaskSuite.class, null, TASK_SUITES_PATH, taskSuiteId,
+                SET_OVERLAP_OR_MIN_PATH);
+    }
+}
@@ -20,6 +20,8 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.apache.http.HttpResponse;
@@ -27,6 +29,7 @@ import org.apache.http.HttpStatus;
 import org.apache.http.client.utils.URIBuilder;
 
 import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.BulkUpload;
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.SearchResult;
 import ai.toloka.client.v1.impl.transport.TransportUtil;
@@ -82,6 +85,20 @@ public class TaskSuiteClientImpl extends AbstractClientImpl implements TaskSuite
                 taskSuites, TASK_SUITES_PATH, new TypeReference<BatchCreateResult<TaskSuite>>() {}, parameters);
     }
 
+    @Override
+    public BatchCreateResult<TaskSuite> createTaskSuites(Iterator<TaskSuite> taskSuites, BulkUpload upload) {
+        return createTaskSuites(taskSuites, null, upload);
+    }
+
+    @Override
+    public BatchCreateResult<TaskSuite> createTaskSuites(final Iterator<TaskSuite> taskSuites,
+                                                         final TaskSuiteCreateRequestParameters parameters,
+                                                         final BulkUpload upload) {
+
+        return createMultiple(taskSuites, TASK_SUITES_PATH, new TypeReference<BatchCreateResult<TaskSuite>>() {},
+                parameters, upload);
+    }
+
     @Override
     public TaskSuiteCreateBatchOperation createTaskSuitesAsync(Iterator<TaskSuite> taskSuites) {
         return createTaskSuitesAsync(taskSuites, null);
@@ -102,6 +119,24 @@ public class TaskSuiteClientImpl extends AbstractClientImpl implements TaskSuite
         return find(request, TASK_SUITES_PATH, new TypeReference<SearchResult<TaskSuite>>() {});
     }
 
+    @Override
+    public boolean findTaskSuites(TaskSuiteSearchRequest request, Consumer<? super TaskSuite> consumer) {
+        Assertions.checkArgNotNull(consumer, "Consumer may not be null");
+        return find(request != null ? request.getQueryParameters() : null, TASK_SUITES_PATH, TaskSuite.class,
+                consumer);
+    }
+
+    @Override
+    public Stream<TaskSuite> streamTaskSuites(TaskSuiteSearchRequest request) {
+        return stream(request, TASK_SUITES_PATH, new TypeReference<SearchResult<TaskSuite>>() {}, TaskSuite::getId);
+    }
+
+    @Override
+    public Stream<TaskSuite> streamTaskSuites(TaskSuiteSearchRequest request, int prefetchPages) {
+        return stream(request, TASK_SUITES_PATH, new TypeReference<SearchResult<TaskSuite>>() {}, TaskSuite::getId,
+                prefetchPages);
+    }
+
     @Override
     public TaskSuite getTaskSuite(String taskSuiteId) {
         Assertions.checkArgNotNull(taskSuiteId, "Id may not be null");
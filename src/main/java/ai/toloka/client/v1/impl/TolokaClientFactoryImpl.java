@@ -16,38 +16,111 @@
 
 package ai.toloka.client.v1.impl;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import ai.toloka.client.v1.TolokaClientFactory;
 import ai.toloka.client.v1.aggregatedsolutions.AggregatedSolutionClient;
 import ai.toloka.client.v1.assignment.AssignmentClient;
+import ai.toloka.client.v1.assignment.AssignmentClientAsync;
 import ai.toloka.client.v1.attachment.AttachmentClient;
+import ai.toloka.client.v1.impl.cache.CacheConfig;
+import ai.toloka.client.v1.impl.cache.CacheStats;
+import ai.toloka.client.v1.impl.cache.CachingClient;
+import ai.toloka.client.v1.impl.cache.CachingPoolClient;
+import ai.toloka.client.v1.impl.cache.CachingProjectClient;
+import ai.toloka.client.v1.impl.cache.CachingRequesterClient;
+import ai.toloka.client.v1.impl.cache.CachingSkillClient;
+import ai.toloka.client.v1.impl.cache.CachingTrainingClient;
+import ai.toloka.client.v1.impl.transport.CircuitBreaker;
+import ai.toloka.client.v1.impl.transport.CompressionStats;
+import ai.toloka.client.v1.impl.transport.ConnectionPoolConfig;
+import ai.toloka.client.v1.impl.transport.ConnectionPoolStats;
+import ai.toloka.client.v1.impl.transport.ContentCompression;
 import ai.toloka.client.v1.impl.transport.DefaultHttpClientConfiguration;
+import ai.toloka.client.v1.impl.transport.ExecutorStats;
+import ai.toloka.client.v1.impl.transport.JsonArrayEntity;
+import ai.toloka.client.v1.impl.transport.RequestEvent;
+import ai.toloka.client.v1.impl.transport.RequestGovernor;
+import ai.toloka.client.v1.impl.transport.RequestListener;
+import ai.toloka.client.v1.impl.transport.RetryPolicy;
+import ai.toloka.client.v1.impl.transport.TransportStats;
 import ai.toloka.client.v1.impl.validation.Assertions;
 import ai.toloka.client.v1.messagethread.MessageThreadClient;
 import ai.toloka.client.v1.metadata.UserMetadataClient;
+import ai.toloka.client.v1.operation.ExponentialBackoffPollingStrategy;
 import ai.toloka.client.v1.operation.OperationClient;
+import ai.toloka.client.v1.operation.OperationClientAsync;
+import ai.toloka.client.v1.operation.PollingStrategy;
 import ai.toloka.client.v1.pool.PoolClient;
+import ai.toloka.client.v1.pool.PoolClientAsync;
 import ai.toloka.client.v1.project.ProjectClient;
+import ai.toloka.client.v1.project.ProjectClientAsync;
 import ai.toloka.client.v1.requester.RequesterClient;
 import ai.toloka.client.v1.skill.SkillClient;
 import ai.toloka.client.v1.task.TaskClient;
+import ai.toloka.client.v1.task.TaskClientAsync;
 import ai.toloka.client.v1.tasksuite.TaskSuiteClient;
+import ai.toloka.client.v1.tasksuite.TaskSuiteClientAsync;
 import ai.toloka.client.v1.training.TrainingClient;
 import ai.toloka.client.v1.userbonus.UserBonusClient;
 import ai.toloka.client.v1.userrestriction.UserRestrictionClient;
 import ai.toloka.client.v1.userskill.UserSkillClient;
 import ai.toloka.client.v1.webhooksubscription.WebhookSubscriptionClient;
 
-public class TolokaClientFactoryImpl implements TolokaClientFactory {
+public class TolokaClientFactoryImpl implements TolokaClientFactory, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TolokaClientFactoryImpl.class);
 
     private final HttpClient httpClient;
     private final URI tolokaApiUrl;
+    private final String tokenOrKey;
+    private final ConnectionPoolConfig poolConfig;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private PoolingNHttpClientConnectionManager asyncConnectionManager;
+    private HttpAsyncClient httpAsyncClient;
     private Consumer<HttpRequestBase> headersSupplier;
+    private final CompressionStats compressionStats = new CompressionStats();
+    private ContentCompression requestCompression;
+    private CircuitBreaker circuitBreaker;
+    private RequestGovernor requestGovernor;
+    private RetryPolicy retryPolicy;
+    private final List<RequestListener> requestListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> inFlightRequests = new ConcurrentHashMap<>();
+    private ScheduledExecutorService statsReporter;
+    private CacheConfig cacheConfig;
+    private volatile SingleFlight singleFlight;
+    private volatile HttpClient transportHttpClient;
+    private volatile HttpAsyncClient transportHttpAsyncClient;
+    private PollingStrategy pollingStrategy = ExponentialBackoffPollingStrategy.DEFAULT;
+    private volatile ExecutorService executor;
+    private volatile ExecutorService blockingExecutor;
+    private int uploadBufferSize = JsonArrayEntity.DEFAULT_BUFFER_SIZE;
+    private boolean ownExecutor;
+    private boolean ownBlockingExecutor;
+    private boolean ownAsyncClient;
+    private volatile boolean closed;
 
     private RequesterClient requesterClient;
     private ProjectClient projectClient;
@@ -67,11 +140,22 @@ public class TolokaClientFactoryImpl implements TolokaClientFactory {
     private WebhookSubscriptionClient webhookSubscriptionClient;
     private UserMetadataClientImpl userMetadataClient;
 
+    private ProjectClientAsync projectClientAsync;
+    private PoolClientAsync poolClientAsync;
+    private TaskClientAsync taskClientAsync;
+    private TaskSuiteClientAsync taskSuiteClientAsync;
+    private AssignmentClientAsync assignmentClientAsync;
+    private OperationClientAsync operationClientAsync;
+
     public TolokaClientFactoryImpl(String tokenOrKey) {
         Assertions.checkArgNotNull(tokenOrKey, "Token or Api Key must be null provided");
 
         this.tolokaApiUrl = DefaultHttpClientConfiguration.DEFAULT_TOLOKA_SANDBOX_URI;
-        this.httpClient = DefaultHttpClientConfiguration.buildDefaultClient(tokenOrKey);
+        this.poolConfig = ConnectionPoolConfig.DEFAULT;
+        this.connectionManager = DefaultHttpClientConfiguration.buildDefaultConnectionManager(poolConfig);
+        this.httpClient = DefaultHttpClientConfiguration
+                .buildDefaultClient(tokenOrKey, compressionStats, poolConfig, connectionManager);
+        this.tokenOrKey = tokenOrKey;
     }
 
     /**
@@ -79,11 +163,25 @@ public class TolokaClientFactoryImpl implements TolokaClientFactory {
      * @param tokenOrKey   Token or Api Key may be obtained from web UI
      */
     public TolokaClientFactoryImpl(URI tolokaApiUrl, String tokenOrKey) {
+        this(tolokaApiUrl, tokenOrKey, ConnectionPoolConfig.DEFAULT);
+    }
+
+    /**
+     * @param tolokaApiUrl path to Toloka API
+     * @param tokenOrKey   Token or Api Key may be obtained from web UI
+     * @param poolConfig   connection pool settings of default blocking and non-blocking clients
+     */
+    public TolokaClientFactoryImpl(URI tolokaApiUrl, String tokenOrKey, ConnectionPoolConfig poolConfig) {
         Assertions.checkArgNotNull(tolokaApiUrl, "Toloka API URL may not be null");
         Assertions.checkArgNotNull(tokenOrKey, "Token or Api Key must be provided");
+        Assertions.checkArgNotNull(poolConfig, "Connection pool config may not be null");
 
         this.tolokaApiUrl = tolokaApiUrl;
-        this.httpClient = DefaultHttpClientConfiguration.buildDefaultClient(tokenOrKey);
+        this.poolConfig = poolConfig;
+        this.connectionManager = DefaultHttpClientConfiguration.buildDefaultConnectionManager(poolConfig);
+        this.httpClient = DefaultHttpClientConfiguration
+                .buildDefaultClient(tokenOrKey, compressionStats, poolConfig, connectionManager);
+        this.tokenOrKey = tokenOrKey;
     }
 
     /**
@@ -91,57 +189,86 @@ public class TolokaClientFactoryImpl implements TolokaClientFactory {
      * @param tokenOrKey   Token or Api Key may be obtained from web UI
      */
     public TolokaClientFactoryImpl(String tolokaApiUrl, String tokenOrKey) {
-        Assertions.checkArgNotNull(tolokaApiUrl, "Toloka API URL may not be null");
-        Assertions.checkArgNotNull(tokenOrKey, "Token or Api Key must be provided");
+        this(tolokaApiUrl, tokenOrKey, ConnectionPoolConfig.DEFAULT);
+    }
 
-        this.tolokaApiUrl = URI.create(tolokaApiUrl);
-        this.httpClient = DefaultHttpClientConfiguration.buildDefaultClient(tokenOrKey);
+    /**
+     * @param tolokaApiUrl path to Toloka API
+     * @param tokenOrKey   Token or Api Key may be obtained from web UI
+     * @param poolConfig   connection pool settings of default blocking and non-blocking clients
+     */
+    public TolokaClientFactoryImpl(String tolokaApiUrl, String tokenOrKey, ConnectionPoolConfig poolConfig) {
+        this(tolokaApiUrl == null ? null : URI.create(tolokaApiUrl), tokenOrKey, poolConfig);
     }
 
     public TolokaClientFactoryImpl(URI tolokaApiUrl, HttpClient httpClient) {
-        Assertions.checkArgNotNull(tolokaApiUrl, "Toloka API URL may not be null");
-        Assertions.checkArgNotNull(httpClient, "Http Client may not be null");
-
-        this.tolokaApiUrl = tolokaApiUrl;
-        this.httpClient = httpClient;
+        this(tolokaApiUrl, httpClient, null);
     }
 
     public TolokaClientFactoryImpl(String tolokaApiUrl, HttpClient httpClient) {
+        this(tolokaApiUrl, httpClient, null);
+    }
+
+    /**
+     * @param tolokaApiUrl    path to Toloka API
+     * @param httpClient      client used by blocking clients
+     * @param httpAsyncClient already started client used by non-blocking clients, may be {@code null} if non-blocking
+     *                        clients are not used
+     */
+    public TolokaClientFactoryImpl(URI tolokaApiUrl, HttpClient httpClient, HttpAsyncClient httpAsyncClient) {
         Assertions.checkArgNotNull(tolokaApiUrl, "Toloka API URL may not be null");
         Assertions.checkArgNotNull(httpClient, "Http Client may not be null");
 
-        this.tolokaApiUrl = URI.create(tolokaApiUrl);
+        this.tolokaApiUrl = tolokaApiUrl;
         this.httpClient = httpClient;
+        this.httpAsyncClient = httpAsyncClient;
+        this.tokenOrKey = null;
+        this.poolConfig = null;
+        this.connectionManager = null;
+    }
+
+    /**
+     * @param tolokaApiUrl    path to Toloka API
+     * @param httpClient      client used by blocking clients
+     * @param httpAsyncClient already started client used by non-blocking clients, may be {@code null} if non-blocking
+     *                        clients are not used
+     */
+    public TolokaClientFactoryImpl(String tolokaApiUrl, HttpClient httpClient, HttpAsyncClient httpAsyncClient) {
+        this(URI.create(tolokaApiUrl), httpClient, httpAsyncClient);
     }
 
     @Override
-    public RequesterClient getRequesterClient() {
+    public synchronized RequesterClient getRequesterClient() {
         if (requesterClient == null) {
-            this.requesterClient = new RequesterClientImpl(this);
+            RequesterClient client = new RequesterClientImpl(this);
+            this.requesterClient = cacheConfig != null ? new CachingRequesterClient(client, cacheConfig) : client;
         }
         return requesterClient;
     }
 
     @Override
-    public ProjectClient getProjectClient() {
+    public synchronized ProjectClient getProjectClient() {
         if (projectClient == null) {
-            this.projectClient = new ProjectClientImpl(this);
+            ProjectClient client = new ProjectClientImpl(this);
+            this.projectClient = cacheConfig != null ? new CachingProjectClient(client, cacheConfig) : client;
         }
         return projectClient;
     }
 
     @Override
-    public PoolClient getPoolClient() {
+    public synchronized PoolClient getPoolClient() {
         if (poolClient == null) {
-            this.poolClient = new PoolClientImpl(this);
+            PoolClient client = new PoolClientImpl(this);
+            this.poolClient = cacheConfig != null ? new CachingPoolClient(client, cacheConfig) : client;
         }
         return poolClient;
     }
 
     @Override
-    public TrainingClient getTrainingClient() {
+    public synchronized TrainingClient getTrainingClient() {
         if (trainingClient == null) {
-            this.trainingClient = new TrainingClientImpl(this);
+            TrainingClient client = new TrainingClientImpl(this);
+            this.trainingClient = cacheConfig != null ? new CachingTrainingClient(client, cacheConfig) : client;
         }
         return trainingClient;
     }
@@ -212,9 +339,10 @@ public class TolokaClientFactoryImpl implements TolokaClientFactory {
     }
 
     @Override
-    public SkillClient getSkillClient() {
+    public synchronized SkillClient getSkillClient() {
         if (skillClient == null) {
-            this.skillClient = new SkillClientImpl(this);
+            SkillClient client = new SkillClientImpl(this);
+            this.skillClient = cacheConfig != null ? new CachingSkillClient(client, cacheConfig) : client;
         }
         return skillClient;
     }
@@ -251,6 +379,54 @@ public class TolokaClientFactoryImpl implements TolokaClientFactory {
         return userMetadataClient;
     }
 
+    @Override
+    public ProjectClientAsync getProjectClientAsync() {
+        if (projectClientAsync == null) {
+            this.projectClientAsync = new ProjectClientAsyncImpl(this);
+        }
+        return projectClientAsync;
+    }
+
+    @Override
+    public PoolClientAsync getPoolClientAsync() {
+        if (poolClientAsync == null) {
+            this.poolClientAsync = new PoolClientAsyncImpl(this);
+        }
+        return poolClientAsync;
+    }
+
+    @Override
+    public TaskClientAsync getTaskClientAsync() {
+        if (taskClientAsync == null) {
+            this.taskClientAsync = new TaskClientAsyncImpl(this);
+        }
+        return taskClientAsync;
+    }
+
+    @Override
+    public TaskSuiteClientAsync getTaskSuiteClientAsync() {
+        if (taskSuiteClientAsync == null) {
+            this.taskSuiteClientAsync = new TaskSuiteClientAsyncImpl(this);
+        }
+        return taskSuiteClientAsync;
+    }
+
+    @Override
+    public AssignmentClientAsync getAssignmentClientAsync() {
+        if (assignmentClientAsync == null) {
+            this.assignmentClientAsync = new AssignmentClientAsyncImpl(this);
+        }
+        return assignmentClientAsync;
+    }
+
+    @Override
+    public OperationClientAsync getOperationClientAsync() {
+        if (operationClientAsync == null) {
+            this.operationClientAsync = new OperationClientAsyncImpl(this);
+        }
+        return operationClientAsync;
+    }
+
     public URI getTolokaApiUrl() {
         return tolokaApiUrl;
     }
@@ -259,6 +435,86 @@ public class TolokaClientFactoryImpl implements TolokaClientFactory {
         return httpClient;
     }
 
+    /**
+     * Returns client used by non-blocking clients. If factory was created with token or Api Key, default client is
+     * built and started on first call.
+     *
+     * @throws IllegalStateException if factory was created with custom {@link HttpClient} and no {@link
+     *                               HttpAsyncClient} was provided
+     */
+    public synchronized HttpAsyncClient getHttpAsyncClient() {
+        checkNotClosed();
+        if (httpAsyncClient == null) {
+            if (tokenOrKey == null) {
+                throw new IllegalStateException("Http Async Client was not provided to the factory");
+            }
+
+            PoolingNHttpClientConnectionManager manager =
+                    DefaultHttpClientConfiguration.buildDefaultAsyncConnectionManager(poolConfig);
+            CloseableHttpAsyncClient client =
+                    DefaultHttpClientConfiguration.buildDefaultAsyncClient(tokenOrKey, poolConfig, manager);
+            client.start();
+            this.asyncConnectionManager = manager;
+            this.httpAsyncClient = client;
+            this.ownAsyncClient = true;
+        }
+        return httpAsyncClient;
+    }
+
+    /**
+     * Returns client actually used by blocking clients: the one returned by {@link #getHttpClient()} protected by
+     * circuit breaker, governed by request governor and retrying requests according to retry policy, if set. Built
+     * once and rebuilt only after transport settings change, so no lock is taken on the request path.
+     */
+    HttpClient getTransportHttpClient() {
+        HttpClient transport = transportHttpClient;
+        return transport != null ? transport : buildTransportHttpClient();
+    }
+
+    private synchronized HttpClient buildTransportHttpClient() {
+        if (transportHttpClient == null) {
+            HttpClient client = httpClient;
+            if (circuitBreaker != null) {
+                client = circuitBreaker.protect(client);
+            }
+            if (requestGovernor != null) {
+                client = requestGovernor.govern(client);
+            }
+            if (retryPolicy != null) {
+                client = retryPolicy.retrying(client);
+            }
+            this.transportHttpClient = client;
+        }
+        return transportHttpClient;
+    }
+
+    /**
+     * Returns client actually used by non-blocking clients: the one returned by {@link #getHttpAsyncClient()}
+     * protected by circuit breaker, governed by request governor and retrying exchanges according to retry policy, if
+     * set. Built once and rebuilt only after transport settings change, so no lock is taken on the request path.
+     */
+    HttpAsyncClient getTransportHttpAsyncClient() {
+        HttpAsyncClient transport = transportHttpAsyncClient;
+        return transport != null ? transport : buildTransportHttpAsyncClient();
+    }
+
+    private synchronized HttpAsyncClient buildTransportHttpAsyncClient() {
+        if (transportHttpAsyncClient == null) {
+            HttpAsyncClient client = getHttpAsyncClient();
+            if (circuitBreaker != null) {
+                client = circuitBreaker.protect(client);
+            }
+            if (requestGovernor != null) {
+                client = requestGovernor.govern(client, getExecutor());
+            }
+            if (retryPolicy != null) {
+                client = retryPolicy.retrying(client, getExecutor());
+            }
+            this.transportHttpAsyncClient = client;
+        }
+        return transportHttpAsyncClient;
+    }
+
     public Consumer<HttpRequestBase> getHeadersSupplier() {
         return headersSupplier;
     }
@@ -267,4 +523,383 @@ public class TolokaClientFactoryImpl implements TolokaClientFactory {
         this.headersSupplier = httpConsumer;
         return this;
     }
+
+    /**
+     * Returns consumer applied to every request before it is sent: the one set with {@link #tune(Consumer)} followed by
+     * request compression if enabled.
+     */
+    public Consumer<HttpRequestBase> getRequestConsumer() {
+        if (requestCompression == null) {
+            return headersSupplier;
+        }
+        return headersSupplier != null ? headersSupplier.andThen(requestCompression) : requestCompression;
+    }
+
+    public TolokaClientFactoryImpl enableRequestCompression() {
+        return enableRequestCompression(ContentCompression.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Enables gzip compression of request bodies of at least {@code thresholdBytes} bytes and of streamed bodies,
+     * which length is unknown in advance.
+     */
+    public TolokaClientFactoryImpl enableRequestCompression(int thresholdBytes) {
+        this.requestCompression = new ContentCompression(thresholdBytes, compressionStats);
+        return this;
+    }
+
+    public TolokaClientFactoryImpl disableRequestCompression() {
+        this.requestCompression = null;
+        return this;
+    }
+
+    /**
+     * Returns sizes of compressed request bodies and of compressed responses decoded by default clients before and
+     * after compression.
+     */
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Sets circuit breaker which fails requests of all clients of this factory fast while the API fails to serve
+     * their endpoint family, instead of waiting for timeouts. Rejected requests are not retried. May be {@code null}
+     * to always send requests, which is the default.
+     */
+    public synchronized TolokaClientFactoryImpl setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        resetTransport();
+        return this;
+    }
+
+    public RequestGovernor getRequestGovernor() {
+        return requestGovernor;
+    }
+
+    /**
+     * Sets governor limiting rate and concurrency of requests of all clients of this factory, blocking and
+     * non-blocking ones together. May be {@code null} to send requests without limits, which is the default.
+     */
+    public synchronized TolokaClientFactoryImpl setRequestGovernor(RequestGovernor requestGovernor) {
+        this.requestGovernor = requestGovernor;
+        resetTransport();
+        return this;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets policy of retrying failed requests of all clients of this factory. Retried requests are governed by request
+     * governor as any other ones. May be {@code null} to report failures at once, which is the default.
+     */
+    public synchronized TolokaClientFactoryImpl setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        resetTransport();
+        return this;
+    }
+
+    /**
+     * Adds listener notified of every call of clients of this factory, blocking and non-blocking ones. Calls are only
+     * traced while at least one listener is registered.
+     */
+    public TolokaClientFactoryImpl addRequestListener(RequestListener listener) {
+        Assertions.checkArgNotNull(listener, "Request listener may not be null");
+        requestListeners.add(listener);
+        return this;
+    }
+
+    public TolokaClientFactoryImpl removeRequestListener(RequestListener listener) {
+        requestListeners.remove(listener);
+        return this;
+    }
+
+    boolean hasRequestListeners() {
+        return !requestListeners.isEmpty();
+    }
+
+    void fireRequestEvent(RequestEvent event) {
+        for (RequestListener listener : requestListeners) {
+            try {
+                listener.onRequest(event);
+            } catch (RuntimeException e) {
+                logger.warn("Request listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Returns counter of calls being made by the client, shared by all clients of the same name.
+     */
+    AtomicInteger getInFlightCounter(String clientName) {
+        return inFlightRequests.computeIfAbsent(clientName, name -> new AtomicInteger());
+    }
+
+    /**
+     * Returns snapshot of connection pools of default clients, executor and calls being made per client.
+     */
+    public synchronized TransportStats getTransportStats() {
+        Map<String, Integer> inFlight = new TreeMap<>();
+        inFlightRequests.forEach((name, counter) -> inFlight.put(name, counter.get()));
+
+        return new TransportStats(
+                connectionManager != null ? ConnectionPoolStats.of(connectionManager) : null,
+                asyncConnectionManager != null ? ConnectionPoolStats.of(asyncConnectionManager) : null,
+                executor != null ? ExecutorStats.of(executor) : null,
+                inFlight);
+    }
+
+    /**
+     * Makes the factory pass {@link #getTransportStats()} to {@link RequestListener#onTransportStats} of request
+     * listeners every {@code intervalMillis} from a daemon thread, or stops it if the interval is 0, which is the
+     * default.
+     */
+    public synchronized TolokaClientFactoryImpl setStatsReportInterval(long intervalMillis) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Stats report interval may not be negative");
+        }
+        checkNotClosed();
+
+        if (statsReporter != null) {
+            statsReporter.shutdown();
+            this.statsReporter = null;
+        }
+        if (intervalMillis > 0) {
+            ScheduledThreadPoolExecutor reporter = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "toloka-stats-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(this::reportTransportStats, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+            this.statsReporter = reporter;
+        }
+        return this;
+    }
+
+    private void reportTransportStats() {
+        if (requestListeners.isEmpty()) {
+            return;
+        }
+
+        TransportStats stats = getTransportStats();
+        for (RequestListener listener : requestListeners) {
+            try {
+                listener.onTransportStats(stats);
+            } catch (RuntimeException e) {
+                logger.warn("Request listener failed", e);
+            }
+        }
+    }
+
+    public CacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+
+    /**
+     * Makes blocking project, pool, skill, training and requester clients of this factory serve entities by id from
+     * caches, see {@link ai.toloka.client.v1.impl.cache.CachingPoolClient}. May be {@code null} to always fetch
+     * entities, which is the default. Clients obtained before the call are left as they are, so it should be called
+     * before clients are used.
+     */
+    public synchronized TolokaClientFactoryImpl setCacheConfig(CacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+        this.requesterClient = null;
+        this.projectClient = null;
+        this.poolClient = null;
+        this.trainingClient = null;
+        this.skillClient = null;
+        return this;
+    }
+
+    /**
+     * Returns stats of caches of clients obtained so far, keyed by client name, e.g. {@code PoolClient}.
+     */
+    public synchronized Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new TreeMap<>();
+        addCacheStats(stats, "RequesterClient", requesterClient);
+        addCacheStats(stats, "ProjectClient", projectClient);
+        addCacheStats(stats, "PoolClient", poolClient);
+        addCacheStats(stats, "TrainingClient", trainingClient);
+        addCacheStats(stats, "SkillClient", skillClient);
+        return stats;
+    }
+
+    private static void addCacheStats(Map<String, CacheStats> stats, String name, Object client) {
+        if (client instanceof CachingClient) {
+            stats.put(name, ((CachingClient) client).getCacheStats());
+        }
+    }
+
+    public boolean isSingleFlight() {
+        return singleFlight != null;
+    }
+
+    /**
+     * Makes blocking clients of this factory coalesce identical concurrent calls getting entities and operations by
+     * id: while such a call is in flight, the same calls from other threads wait for it and get the same parsed
+     * result or error instead of sending their own request. Shared entities should not be modified. Calls made with a
+     * deadline of {@link ai.toloka.client.v1.impl.transport.RequestOptions} only wait for calls in flight until their
+     * deadline and never run for others. Disabled by default.
+     */
+    public TolokaClientFactoryImpl setSingleFlight(boolean enabled) {
+        this.singleFlight = enabled ? new SingleFlight() : null;
+        return this;
+    }
+
+    SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    public PollingStrategy getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    /**
+     * Sets the strategy used by operations returned from clients of this factory while waiting for their completion.
+     * May be overridden per call, see {@link ai.toloka.client.v1.operation.Operation#waitToComplete(PollingStrategy)}.
+     */
+    public TolokaClientFactoryImpl setPollingStrategy(PollingStrategy pollingStrategy) {
+        Assertions.checkArgNotNull(pollingStrategy, "Polling strategy may not be null");
+        this.pollingStrategy = pollingStrategy;
+        return this;
+    }
+
+    public int getUploadBufferSize() {
+        return uploadBufferSize;
+    }
+
+    /**
+     * Sets size of the buffer serialized objects are collected in before being written to the connection by
+     * streaming uploads, e.g. {@link ai.toloka.client.v1.task.TaskClient#createTasksAsync}.
+     */
+    public TolokaClientFactoryImpl setUploadBufferSize(int uploadBufferSize) {
+        if (uploadBufferSize < 1) {
+            throw new IllegalArgumentException("Upload buffer size should be positive");
+        }
+        this.uploadBufferSize = uploadBufferSize;
+        return this;
+    }
+
+    /**
+     * Returns executor shared by all clients of this factory for short background tasks. If none was set, default
+     * bounded one is built on first call, see {@link DefaultHttpClientConfiguration#buildDefaultExecutor()}.
+     */
+    public ExecutorService getExecutor() {
+        checkNotClosed();
+        ExecutorService current = executor;
+        return current != null ? current : buildExecutor();
+    }
+
+    private synchronized ExecutorService buildExecutor() {
+        checkNotClosed();
+        if (executor == null) {
+            this.executor = DefaultHttpClientConfiguration.buildDefaultExecutor();
+            this.ownExecutor = true;
+        }
+        return executor;
+    }
+
+    /**
+     * Sets executor shared by all clients of this factory for short background tasks, e.g. to cap concurrency
+     * together with other application tasks or to use {@code Executors.newVirtualThreadPerTaskExecutor()} on newer
+     * JDKs. Provided executor is not shut down by {@link #close()}. Must be set before clients are used.
+     */
+    public synchronized TolokaClientFactoryImpl setExecutor(ExecutorService executor) {
+        Assertions.checkArgNotNull(executor, "Executor may not be null");
+        if (ownExecutor) {
+            this.executor.shutdown();
+            this.ownExecutor = false;
+        }
+        this.executor = executor;
+        resetTransport();
+        return this;
+    }
+
+    /**
+     * Returns executor shared by all clients of this factory for background tasks which block for long, like
+     * fetching pages of streams and uploading chunks. If none was set, default unbounded one is built on first call,
+     * see {@link DefaultHttpClientConfiguration#buildDefaultBlockingExecutor()}.
+     */
+    public ExecutorService getBlockingExecutor() {
+        checkNotClosed();
+        ExecutorService current = blockingExecutor;
+        return current != null ? current : buildBlockingExecutor();
+    }
+
+    private synchronized ExecutorService buildBlockingExecutor() {
+        checkNotClosed();
+        if (blockingExecutor == null) {
+            this.blockingExecutor = DefaultHttpClientConfiguration.buildDefaultBlockingExecutor();
+            this.ownBlockingExecutor = true;
+        }
+        return blockingExecutor;
+    }
+
+    /**
+     * Sets executor for background tasks which block for long, e.g. {@code Executors.newVirtualThreadPerTaskExecutor()}
+     * on newer JDKs. Tasks of nested streams wait for each other, so the executor should not queue tasks. Provided
+     * executor is not shut down by {@link #close()}. Must be set before clients are used.
+     */
+    public synchronized TolokaClientFactoryImpl setBlockingExecutor(ExecutorService blockingExecutor) {
+        Assertions.checkArgNotNull(blockingExecutor, "Executor may not be null");
+        if (ownBlockingExecutor) {
+            this.blockingExecutor.shutdown();
+            this.ownBlockingExecutor = false;
+        }
+        this.blockingExecutor = blockingExecutor;
+        return this;
+    }
+
+    /**
+     * Releases resources created by this factory: default executors and default http clients. Executors and clients
+     * provided by the user are left intact. Clients of this factory may not be used after it is closed.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        this.closed = true;
+
+        if (statsReporter != null) {
+            statsReporter.shutdown();
+        }
+        if (ownExecutor) {
+            executor.shutdown();
+        }
+        if (ownBlockingExecutor) {
+            blockingExecutor.shutdown();
+        }
+        if (ownAsyncClient) {
+            closeQuietly((Closeable) httpAsyncClient);
+        }
+        if (tokenOrKey != null && httpClient instanceof Closeable) {
+            closeQuietly((Closeable) httpClient);
+        }
+    }
+
+    private void resetTransport() {
+        this.transportHttpClient = null;
+        this.transportHttpAsyncClient = null;
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Client factory is closed");
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close http client", e);
+        }
+    }
 }
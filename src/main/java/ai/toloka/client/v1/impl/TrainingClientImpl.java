@@ -22,6 +22,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.cache.ConditionalGetClient;
+import ai.toloka.client.v1.impl.cache.Versioned;
 import ai.toloka.client.v1.impl.validation.Assertions;
 import ai.toloka.client.v1.operation.Operation;
 import ai.toloka.client.v1.training.Training;
@@ -32,7 +34,7 @@ import ai.toloka.client.v1.training.TrainingCloseOperation;
 import ai.toloka.client.v1.training.TrainingOpenOperation;
 import ai.toloka.client.v1.training.TrainingSearchRequest;
 
-public class TrainingClientImpl extends AbstractClientImpl implements TrainingClient {
+public class TrainingClientImpl extends AbstractClientImpl implements TrainingClient, ConditionalGetClient<Training> {
 
     private static final String TRAININGS_PATH = "trainings";
     private static final String TRAININGS_OPEN_ACTION_PATH = "open";
@@ -54,6 +56,11 @@ public class TrainingClientImpl extends AbstractClientImpl implements TrainingCl
         return get(id, TRAININGS_PATH, Training.class);
     }
 
+    @Override
+    public Versioned<Training> getIfModified(final String id, final Versioned<Training> cached) {
+        return getIfModified(id, TRAININGS_PATH, Training.class, cached);
+    }
+
     @Override
     public ModificationResult<Training> createTraining(final Training training) {
         Assertions.checkArgNotNull(training, "Training may not be null");
@@ -22,6 +22,7 @@ import java.util.List;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.BulkUpload;
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.SearchResult;
 import ai.toloka.client.v1.impl.validation.Assertions;
@@ -70,6 +71,20 @@ public class UserBonusClientImpl extends AbstractClientImpl implements UserBonus
                 userBonuses, USER_BONUSES_PATH, new TypeReference<BatchCreateResult<UserBonus>>() {}, parameters);
     }
 
+    @Override
+    public BatchCreateResult<UserBonus> createUserBonuses(Iterator<UserBonus> userBonuses, BulkUpload upload) {
+        return createUserBonuses(userBonuses, null, upload);
+    }
+
+    @Override
+    public BatchCreateResult<UserBonus> createUserBonuses(Iterator<UserBonus> userBonuses,
+                                                          UserBonusCreateRequestParameters parameters,
+                                                          BulkUpload upload) {
+
+        return createMultiple(userBonuses, USER_BONUSES_PATH, new TypeReference<BatchCreateResult<UserBonus>>() {},
+                parameters, upload);
+    }
+
     @Override
     public UserBonusCreateBatchOperation createUserBonusesAsync(Iterator<UserBonus> userBonuses) {
         return createUserBonusesAsync(userBonuses, null);
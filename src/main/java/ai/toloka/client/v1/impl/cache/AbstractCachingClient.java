@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Base of client decorators caching an entity type. Entities returned from the cache are shared between callers, so
+ * they should not be modified: change a copy or fetch the entity from a non-caching client before updating it.
+ * Entities changed through the decorated client are invalidated once the change is sent, ones changed otherwise,
+ * e.g. by non-blocking clients or other processes, are served stale until they expire.
+ */
+abstract class AbstractCachingClient<V> implements CachingClient {
+
+    final EntityCache<V> cache;
+
+    private final ConditionalGetClient<V> conditional;
+
+    /**
+     * @param delegate client loading entities, used for revalidation if it implements {@link ConditionalGetClient}
+     *                 of the entity type
+     */
+    @SuppressWarnings("unchecked")
+    AbstractCachingClient(Object delegate, CacheConfig config) {
+        this.cache = new EntityCache<>(config);
+        this.conditional = delegate instanceof ConditionalGetClient ? (ConditionalGetClient<V>) delegate : null;
+    }
+
+    @Override
+    public CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    @Override
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns cached entity or loads it, revalidating expired one if the delegate supports conditional requests.
+     */
+    V get(String id, Function<String, V> loader) {
+        return conditional != null ? cache.getRevalidating(id, conditional::getIfModified) : cache.get(id, loader);
+    }
+
+    /**
+     * Invalidates the entity after the change is made, whether it succeeded or not.
+     */
+    <R> R invalidating(String id, Supplier<R> change) {
+        try {
+            return change.get();
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Settings of caches of slowly changing entities: projects, pools, skills, trainings and the requester, see
+ * {@link ai.toloka.client.v1.impl.TolokaClientFactoryImpl#setCacheConfig(CacheConfig)}. Each entity type is cached
+ * separately, up to {@code maxSize} least recently used entities for at most {@code ttl}.
+ */
+public final class CacheConfig {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_TTL_MILLIS = 60 * 1000;
+
+    public static final CacheConfig DEFAULT = make().done();
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private CacheConfig(Builder builder) {
+        this.maxSize = builder.maxSize;
+        this.ttlMillis = builder.ttlMillis;
+        this.clock = builder.clock;
+    }
+
+    public static Builder make() {
+        return new Builder();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    LongSupplier getClock() {
+        return clock;
+    }
+
+    public static class Builder {
+
+        private int maxSize = DEFAULT_MAX_SIZE;
+        private long ttlMillis = DEFAULT_TTL_MILLIS;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {
+        }
+
+        public Builder maxSize(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("Max size should be positive");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param ttlMillis time an entity is served from the cache after it was fetched
+         */
+        public Builder ttl(long ttlMillis) {
+            if (ttlMillis < 1) {
+                throw new IllegalArgumentException("TTL should be positive");
+            }
+            this.ttlMillis = ttlMillis;
+            return this;
+        }
+
+        /**
+         * Replaces {@link System#nanoTime()} entities expire by, e.g. in tests.
+         */
+        Builder clock(LongSupplier nanoTime) {
+            this.clock = nanoTime;
+            return this;
+        }
+
+        public CacheConfig done() {
+            return new CacheConfig(this);
+        }
+    }
+}
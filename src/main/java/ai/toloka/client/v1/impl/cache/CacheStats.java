@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+/**
+ * Snapshot of counters of an entity cache.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long revalidations;
+    private final long evictions;
+    private final int size;
+
+    CacheStats(long hits, long misses, long revalidations, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.revalidations = revalidations;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return entities fetched from the API, as not cached, or expired and modified since
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return expired entities found not modified by a conditional request, also counted as hits
+     */
+    public long getRevalidations() {
+        return revalidations;
+    }
+
+    /**
+     * @return entities evicted to keep the cache within its max size
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", misses=" + misses + ", revalidations=" + revalidations
+                + ", evictions=" + evictions + ", size=" + size + '}';
+    }
+}
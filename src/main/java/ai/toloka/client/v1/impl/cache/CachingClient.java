@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+/**
+ * Client serving entities from a cache, see {@link CacheConfig}.
+ */
+public interface CachingClient {
+
+    CacheStats getCacheStats();
+
+    /**
+     * Drops the entity from the cache, e.g. after it was changed by another process.
+     */
+    void invalidate(String id);
+
+    void invalidateAll();
+}
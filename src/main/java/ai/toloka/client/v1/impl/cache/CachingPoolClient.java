@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+import java.io.IOException;
+
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.transport.MapperUtil;
+import ai.toloka.client.v1.pool.Pool;
+import ai.toloka.client.v1.pool.PoolArchiveOperation;
+import ai.toloka.client.v1.pool.PoolClient;
+import ai.toloka.client.v1.pool.PoolCloneOperation;
+import ai.toloka.client.v1.pool.PoolCloseOperation;
+import ai.toloka.client.v1.pool.PoolOpenOperation;
+import ai.toloka.client.v1.pool.PoolPatchRequest;
+import ai.toloka.client.v1.pool.PoolSearchRequest;
+
+/**
+ * Serves {@link #getPool(String)} from a cache, see {@link AbstractCachingClient} for consistency guarantees. Pools
+ * are also invalidated when opened or closed, but status changes made by the returned operations after that are only
+ * seen once the pool expires or is invalidated explicitly. Unlike other cached entities, pools are usually modified
+ * and sent back with {@link #updatePool(String, Pool)}, so each call gets its own copy of the cached pool.
+ */
+public class CachingPoolClient extends AbstractCachingClient<Pool> implements PoolClient {
+
+    private final PoolClient delegate;
+
+    public CachingPoolClient(PoolClient delegate, CacheConfig config) {
+        super(delegate, config);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SearchResult<Pool> findPools(PoolSearchRequest request) {
+        return delegate.findPools(request);
+    }
+
+    /**
+     * @return copy of the cached pool, changing it does not affect the cache or other callers
+     */
+    @Override
+    public Pool getPool(String id) {
+        return copyOf(get(id, delegate::getPool));
+    }
+
+    @Override
+    public ModificationResult<Pool> createPool(Pool pool) {
+        return delegate.createPool(pool);
+    }
+
+    @Override
+    public ModificationResult<Pool> updatePool(String poolId, Pool pool) {
+        return invalidating(poolId, () -> delegate.updatePool(poolId, pool));
+    }
+
+    @Override
+    public ModificationResult<Pool> patchPool(String poolId, PoolPatchRequest request) {
+        return invalidating(poolId, () -> delegate.patchPool(poolId, request));
+    }
+
+    @Override
+    public PoolOpenOperation openPool(String poolId) {
+        return invalidating(poolId, () -> delegate.openPool(poolId));
+    }
+
+    @Override
+    public PoolCloseOperation closePool(String poolId) {
+        return invalidating(poolId, () -> delegate.closePool(poolId));
+    }
+
+    @Override
+    public PoolCloseOperation closePoolForUpdate(String poolId) {
+        return invalidating(poolId, () -> delegate.closePoolForUpdate(poolId));
+    }
+
+    @Override
+    public PoolArchiveOperation archivePool(String poolId) {
+        return invalidating(poolId, () -> delegate.archivePool(poolId));
+    }
+
+    @Override
+    public PoolCloneOperation clonePool(String poolId) {
+        return delegate.clonePool(poolId);
+    }
+
+    private static Pool copyOf(Pool pool) {
+        if (pool == null) {
+            return null;
+        }
+        try {
+            byte[] json = MapperUtil.getObjectWriter().writeValueAsBytes(pool);
+            return MapperUtil.getObjectReader(Pool.class).readValue(json);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.project.Project;
+import ai.toloka.client.v1.project.ProjectArchiveOperation;
+import ai.toloka.client.v1.project.ProjectClient;
+import ai.toloka.client.v1.project.ProjectSearchRequest;
+
+/**
+ * Serves {@link #getProject(String)} from a cache, see {@link AbstractCachingClient} for consistency guarantees.
+ */
+public class CachingProjectClient extends AbstractCachingClient<Project> implements ProjectClient {
+
+    private final ProjectClient delegate;
+
+    public CachingProjectClient(ProjectClient delegate, CacheConfig config) {
+        super(delegate, config);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SearchResult<Project> findProjects(ProjectSearchRequest request) {
+        return delegate.findProjects(request);
+    }
+
+    @Override
+    public Project getProject(String projectId) {
+        return get(projectId, delegate::getProject);
+    }
+
+    @Override
+    public ModificationResult<Project> createProject(Project project) {
+        return delegate.createProject(project);
+    }
+
+    @Override
+    public ModificationResult<Project> updateProject(String projectId, Project project) {
+        return invalidating(projectId, () -> delegate.updateProject(projectId, project));
+    }
+
+    @Override
+    public ProjectArchiveOperation archiveProject(String projectId) {
+        return invalidating(projectId, () -> delegate.archiveProject(projectId));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+import ai.toloka.client.v1.requester.Requester;
+import ai.toloka.client.v1.requester.RequesterClient;
+
+/**
+ * Serves {@link #getRequester()} from a cache, so that e.g. balance is refreshed once per TTL.
+ */
+public class CachingRequesterClient extends AbstractCachingClient<Requester> implements RequesterClient {
+
+    private static final String REQUESTER_KEY = "requester";
+
+    private final RequesterClient delegate;
+
+    public CachingRequesterClient(RequesterClient delegate, CacheConfig config) {
+        super(delegate, config);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Requester getRequester() {
+        return get(REQUESTER_KEY, key -> delegate.getRequester());
+    }
+
+    /**
+     * Drops the requester from the cache regardless of the id.
+     */
+    @Override
+    public void invalidate(String id) {
+        invalidateAll();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.skill.Skill;
+import ai.toloka.client.v1.skill.SkillClient;
+import ai.toloka.client.v1.skill.SkillSearchRequest;
+
+/**
+ * Serves {@link #getSkill(String)} from a cache, see {@link AbstractCachingClient} for consistency guarantees.
+ */
+public class CachingSkillClient extends AbstractCachingClient<Skill> implements SkillClient {
+
+    private final SkillClient delegate;
+
+    public CachingSkillClient(SkillClient delegate, CacheConfig config) {
+        super(delegate, config);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ModificationResult<Skill> createSkill(Skill skill) {
+        return delegate.createSkill(skill);
+    }
+
+    @Override
+    public SearchResult<Skill> findSkills(SkillSearchRequest request) {
+        return delegate.findSkills(request);
+    }
+
+    @Override
+    public Skill getSkill(String skillId) {
+        return get(skillId, delegate::getSkill);
+    }
+
+    @Override
+    public ModificationResult<Skill> updateSkill(String skillId, Skill skill) {
+        return invalidating(skillId, () -> delegate.updateSkill(skillId, skill));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.training.Training;
+import ai.toloka.client.v1.training.TrainingArchiveOperation;
+import ai.toloka.client.v1.training.TrainingClient;
+import ai.toloka.client.v1.training.TrainingCloneOperation;
+import ai.toloka.client.v1.training.TrainingCloseOperation;
+import ai.toloka.client.v1.training.TrainingOpenOperation;
+import ai.toloka.client.v1.training.TrainingSearchRequest;
+
+/**
+ * Serves {@link #getTraining(String)} from a cache, see {@link AbstractCachingClient} for consistency guarantees.
+ */
+public class CachingTrainingClient extends AbstractCachingClient<Training> implements TrainingClient {
+
+    private final TrainingClient delegate;
+
+    public CachingTrainingClient(TrainingClient delegate, CacheConfig config) {
+        super(delegate, config);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SearchResult<Training> findTrainings(TrainingSearchRequest request) {
+        return delegate.findTrainings(request);
+    }
+
+    @Override
+    public Training getTraining(String id) {
+        return get(id, delegate::getTraining);
+    }
+
+    @Override
+    public ModificationResult<Training> createTraining(Training training) {
+        return delegate.createTraining(training);
+    }
+
+    @Override
+    public ModificationResult<Training> updateTraining(String trainingId, Training training) {
+        return invalidating(trainingId, () -> delegate.updateTraining(trainingId, training));
+    }
+
+    @Override
+    public TrainingOpenOperation openTraining(String trainingId) {
+        return invalidating(trainingId, () -> delegate.openTraining(trainingId));
+    }
+
+    @Override
+    public TrainingCloseOperation closeTraining(String trainingId) {
+        return invalidating(trainingId, () -> delegate.closeTraining(trainingId));
+    }
+
+    @Override
+    public TrainingArchiveOperation archiveTraining(String trainingId) {
+        return invalidating(trainingId, () -> delegate.archiveTraining(trainingId));
+    }
+
+    @Override
+    public TrainingCloneOperation cloneTraining(String trainingId) {
+        return delegate.cloneTraining(trainingId);
+    }
+}
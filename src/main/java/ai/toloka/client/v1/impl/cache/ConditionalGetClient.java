@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+/**
+ * Client able to revalidate a cached entity with {@code If-None-Match} and {@code If-Modified-Since} headers.
+ * Caching clients use it when the delegate implements this interface, so that expired entities not modified since
+ * are refreshed without transferring and parsing their body again.
+ */
+public interface ConditionalGetClient<T> {
+
+    /**
+     * @param cached version to revalidate, or {@code null} to fetch the entity unconditionally
+     * @return {@code cached} itself if the entity was not modified, its new version otherwise, or {@code null} if the
+     * entity was not found
+     */
+    Versioned<T> getIfModified(String id, Versioned<T> cached);
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded LRU cache of entities by id with expiration after write. Entities are loaded outside of the lock, so
+ * concurrent misses of the same id may load it more than once. An entity loaded while the cache was invalidated is
+ * returned but not cached, since it may predate the change which caused invalidation. Expired entities having
+ * validators are revalidated with a conditional request by loaders supporting it, entities not modified since
+ * are kept and counted as hits.
+ */
+final class EntityCache<V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<String, Cached<V>> entries;
+
+    private long invalidations;
+    private long hits;
+    private long misses;
+    private long revalidations;
+    private long evictions;
+
+    EntityCache(CacheConfig config) {
+        this.maxSize = config.getMaxSize();
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(config.getTtlMillis());
+        this.clock = config.getClock();
+        this.entries = new LinkedHashMap<String, Cached<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns cached entity or loads it. {@code null} returned by the loader, e.g. for entities not found, is not
+     * cached.
+     */
+    V get(String id, Function<String, V> loader) {
+        return getRevalidating(id, (key, cached) -> {
+            V value = loader.apply(key);
+            return value != null ? Versioned.of(value) : null;
+        });
+    }
+
+    /**
+     * Returns cached entity or loads it, passing the expired version to the loader for revalidation if it has
+     * validators.
+     */
+    V getRevalidating(String id, Loader<V> loader) {
+        Versioned<V> stale = null;
+        long loadedInvalidations;
+        synchronized (this) {
+            Cached<V> entry = entries.get(id);
+            if (entry != null && clock.getAsLong() - entry.loadedAt < ttlNanos) {
+                hits++;
+                return entry.entity.getValue();
+            }
+            if (entry != null) {
+                entries.remove(id);
+                stale = entry.entity.hasValidators() ? entry.entity : null;
+            }
+            loadedInvalidations = invalidations;
+        }
+
+        long loadedAt = clock.getAsLong();
+        Versioned<V> entity = loader.load(id, stale);
+
+        synchronized (this) {
+            if (entity != null && entity == stale) {
+                hits++;
+                revalidations++;
+            } else {
+                misses++;
+            }
+            if (entity != null && entity.getValue() != null && loadedInvalidations == invalidations) {
+                entries.put(id, new Cached<>(entity, loadedAt));
+            }
+        }
+        return entity != null ? entity.getValue() : null;
+    }
+
+    synchronized void invalidate(String id) {
+        invalidations++;
+        entries.remove(id);
+    }
+
+    synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, revalidations, evictions, entries.size());
+    }
+
+    /**
+     * Loads an entity, revalidating the cached version if it is passed.
+     *
+     * @see ConditionalGetClient#getIfModified
+     */
+    interface Loader<V> {
+
+        Versioned<V> load(String id, Versioned<V> cached);
+    }
+
+    private static final class Cached<V> {
+
+        private final Versioned<V> entity;
+        private final long loadedAt;
+
+        Cached(Versioned<V> entity, long loadedAt) {
+            this.entity = entity;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
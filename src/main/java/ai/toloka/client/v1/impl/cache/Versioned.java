@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache;
+
+/**
+ * Entity along with validators returned by the API in {@code ETag} and {@code Last-Modified} headers, if any.
+ */
+public final class Versioned<T> {
+
+    private final T value;
+    private final String etag;
+    private final String lastModified;
+
+    public Versioned(T value, String etag, String lastModified) {
+        this.value = value;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public static <T> Versioned<T> of(T value) {
+        return new Versioned<>(value, null, null);
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return whether the entity may be revalidated with a conditional request instead of being fetched again
+     */
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+}
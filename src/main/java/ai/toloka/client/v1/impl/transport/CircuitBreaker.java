@@ -0,0 +1,350 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import ai.toloka.client.v1.CircuitBreakerOpenException;
+
+/**
+ * Stops sending requests of an endpoint family (see {@link EndpointUtil#familyOf(java.net.URI)}) while the API fails
+ * to serve them.
+ *
+ * <p>Each family has its own circuit. A closed circuit passes requests and records outcomes of the last {@code
+ * windowSize} ones. Once at least {@code minimumCalls} are recorded and the share of failed ones (I/O errors and
+ * {@code 5xx} responses) reaches {@code failureRateThreshold}, or the share of ones slower than {@code
+ * slowCallDuration} reaches {@code slowCallRateThreshold}, the circuit opens.
+ *
+ * <p>An open circuit rejects requests with {@link CircuitBreakerOpenException} for {@code openDuration}, then becomes
+ * half-open and lets {@code halfOpenCalls} probe requests through. If all of them succeed the circuit closes,
+ * otherwise it opens again.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final long DEFAULT_SLOW_CALL_DURATION_MILLIS = 30 * 1000;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8;
+    public static final int DEFAULT_WINDOW_SIZE = 50;
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+    public static final long DEFAULT_OPEN_DURATION_MILLIS = 30 * 1000;
+    public static final int DEFAULT_HALF_OPEN_CALLS = 3;
+
+    private final double failureRateThreshold;
+    private final long slowCallDurationNanos;
+    private final double slowCallRateThreshold;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    private CircuitBreaker(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(builder.slowCallDurationMillis);
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls, builder.windowSize);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(builder.openDurationMillis);
+        this.halfOpenCalls = builder.halfOpenCalls;
+        this.clock = builder.clock;
+    }
+
+    public static Builder make() {
+        return new Builder();
+    }
+
+    public State getState(String family) {
+        Circuit circuit = circuits.get(family);
+        return circuit != null ? circuit.getState() : State.CLOSED;
+    }
+
+    /**
+     * Returns client which passes requests sent by the given one through the circuits.
+     */
+    public HttpClient protect(HttpClient httpClient) {
+        return new CircuitBreakingHttpClient(httpClient, this);
+    }
+
+    /**
+     * Returns client which passes exchanges started by the given one through the circuits.
+     */
+    public HttpAsyncClient protect(HttpAsyncClient httpAsyncClient) {
+        return new CircuitBreakingHttpAsyncClient(httpAsyncClient, this);
+    }
+
+    /**
+     * Lets a request of the family through.
+     *
+     * @return call to report the outcome of the request to
+     * @throws CircuitBreakerOpenException if the circuit of the family is open
+     */
+    Call enter(String family) {
+        Circuit circuit = circuits.computeIfAbsent(family, key -> new Circuit());
+        int generation = circuit.tryEnter();
+        if (generation < 0) {
+            throw new CircuitBreakerOpenException(family);
+        }
+        return new Call(circuit, generation);
+    }
+
+    /**
+     * Request which passed the circuit. Its outcome is recorded once, and only if the circuit has not changed its
+     * state since the request was let through.
+     */
+    final class Call {
+
+        private final Circuit circuit;
+        private final int generation;
+        private final long startedAt = clock.getAsLong();
+        private boolean recorded;
+
+        private Call(Circuit circuit, int generation) {
+            this.circuit = circuit;
+            this.generation = generation;
+        }
+
+        void succeeded(HttpResponse response) {
+            record(response.getStatusLine().getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        void failed() {
+            record(true);
+        }
+
+        /**
+         * Gives the slot of a probe request back without recording the outcome, e.g. if the request was cancelled.
+         */
+        synchronized void abandoned() {
+            if (recorded) {
+                return;
+            }
+            this.recorded = true;
+            circuit.abandon(generation);
+        }
+
+        private synchronized void record(boolean failed) {
+            if (recorded) {
+                return;
+            }
+            this.recorded = true;
+            circuit.record(generation, failed, clock.getAsLong() - startedAt >= slowCallDurationNanos);
+        }
+    }
+
+    private final class Circuit {
+
+        private static final byte FAILED = 1;
+        private static final byte SLOW = 2;
+
+        private final byte[] outcomes = new byte[windowSize];
+        private int recorded;
+        private int next;
+        private int failed;
+        private int slow;
+
+        private State state = State.CLOSED;
+        private int generation;
+        private long openedAt;
+        private int probesStarted;
+        private int probesSucceeded;
+
+        synchronized State getState() {
+            return state;
+        }
+
+        /**
+         * @return generation of the state the request was let through in, or {@code -1} if it was not
+         */
+        synchronized int tryEnter() {
+            switch (state) {
+                case CLOSED:
+                    return generation;
+                case OPEN:
+                    if (clock.getAsLong() - openedAt < openDurationNanos) {
+                        return -1;
+                    }
+                    moveTo(State.HALF_OPEN);
+                    this.probesStarted = 0;
+                    this.probesSucceeded = 0;
+                    return tryProbe();
+                default:
+                    return tryProbe();
+            }
+        }
+
+        private int tryProbe() {
+            if (probesStarted >= halfOpenCalls) {
+                return -1;
+            }
+            probesStarted++;
+            return generation;
+        }
+
+        synchronized void abandon(int callGeneration) {
+            if (callGeneration == generation && state == State.HALF_OPEN) {
+                probesStarted--;
+            }
+        }
+
+        synchronized void record(int callGeneration, boolean isFailed, boolean isSlow) {
+            if (callGeneration != generation) {
+                return;
+            }
+
+            if (state == State.HALF_OPEN) {
+                if (isFailed || isSlow) {
+                    open();
+                } else if (++probesSucceeded >= halfOpenCalls) {
+                    close();
+                }
+                return;
+            }
+            if (recorded == windowSize) {
+                byte evicted = outcomes[next];
+                failed -= evicted & FAILED;
+                slow -= (evicted & SLOW) >> 1;
+            } else {
+                recorded++;
+            }
+            byte outcome = (byte) ((isFailed ? FAILED : 0) | (isSlow ? SLOW : 0));
+            outcomes[next] = outcome;
+            next = (next + 1) % windowSize;
+            failed += outcome & FAILED;
+            slow += (outcome & SLOW) >> 1;
+
+            if (recorded >= minimumCalls
+                    && ((double) failed / recorded >= failureRateThreshold
+                    || (double) slow / recorded >= slowCallRateThreshold)) {
+                open();
+            }
+        }
+
+        private void open() {
+            moveTo(State.OPEN);
+            this.openedAt = clock.getAsLong();
+        }
+
+        private void close() {
+            moveTo(State.CLOSED);
+            this.recorded = 0;
+            this.next = 0;
+            this.failed = 0;
+            this.slow = 0;
+        }
+
+        private void moveTo(State newState) {
+            this.state = newState;
+            this.generation = (generation + 1) & Integer.MAX_VALUE;
+        }
+    }
+
+    public static class Builder {
+
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private long slowCallDurationMillis = DEFAULT_SLOW_CALL_DURATION_MILLIS;
+        private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        private long openDurationMillis = DEFAULT_OPEN_DURATION_MILLIS;
+        private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * @param failureRateThreshold share of failed requests opening the circuit, from 0 exclusive to 1
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = checkRate(failureRateThreshold, "Failure rate threshold");
+            return this;
+        }
+
+        /**
+         * @param slowCallDurationMillis duration since a request is sent till its response is received which makes
+         *                               the request slow
+         * @param slowCallRateThreshold  share of slow requests opening the circuit, from 0 exclusive to 1
+         */
+        public Builder slowCalls(long slowCallDurationMillis, double slowCallRateThreshold) {
+            this.slowCallDurationMillis = checkPositive(slowCallDurationMillis, "Slow call duration");
+            this.slowCallRateThreshold = checkRate(slowCallRateThreshold, "Slow call rate threshold");
+            return this;
+        }
+
+        /**
+         * @param windowSize   number of last requests which outcomes are considered
+         * @param minimumCalls number of requests to record before the circuit may open
+         */
+        public Builder window(int windowSize, int minimumCalls) {
+            this.windowSize = (int) checkPositive(windowSize, "Window size");
+            this.minimumCalls = (int) checkPositive(minimumCalls, "Minimum calls");
+            return this;
+        }
+
+        public Builder openDuration(long openDurationMillis) {
+            this.openDurationMillis = checkPositive(openDurationMillis, "Open duration");
+            return this;
+        }
+
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = (int) checkPositive(halfOpenCalls, "Half-open calls");
+            return this;
+        }
+
+        /**
+         * Replaces {@link System#nanoTime()} durations of requests and open circuits are measured by, e.g. in tests.
+         */
+        Builder clock(LongSupplier nanoTime) {
+            this.clock = nanoTime;
+            return this;
+        }
+
+        public CircuitBreaker done() {
+            return new CircuitBreaker(this);
+        }
+
+        private static double checkRate(double value, String name) {
+            if (value <= 0 || value > 1) {
+                throw new IllegalArgumentException(name + " should be greater than 0 and not greater than 1");
+            }
+            return value;
+        }
+
+        private static long checkPositive(long value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " should be positive");
+            }
+            return value;
+        }
+    }
+}
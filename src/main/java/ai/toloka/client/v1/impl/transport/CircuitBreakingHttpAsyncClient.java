@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import ai.toloka.client.v1.CircuitBreakerOpenException;
+
+/**
+ * Passes every exchange through the circuit of its endpoint family, see {@link CircuitBreaker}.
+ */
+class CircuitBreakingHttpAsyncClient extends DecoratingHttpAsyncClient {
+
+    private final CircuitBreaker breaker;
+
+    CircuitBreakingHttpAsyncClient(HttpAsyncClient delegate, CircuitBreaker breaker) {
+        super(delegate);
+        this.breaker = breaker;
+    }
+
+    @Override
+    void intercept(HttpRequest request, Exchange exchange, ExchangeFuture result) {
+        CircuitBreaker.Call call;
+        try {
+            call = breaker.enter(EndpointUtil.familyOf(request));
+        } catch (CircuitBreakerOpenException e) {
+            result.failed(e);
+            return;
+        }
+
+        boolean started = result.start(exchange, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                call.succeeded(response);
+                result.completed(response);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                call.failed();
+                result.failed(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                call.abandoned();
+                result.cancel();
+            }
+        });
+
+        if (!started) {
+            call.abandoned();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.IOException;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+
+/**
+ * Passes every request through the circuit of its endpoint family, see {@link CircuitBreaker}.
+ */
+class CircuitBreakingHttpClient extends DecoratingHttpClient {
+
+    private final CircuitBreaker breaker;
+
+    CircuitBreakingHttpClient(HttpClient delegate, CircuitBreaker breaker) {
+        super(delegate);
+        this.breaker = breaker;
+    }
+
+    @Override
+    HttpResponse intercept(HttpRequest request, Exchange exchange) throws IOException {
+        CircuitBreaker.Call call = breaker.enter(EndpointUtil.familyOf(request));
+        try {
+            HttpResponse response = exchange.execute();
+            call.succeeded(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            call.failed();
+            throw e;
+        }
+    }
+}
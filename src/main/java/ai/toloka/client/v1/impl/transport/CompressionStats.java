@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts bytes of request and response bodies before and after compression. Requests are counted when they are
+ * compressed by {@link ContentCompression}, responses when they are decoded by default clients of the factory.
+ */
+public class CompressionStats {
+
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong compressedRequestBytes = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong compressedResponseBytes = new AtomicLong();
+
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    public long getCompressedRequestBytes() {
+        return compressedRequestBytes.get();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    public long getCompressedResponseBytes() {
+        return compressedResponseBytes.get();
+    }
+
+    /**
+     * @return number of bytes not transferred thanks to compression of requests and responses
+     */
+    public long getSavedBytes() {
+        return getRequestBytes() - getCompressedRequestBytes() + getResponseBytes() - getCompressedResponseBytes();
+    }
+
+    void recordRequest(long bytes, long compressedBytes) {
+        requestBytes.addAndGet(bytes);
+        compressedRequestBytes.addAndGet(compressedBytes);
+    }
+
+    void recordResponse(long bytes) {
+        responseBytes.addAndGet(bytes);
+    }
+
+    void recordCompressedResponse(long compressedBytes) {
+        compressedResponseBytes.addAndGet(compressedBytes);
+    }
+}
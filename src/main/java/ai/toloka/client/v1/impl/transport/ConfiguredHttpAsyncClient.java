@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Non-blocking client exposing the default request config it was built with, which Apache non-blocking clients keep
+ * to themselves, so that {@link RequestOptions} may override its timeouts only.
+ */
+class ConfiguredHttpAsyncClient extends CloseableHttpAsyncClient implements Configurable {
+
+    private final CloseableHttpAsyncClient delegate;
+    private final RequestConfig config;
+
+    ConfiguredHttpAsyncClient(CloseableHttpAsyncClient delegate, RequestConfig config) {
+        this.delegate = delegate;
+        this.config = config;
+    }
+
+    @Override
+    public RequestConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return delegate.isRunning();
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+    }
+
+    @Override
+    public <T> Future<T> execute(HttpAsyncRequestProducer requestProducer,
+                                 HttpAsyncResponseConsumer<T> responseConsumer, HttpContext context,
+                                 FutureCallback<T> callback) {
+        return delegate.execute(requestProducer, responseConsumer, context, callback);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
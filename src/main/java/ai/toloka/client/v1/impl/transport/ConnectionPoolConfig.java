@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.protocol.HTTP;
+
+/**
+ * Connection pool settings of default http clients, see
+ * {@link DefaultHttpClientConfiguration#buildDefaultClient(String, CompressionStats, ConnectionPoolConfig)}.
+ *
+ * <p>Connections are kept alive for as long as the server allows in {@code Keep-Alive} header, but not longer than
+ * {@code keepAlive}. Blocking clients also check connections idle for {@code validateAfterInactivity} before reusing
+ * them, and close expired connections and connections idle for {@code maxIdle} in background, so that requests after
+ * idle periods do not fail on connections already closed by the server. Non-negative buffer sizes override system
+ * defaults.
+ */
+public final class ConnectionPoolConfig {
+
+    public static final int DEFAULT_MAX_CONNECTIONS = DefaultHttpClientConfiguration.DEFAULT_MAX_CONNECTIONS;
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 60 * 1000;
+    public static final long DEFAULT_MAX_IDLE_MILLIS = 30 * 1000;
+    public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS = 2 * 1000;
+    public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    public static final ConnectionPoolConfig DEFAULT = make().done();
+
+    private final int maxConnections;
+    private final int maxConnectionsPerRoute;
+    private final long keepAliveMillis;
+    private final long maxIdleMillis;
+    private final int validateAfterInactivityMillis;
+    private final boolean tcpNoDelay;
+    private final int socketSendBufferSize;
+    private final int socketReceiveBufferSize;
+    private final int bufferSize;
+
+    private ConnectionPoolConfig(Builder builder) {
+        this.maxConnections = builder.maxConnections;
+        this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        this.keepAliveMillis = builder.keepAliveMillis;
+        this.maxIdleMillis = builder.maxIdleMillis;
+        this.validateAfterInactivityMillis = builder.validateAfterInactivityMillis;
+        this.tcpNoDelay = builder.tcpNoDelay;
+        this.socketSendBufferSize = builder.socketSendBufferSize;
+        this.socketReceiveBufferSize = builder.socketReceiveBufferSize;
+        this.bufferSize = builder.bufferSize;
+    }
+
+    public static Builder make() {
+        return new Builder();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    public long getMaxIdleMillis() {
+        return maxIdleMillis;
+    }
+
+    public int getValidateAfterInactivityMillis() {
+        return validateAfterInactivityMillis;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public int getSocketSendBufferSize() {
+        return socketSendBufferSize;
+    }
+
+    public int getSocketReceiveBufferSize() {
+        return socketReceiveBufferSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns keep-alive duration of a connection: the timeout from {@code Keep-Alive} header of the response capped
+     * by {@code keepAlive}.
+     */
+    ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (response, context) -> Math.min(keepAliveMillis, serverKeepAliveMillis(response));
+    }
+
+    private static long serverKeepAliveMillis(HttpResponse response) {
+        HeaderElementIterator iterator = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+        while (iterator.hasNext()) {
+            HeaderElement element = iterator.nextElement();
+            if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                try {
+                    return Long.parseLong(element.getValue().trim()) * 1000;
+                } catch (NumberFormatException ignored) {
+                    // malformed timeout is the same as no timeout
+                }
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public static class Builder {
+
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS;
+        private long keepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS;
+        private long maxIdleMillis = DEFAULT_MAX_IDLE_MILLIS;
+        private int validateAfterInactivityMillis = DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS;
+        private boolean tcpNoDelay = true;
+        private int socketSendBufferSize = -1;
+        private int socketReceiveBufferSize = -1;
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxConnections         connections to all hosts
+         * @param maxConnectionsPerRoute connections to a single host, e.g. to Toloka API
+         */
+        public Builder maxConnections(int maxConnections, int maxConnectionsPerRoute) {
+            this.maxConnections = (int) checkPositive(maxConnections, "Max connections");
+            this.maxConnectionsPerRoute = (int) checkPositive(maxConnectionsPerRoute, "Max connections per route");
+            return this;
+        }
+
+        public Builder keepAlive(long keepAliveMillis) {
+            this.keepAliveMillis = checkPositive(keepAliveMillis, "Keep-alive");
+            return this;
+        }
+
+        /**
+         * @param maxIdleMillis idle time after which blocking clients close a connection, also the interval between
+         *                      checks of idle and expired connections
+         */
+        public Builder maxIdle(long maxIdleMillis) {
+            this.maxIdleMillis = checkPositive(maxIdleMillis, "Max idle time");
+            return this;
+        }
+
+        /**
+         * @param validateAfterInactivityMillis idle time after which blocking clients check a connection before
+         *                                      reusing it, non-positive value disables checks
+         */
+        public Builder validateAfterInactivity(int validateAfterInactivityMillis) {
+            this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+            return this;
+        }
+
+        public Builder tcpNoDelay(boolean tcpNoDelay) {
+            this.tcpNoDelay = tcpNoDelay;
+            return this;
+        }
+
+        /**
+         * @param sendBufferSize    {@code SO_SNDBUF} of sockets, negative value keeps the system default
+         * @param receiveBufferSize {@code SO_RCVBUF} of sockets, negative value keeps the system default
+         */
+        public Builder socketBufferSizes(int sendBufferSize, int receiveBufferSize) {
+            this.socketSendBufferSize = sendBufferSize;
+            this.socketReceiveBufferSize = receiveBufferSize;
+            return this;
+        }
+
+        /**
+         * @param bufferSize size of buffers connections read and write messages through
+         */
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = (int) checkPositive(bufferSize, "Buffer size");
+            return this;
+        }
+
+        public ConnectionPoolConfig done() {
+            return new ConnectionPoolConfig(this);
+        }
+
+        private static long checkPositive(long value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " should be positive");
+            }
+            return value;
+        }
+    }
+}
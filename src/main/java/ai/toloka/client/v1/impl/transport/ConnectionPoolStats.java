@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Snapshot of a connection pool: connections leased by requests, kept alive for reuse and requests waiting for a
+ * connection, in total and per route. Pending requests mean the pool is too small for the load, e.g. its per route
+ * limit, see {@link ConnectionPoolConfig.Builder#maxConnections(int, int)}.
+ */
+public final class ConnectionPoolStats {
+
+    private final PoolStats total;
+    private final Map<String, PoolStats> routes;
+
+    private ConnectionPoolStats(PoolStats total, Map<String, PoolStats> routes) {
+        this.total = total;
+        this.routes = Collections.unmodifiableMap(routes);
+    }
+
+    public static ConnectionPoolStats of(PoolingHttpClientConnectionManager connectionManager) {
+        return of(connectionManager, connectionManager.getRoutes());
+    }
+
+    public static ConnectionPoolStats of(PoolingNHttpClientConnectionManager connectionManager) {
+        return of(connectionManager, connectionManager.getRoutes());
+    }
+
+    private static ConnectionPoolStats of(ConnPoolControl<HttpRoute> pool, Set<HttpRoute> routes) {
+        Map<String, PoolStats> routeStats = new LinkedHashMap<>();
+        for (HttpRoute route : routes) {
+            routeStats.put(route.getTargetHost().toURI(), pool.getStats(route));
+        }
+        return new ConnectionPoolStats(pool.getTotalStats(), routeStats);
+    }
+
+    public PoolStats getTotal() {
+        return total;
+    }
+
+    /**
+     * @return stats per target host, e.g. {@code https://toloka.dev:443}
+     */
+    public Map<String, PoolStats> getRoutes() {
+        return routes;
+    }
+
+    public int getLeased() {
+        return total.getLeased();
+    }
+
+    public int getAvailable() {
+        return total.getAvailable();
+    }
+
+    public int getPending() {
+        return total.getPending();
+    }
+
+    public int getMax() {
+        return total.getMax();
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStats{total=" + total + ", routes=" + routes + '}';
+    }
+}
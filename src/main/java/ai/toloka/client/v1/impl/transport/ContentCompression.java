@@ -0,0 +1,282 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.message.BasicHeader;
+
+import ai.toloka.client.v1.TolokaRequestIOException;
+
+/**
+ * Gzip compression of request bodies and decoding of compressed responses.
+ *
+ * <p>As a request consumer it compresses bodies of at least {@code threshold} bytes and bodies of unknown length.
+ * Bodies of known length are compressed at once, so the request keeps its {@code Content-Length}; streamed ones are
+ * compressed while being written.
+ */
+public class ContentCompression implements Consumer<HttpRequestBase> {
+
+    public static final int DEFAULT_THRESHOLD = 4 * 1024;
+
+    public static final String GZIP_ENCODING = "gzip";
+    public static final String ACCEPTED_ENCODINGS = "gzip,deflate";
+
+    private static final int STREAMING_BUFFER_SIZE = 16 * 1024;
+    private static final String ENCODED_RESPONSE_ATTRIBUTE = ContentCompression.class.getName() + ".encoded";
+
+    private final int threshold;
+    private final CompressionStats stats;
+
+    public ContentCompression(int threshold, CompressionStats stats) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Compression threshold may not be negative");
+        }
+
+        this.threshold = threshold;
+        this.stats = stats;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public void accept(HttpRequestBase request) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return;
+        }
+
+        HttpEntityEnclosingRequest enclosingRequest = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = enclosingRequest.getEntity();
+        if (entity == null || entity.getContentEncoding() != null) {
+            return;
+        }
+
+        long length = entity.getContentLength();
+        if (length >= 0 && length < threshold) {
+            return;
+        }
+
+        try {
+            enclosingRequest.setEntity(length >= 0 && entity.isRepeatable()
+                    ? compressBuffered(entity)
+                    : new GzipStreamingEntity(entity, stats));
+        } catch (IOException e) {
+            throw new TolokaRequestIOException(e);
+        }
+    }
+
+    /**
+     * Decodes gzip or deflate encoded response entity, used for non-blocking clients which do not decode content.
+     */
+    public static HttpResponse decode(HttpResponse response, CompressionStats stats) {
+        HttpEntity entity = response.getEntity();
+        if (entity == null || entity.getContentEncoding() == null) {
+            return response;
+        }
+
+        String encoding = entity.getContentEncoding().getValue().toLowerCase(Locale.ROOT).trim();
+        HttpEntity counted = new CountingEntity(entity, stats::recordCompressedResponse);
+        if (GZIP_ENCODING.equals(encoding) || "x-gzip".equals(encoding)) {
+            response.setEntity(new CountingEntity(new GzipDecompressingEntity(counted), stats::recordResponse));
+        } else if ("deflate".equals(encoding)) {
+            response.setEntity(new CountingEntity(new DeflateDecompressingEntity(counted), stats::recordResponse));
+        } else {
+            return response;
+        }
+
+        response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+        response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+        return response;
+    }
+
+    /**
+     * Counts compressed bytes of a response before it is decoded by the client, added to the head of response
+     * interceptors.
+     */
+    static HttpResponseInterceptor countEncodedResponses(CompressionStats stats) {
+        return (response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.getContentEncoding() != null) {
+                context.setAttribute(ENCODED_RESPONSE_ATTRIBUTE, Boolean.TRUE);
+                response.setEntity(new CountingEntity(entity, stats::recordCompressedResponse));
+            }
+        };
+    }
+
+    /**
+     * Counts decoded bytes of responses marked by {@link #countEncodedResponses}, added to the tail of response
+     * interceptors.
+     */
+    static HttpResponseInterceptor countDecodedResponses(CompressionStats stats) {
+        return (response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && context.removeAttribute(ENCODED_RESPONSE_ATTRIBUTE) != null) {
+                response.setEntity(new CountingEntity(entity, stats::recordResponse));
+            }
+        };
+    }
+
+    static Header acceptEncodingHeader() {
+        return new BasicHeader(HttpHeaders.ACCEPT_ENCODING, ACCEPTED_ENCODINGS);
+    }
+
+    private HttpEntity compressBuffered(HttpEntity entity) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            entity.writeTo(gzip);
+        }
+        stats.recordRequest(entity.getContentLength(), compressed.size());
+
+        ByteArrayEntity result = new ByteArrayEntity(compressed.toByteArray());
+        result.setContentType(entity.getContentType());
+        result.setContentEncoding(GZIP_ENCODING);
+        return result;
+    }
+
+    private static class GzipStreamingEntity extends HttpEntityWrapper {
+
+        private final CompressionStats stats;
+
+        GzipStreamingEntity(HttpEntity entity, CompressionStats stats) {
+            super(entity);
+            this.stats = stats;
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            return new BasicHeader(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public boolean isChunked() {
+            return true;
+        }
+
+        /**
+         * Returns the body being compressed on another thread while the stream is read.
+         */
+        @Override
+        public InputStream getContent() {
+            return EntityPipe.open(this::writeTo, STREAMING_BUFFER_SIZE);
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            CountingOutputStream compressed = new CountingOutputStream(outStream);
+            GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+            CountingOutputStream plain = new CountingOutputStream(gzip);
+            wrappedEntity.writeTo(plain);
+            gzip.finish();
+            gzip.flush();
+            stats.recordRequest(plain.count, compressed.count);
+        }
+    }
+
+    private static class CountingEntity extends HttpEntityWrapper {
+
+        private final LongConsumer counter;
+
+        CountingEntity(HttpEntity entity, LongConsumer counter) {
+            super(entity);
+            this.counter = counter;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(wrappedEntity.getContent()) {
+
+                @Override
+                public int read() throws IOException {
+                    int value = super.read();
+                    if (value >= 0) {
+                        counter.accept(1);
+                    }
+                    return value;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        counter.accept(read);
+                    }
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            CountingOutputStream counting = new CountingOutputStream(outStream);
+            wrappedEntity.writeTo(counting);
+            counter.accept(counting.count);
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            out.write(value);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void close() {
+            // the underlying stream belongs to the caller
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.concurrent.Future;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Base of clients adding behaviour around every exchange of the wrapped one. All variants of {@code execute} taking
+ * a request are funneled to {@link #intercept}. Exchanges with custom request producers are passed as is, since their
+ * requests are not known in advance. Default request config of the wrapped one is exposed if it has any.
+ */
+abstract class DecoratingHttpAsyncClient implements HttpAsyncClient, Configurable {
+
+    protected final HttpAsyncClient delegate;
+
+    DecoratingHttpAsyncClient(HttpAsyncClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Starts the exchange of the request, possibly several times, and reports the final outcome to the result.
+     */
+    abstract void intercept(HttpRequest request, Exchange exchange, ExchangeFuture result);
+
+    @Override
+    public <T> Future<T> execute(HttpAsyncRequestProducer requestProducer,
+                                 HttpAsyncResponseConsumer<T> responseConsumer, HttpContext context,
+                                 FutureCallback<T> callback) {
+        return delegate.execute(requestProducer, responseConsumer, context, callback);
+    }
+
+    @Override
+    public <T> Future<T> execute(HttpAsyncRequestProducer requestProducer,
+                                 HttpAsyncResponseConsumer<T> responseConsumer, FutureCallback<T> callback) {
+        return delegate.execute(requestProducer, responseConsumer, callback);
+    }
+
+    @Override
+    public Future<HttpResponse> execute(HttpHost target, HttpRequest request, HttpContext context,
+                                        FutureCallback<HttpResponse> callback) {
+        ExchangeFuture result = new ExchangeFuture(callback);
+        intercept(request, exchangeCallback -> delegate.execute(target, request, context, exchangeCallback), result);
+        return result;
+    }
+
+    @Override
+    public Future<HttpResponse> execute(HttpHost target, HttpRequest request, FutureCallback<HttpResponse> callback) {
+        return execute(target, request, null, callback);
+    }
+
+    @Override
+    public Future<HttpResponse> execute(HttpUriRequest request, HttpContext context,
+                                        FutureCallback<HttpResponse> callback) {
+        ExchangeFuture result = new ExchangeFuture(callback);
+        intercept(request, exchangeCallback -> delegate.execute(request, context, exchangeCallback), result);
+        return result;
+    }
+
+    @Override
+    public Future<HttpResponse> execute(HttpUriRequest request, FutureCallback<HttpResponse> callback) {
+        return execute(request, null, callback);
+    }
+
+    @Override
+    public RequestConfig getConfig() {
+        return delegate instanceof Configurable ? ((Configurable) delegate).getConfig() : null;
+    }
+
+    interface Exchange {
+
+        Future<HttpResponse> start(FutureCallback<HttpResponse> callback);
+    }
+
+    /**
+     * Result of an intercepted exchange. Cancelling it cancels the exchange started last.
+     */
+    static class ExchangeFuture extends BasicFuture<HttpResponse> {
+
+        private volatile Future<HttpResponse> current;
+
+        ExchangeFuture(FutureCallback<HttpResponse> callback) {
+            super(callback);
+        }
+
+        /**
+         * Starts the exchange unless this future is already done.
+         *
+         * @return {@code false} if the exchange was not started
+         */
+        boolean start(Exchange exchange, FutureCallback<HttpResponse> exchangeCallback) {
+            if (isDone()) {
+                return false;
+            }
+
+            try {
+                this.current = exchange.start(exchangeCallback);
+            } catch (RuntimeException e) {
+                exchangeCallback.failed(e);
+                return true;
+            }
+
+            Future<HttpResponse> started = current;
+            if (isCancelled() && started != null) {
+                started.cancel(true);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<HttpResponse> started = current;
+            if (cancelled && started != null) {
+                started.cancel(mayInterruptIfRunning);
+            }
+            return cancelled;
+        }
+    }
+}
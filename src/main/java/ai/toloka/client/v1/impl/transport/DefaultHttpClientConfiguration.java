@@ -17,16 +17,34 @@
 package ai.toloka.client.v1.impl.transport;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.http.Header;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.nio.reactor.IOReactorException;
 
 import static java.util.Collections.singletonList;
 
@@ -38,6 +56,8 @@ public class DefaultHttpClientConfiguration {
     public static final int DEFAULT_CONNECTION_TIMEOUT = 10 * 1000;
     public static final int DEFAULT_SOCKET_TIMEOUT = 120 * 1000;
     public static final int DEFAULT_MAX_CONNECTIONS = 100;
+    public static final int DEFAULT_EXECUTOR_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    public static final long DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS = 60;
 
     public static final String AUTHORIZATION_HEADER_NAME = "Authorization";
     public static final String AUTHORIZATION_OAUTH_HEADER_FORMAT = "OAuth %s";
@@ -47,15 +67,165 @@ public class DefaultHttpClientConfiguration {
     public static final String USER_AGENT_FORMAT = "toloka-java-sdk/%s";
 
     public static HttpClient buildDefaultClient(String tokenOrKey) {
+        return buildDefaultClient(tokenOrKey, new CompressionStats());
+    }
+
+    /**
+     * Builds blocking client which decodes compressed responses and counts their size before and after decoding.
+     */
+    public static HttpClient buildDefaultClient(String tokenOrKey, CompressionStats compressionStats) {
+        return buildDefaultClient(tokenOrKey, compressionStats, ConnectionPoolConfig.DEFAULT);
+    }
+
+    /**
+     * Builds blocking client which decodes compressed responses and counts their size before and after decoding.
+     * Connections are pooled according to the config, expired and idle ones are closed by a daemon thread.
+     */
+    public static CloseableHttpClient buildDefaultClient(String tokenOrKey, CompressionStats compressionStats,
+                                                         ConnectionPoolConfig poolConfig) {
+        return buildDefaultClient(tokenOrKey, compressionStats, poolConfig, buildDefaultConnectionManager(poolConfig));
+    }
+
+    /**
+     * Builds blocking client as {@link #buildDefaultClient(String, CompressionStats, ConnectionPoolConfig)} does with
+     * the given connection manager, e.g. to watch its stats. The manager is shut down when the client is closed.
+     */
+    public static CloseableHttpClient buildDefaultClient(String tokenOrKey, CompressionStats compressionStats,
+                                                         ConnectionPoolConfig poolConfig,
+                                                         PoolingHttpClientConnectionManager connectionManager) {
         return HttpClientBuilder.create()
-                .setMaxConnTotal(DEFAULT_MAX_CONNECTIONS)
-                .setMaxConnPerRoute(DEFAULT_MAX_CONNECTIONS)
+                .addInterceptorFirst(ContentCompression.countEncodedResponses(compressionStats))
+                .addInterceptorLast(ContentCompression.countDecodedResponses(compressionStats))
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(poolConfig.keepAliveStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(poolConfig.getMaxIdleMillis(), TimeUnit.MILLISECONDS)
                 .setDefaultRequestConfig(getDefaultRequestConfig())
                 .setUserAgent(getUserAgent())
                 .setDefaultHeaders(singletonList(getDefaultAuthorizationHeader(tokenOrKey)))
                 .build();
     }
 
+    /**
+     * Builds connection manager of default blocking client pooling connections according to the config.
+     */
+    public static PoolingHttpClientConnectionManager buildDefaultConnectionManager(ConnectionPoolConfig poolConfig) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(poolConfig.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(poolConfig.getMaxConnectionsPerRoute());
+        connectionManager.setValidateAfterInactivity(poolConfig.getValidateAfterInactivityMillis());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setTcpNoDelay(poolConfig.isTcpNoDelay())
+                .setSndBufSize(Math.max(0, poolConfig.getSocketSendBufferSize()))
+                .setRcvBufSize(Math.max(0, poolConfig.getSocketReceiveBufferSize()))
+                .build());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setBufferSize(poolConfig.getBufferSize())
+                .build());
+        return connectionManager;
+    }
+
+    /**
+     * Builds non-blocking client with the same limits, timeouts and default headers as
+     * {@link #buildDefaultClient(String)}. I/O dispatcher threads are daemons, so the client does not prevent JVM
+     * shutdown. Compressed responses are accepted, they are decoded by the SDK, see
+     * {@link ContentCompression#decode}. Returned client is not started yet.
+     */
+    public static CloseableHttpAsyncClient buildDefaultAsyncClient(String tokenOrKey) {
+        return buildDefaultAsyncClient(tokenOrKey, ConnectionPoolConfig.DEFAULT);
+    }
+
+    /**
+     * Builds non-blocking client as {@link #buildDefaultAsyncClient(String)} does with connections pooled according
+     * to the config. Idle connections closed by the server are noticed by the I/O reactor, so they are not evicted in
+     * background.
+     */
+    public static CloseableHttpAsyncClient buildDefaultAsyncClient(String tokenOrKey,
+                                                                   ConnectionPoolConfig poolConfig) {
+        return buildDefaultAsyncClient(tokenOrKey, poolConfig, buildDefaultAsyncConnectionManager(poolConfig));
+    }
+
+    /**
+     * Builds non-blocking client as {@link #buildDefaultAsyncClient(String, ConnectionPoolConfig)} does with the given
+     * connection manager, e.g. to watch its stats. The manager is shut down when the client is closed.
+     */
+    public static CloseableHttpAsyncClient buildDefaultAsyncClient(String tokenOrKey, ConnectionPoolConfig poolConfig,
+                                                                   PoolingNHttpClientConnectionManager
+                                                                           connectionManager) {
+        RequestConfig config = getDefaultRequestConfig();
+        return new ConfiguredHttpAsyncClient(HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(poolConfig.keepAliveStrategy())
+                .setThreadFactory(daemonThreadFactory("toloka-async-reactor"))
+                .setDefaultRequestConfig(config)
+                .setUserAgent(getUserAgent())
+                .setDefaultHeaders(
+                        List.of(getDefaultAuthorizationHeader(tokenOrKey), ContentCompression.acceptEncodingHeader()))
+                .build(), config);
+    }
+
+    /**
+     * Builds connection manager of default non-blocking client pooling connections according to the config. Its I/O
+     * dispatcher threads are daemons.
+     */
+    public static PoolingNHttpClientConnectionManager buildDefaultAsyncConnectionManager(
+            ConnectionPoolConfig poolConfig) {
+        IOReactorConfig reactorConfig = IOReactorConfig.custom()
+                .setTcpNoDelay(poolConfig.isTcpNoDelay())
+                .setSndBufSize(Math.max(0, poolConfig.getSocketSendBufferSize()))
+                .setRcvBufSize(Math.max(0, poolConfig.getSocketReceiveBufferSize()))
+                .build();
+
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(reactorConfig, daemonThreadFactory("toloka-async-io")));
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("Unable to initialize I/O reactor", e);
+        }
+        connectionManager.setMaxTotal(poolConfig.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(poolConfig.getMaxConnectionsPerRoute());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setBufferSize(poolConfig.getBufferSize())
+                .build());
+        return connectionManager;
+    }
+
+    /**
+     * Builds JDK client for {@link JdkHttpTransport} preferring HTTP/2, with the same connect timeout as default
+     * Apache clients.
+     */
+    public static java.net.http.HttpClient buildDefaultJdkClient() {
+        return java.net.http.HttpClient.newBuilder()
+                .version(java.net.http.HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(DEFAULT_CONNECTION_TIMEOUT))
+                .build();
+    }
+
+    /**
+     * Builds executor shared by all clients of a factory for short tasks: parsing responses of non-blocking clients
+     * and starting governed or retried exchanges. At most {@link #DEFAULT_EXECUTOR_THREADS} daemon threads are
+     * running, idle ones are stopped after {@link #DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS}, extra tasks are queued.
+     */
+    public static ExecutorService buildDefaultExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_EXECUTOR_THREADS, DEFAULT_EXECUTOR_THREADS,
+                DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                daemonThreadFactory("toloka-client-worker"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Builds executor shared by all clients of a factory for tasks which block for long: fetching pages of prefetching
+     * and partitioned streams and uploading chunks. A daemon thread is started for each task unless an idle one is
+     * left, idle ones are stopped after {@link #DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS}. Tasks are never queued, so ones
+     * waiting for each other, like a stream read by a task of another stream, can not starve.
+     */
+    public static ExecutorService buildDefaultBlockingExecutor() {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), daemonThreadFactory("toloka-client-blocking"));
+    }
+
     public static RequestConfig getDefaultRequestConfig() {
         return RequestConfig.custom()
                 .setConnectTimeout(DEFAULT_CONNECTION_TIMEOUT)
@@ -119,6 +289,15 @@ public class DefaultHttpClientConfiguration {
         return false;
     }
 
+    private static ThreadFactory daemonThreadFactory(final String namePrefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     private static String getVersion() {
         String version = DefaultHttpClientConfiguration.class.getPackage().getImplementationVersion();
         return null == version ? "undefined" : version;
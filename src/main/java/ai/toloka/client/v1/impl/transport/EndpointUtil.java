@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.net.URI;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.HttpUriRequest;
+
+public final class EndpointUtil {
+
+    public static final String UNKNOWN_FAMILY = "other";
+
+    public static final String ID_PLACEHOLDER = "{id}";
+
+    private static final Pattern VERSION_SEGMENT = Pattern.compile("v\\d+");
+    private static final Pattern ID_SEGMENT = Pattern.compile(".*\\d.*");
+
+    private EndpointUtil() {
+    }
+
+    /**
+     * Returns endpoint family of the request: the first path segment after the API version, e.g. {@code tasks} for
+     * {@code /api/v1/tasks/123} or {@code operations} for {@code /api/v1/operations/456/log}.
+     */
+    public static String familyOf(URI uri) {
+        String path = uri.getRawPath();
+        if (path == null) {
+            return UNKNOWN_FAMILY;
+        }
+
+        String[] segments = path.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (VERSION_SEGMENT.matcher(segments[i]).matches() && !segments[i + 1].isEmpty()) {
+                return segments[i + 1];
+            }
+        }
+        return UNKNOWN_FAMILY;
+    }
+
+    public static String familyOf(String uri) {
+        return familyOf(URI.create(uri));
+    }
+
+    public static String familyOf(HttpRequest request) {
+        return request instanceof HttpUriRequest
+                ? familyOf(((HttpUriRequest) request).getURI())
+                : familyOf(request.getRequestLine().getUri());
+    }
+
+    /**
+     * Returns endpoint template of the request: the path after the API version with identifiers replaced by {@value
+     * #ID_PLACEHOLDER}, e.g. {@code tasks/{id}} for {@code /api/v1/tasks/123} or {@code operations/{id}/log} for
+     * {@code /api/v1/operations/456/log}. Segments containing digits are taken for identifiers.
+     */
+    public static String templateOf(URI uri) {
+        String path = uri.getRawPath();
+        if (path == null) {
+            return UNKNOWN_FAMILY;
+        }
+
+        String[] segments = path.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (VERSION_SEGMENT.matcher(segments[i]).matches() && !segments[i + 1].isEmpty()) {
+                StringJoiner template = new StringJoiner("/");
+                for (int j = i + 1; j < segments.length; j++) {
+                    template.add(ID_SEGMENT.matcher(segments[j]).matches() ? ID_PLACEHOLDER : segments[j]);
+                }
+                return template.toString();
+            }
+        }
+        return UNKNOWN_FAMILY;
+    }
+}
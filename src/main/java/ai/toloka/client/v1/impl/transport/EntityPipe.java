@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input stream of content which can only be written to a stream, like streaming entities. The content is written on
+ * another thread while the stream is read, at most a few buffers of output are held in memory. Errors of writing are
+ * thrown to the reader at the end of written output. Closing the stream makes the writer fail and stop.
+ */
+final class EntityPipe extends InputStream {
+
+    private static final int MAX_BUFFERED_CHUNKS = 2;
+    private static final long CLOSE_CHECK_INTERVAL_MILLIS = 100;
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(MAX_BUFFERED_CHUNKS);
+
+    private byte[] current = new byte[0];
+    private int position;
+
+    private volatile IOException error;
+    private volatile boolean closed;
+
+    private EntityPipe() {
+    }
+
+    /**
+     * Writes the content on a new daemon thread.
+     */
+    static InputStream open(Content content, int bufferSize) {
+        return open(content, bufferSize, runnable -> {
+            Thread thread = new Thread(runnable, "toloka-entity-writer");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * @param bufferSize size of chunks written output is passed to the reader in
+     * @param executor   runs writing of the content, which blocks until the output is read
+     */
+    static InputStream open(Content content, int bufferSize, Executor executor) {
+        EntityPipe pipe = new EntityPipe();
+        executor.execute(() -> pipe.write(content, bufferSize));
+        return pipe;
+    }
+
+    private void write(Content content, int bufferSize) {
+        try (OutputStream out = new BufferedOutputStream(new Sink(), bufferSize)) {
+            content.writeTo(out);
+        } catch (IOException e) {
+            this.error = e;
+        } catch (RuntimeException e) {
+            this.error = new IOException("Failed to write content", e);
+        } finally {
+            try {
+                put(END);
+            } catch (IOException e) {
+                // closed by the reader, nobody waits for the end
+            }
+        }
+    }
+
+    private void put(byte[] chunk) throws IOException {
+        if (closed) {
+            throw new IOException("Pipe is closed by the reader");
+        }
+        try {
+            while (!chunks.offer(chunk, CLOSE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    throw new IOException("Pipe is closed by the reader");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing content");
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (closed) {
+            throw new IOException("Pipe is closed");
+        }
+        while (current != END && position == current.length) {
+            try {
+                current = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading content");
+            }
+            position = 0;
+        }
+        if (current == END && error != null) {
+            throw error;
+        }
+        return current != END;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return fill() ? current[position++] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current.length - position;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        chunks.clear();
+    }
+
+    /**
+     * Content written to a stream, e.g. {@link org.apache.http.HttpEntity#writeTo(OutputStream)}.
+     */
+    interface Content {
+
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private final class Sink extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                put(Arrays.copyOfRange(b, off, off + len));
+            }
+        }
+    }
+}
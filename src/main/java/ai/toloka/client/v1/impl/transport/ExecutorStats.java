@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Snapshot of an executor. Known for {@link ThreadPoolExecutor} and {@link ForkJoinPool}, values not known for an
+ * executor are -1.
+ */
+public final class ExecutorStats {
+
+    private final int poolSize;
+    private final int activeThreads;
+    private final long queuedTasks;
+    private final long completedTasks;
+
+    private ExecutorStats(int poolSize, int activeThreads, long queuedTasks, long completedTasks) {
+        this.poolSize = poolSize;
+        this.activeThreads = activeThreads;
+        this.queuedTasks = queuedTasks;
+        this.completedTasks = completedTasks;
+    }
+
+    public static ExecutorStats of(ExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            return new ExecutorStats(pool.getPoolSize(), pool.getActiveCount(), pool.getQueue().size(),
+                    pool.getCompletedTaskCount());
+        }
+        if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            return new ExecutorStats(pool.getPoolSize(), pool.getActiveThreadCount(),
+                    pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount(), -1);
+        }
+        return new ExecutorStats(-1, -1, -1, -1);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    /**
+     * @return tasks waiting for a thread, growing queue means the executor is too small for the load
+     */
+    public long getQueuedTasks() {
+        return queuedTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorStats{poolSize=" + poolSize + ", activeThreads=" + activeThreads
+                + ", queuedTasks=" + queuedTasks + ", completedTasks=" + completedTasks + '}';
+    }
+}
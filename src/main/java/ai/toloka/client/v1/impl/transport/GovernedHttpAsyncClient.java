@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import ai.toloka.client.v1.RequestThrottledException;
+
+/**
+ * Takes a permit of {@link RequestGovernor} before every exchange and releases it once the exchange is complete.
+ * Exchanges which have to wait for a permit are queued by the governor without occupying a thread and are started
+ * from the executor once the permit is handed to them, so neither the caller nor the executor is blocked.
+ */
+class GovernedHttpAsyncClient extends DecoratingHttpAsyncClient {
+
+    private final RequestGovernor governor;
+    private final Executor executor;
+
+    GovernedHttpAsyncClient(HttpAsyncClient delegate, RequestGovernor governor, Executor executor) {
+        super(delegate);
+        this.governor = governor;
+        this.executor = executor;
+    }
+
+    @Override
+    void intercept(HttpRequest request, Exchange exchange, ExchangeFuture result) {
+        String family = EndpointUtil.familyOf(request);
+
+        if (governor.getPolicy() == RequestGovernor.Policy.FAIL_FAST) {
+            RequestGovernor.Permit permit = governor.tryAcquire(family);
+            if (permit != null) {
+                start(exchange, result, permit);
+            } else {
+                result.failed(new RequestThrottledException("Request budget of " + family + " is exhausted"));
+            }
+            return;
+        }
+
+        Thread caller = Thread.currentThread();
+        governor.acquire(family, permit -> {
+            if (Thread.currentThread() == caller) {
+                start(exchange, result, permit);
+                return;
+            }
+            try {
+                executor.execute(() -> start(exchange, result, permit));
+            } catch (RejectedExecutionException e) {
+                permit.release();
+                result.failed(e);
+            }
+        });
+    }
+
+    private static void start(Exchange exchange, ExchangeFuture result, RequestGovernor.Permit permit) {
+        boolean started = result.start(exchange, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                permit.release();
+                result.completed(response);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                permit.release();
+                result.failed(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                permit.release();
+                result.cancel();
+            }
+        });
+
+        if (!started) {
+            permit.release();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.EofSensorInputStream;
+import org.apache.http.conn.EofSensorWatcher;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Takes a permit of {@link RequestGovernor} before every request and holds it until the response is read or closed.
+ */
+class GovernedHttpClient extends DecoratingHttpClient {
+
+    private final RequestGovernor governor;
+
+    GovernedHttpClient(HttpClient delegate, RequestGovernor governor) {
+        super(delegate);
+        this.governor = governor;
+    }
+
+    @Override
+    HttpResponse intercept(HttpRequest request, Exchange exchange) throws IOException {
+        RequestGovernor.Permit permit = governor.acquire(EndpointUtil.familyOf(request));
+
+        HttpResponse response;
+        try {
+            response = exchange.execute();
+        } catch (IOException | RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            permit.release();
+        } else {
+            response.setEntity(new PermitReleasingEntity(entity, permit));
+        }
+        return response;
+    }
+
+    private static class PermitReleasingEntity extends HttpEntityWrapper implements EofSensorWatcher {
+
+        private final RequestGovernor.Permit permit;
+
+        PermitReleasingEntity(HttpEntity entity, RequestGovernor.Permit permit) {
+            super(entity);
+            this.permit = permit;
+        }
+
+        /**
+         * Entity holds the permit, so it has to be consumed even if its content is already in memory.
+         */
+        @Override
+        public boolean isStreaming() {
+            return true;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new EofSensorInputStream(wrappedEntity.getContent(), this);
+        }
+
+        @Override
+        public void writeTo(OutputStream outStream) throws IOException {
+            try {
+                wrappedEntity.writeTo(outStream);
+            } finally {
+                permit.release();
+            }
+        }
+
+        @Override
+        public boolean eofDetected(InputStream wrapped) throws IOException {
+            wrapped.close();
+            permit.release();
+            return false;
+        }
+
+        @Override
+        public boolean streamClosed(InputStream wrapped) throws IOException {
+            try {
+                wrapped.close();
+            } finally {
+                permit.release();
+            }
+            return false;
+        }
+
+        @Override
+        public boolean streamAbort(InputStream wrapped) throws IOException {
+            permit.release();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * JDK-backed adapter sending requests of Toloka clients with JDK {@link java.net.http.HttpClient} instead of Apache
+ * HttpClient. The JDK client negotiates HTTP/2, so concurrent requests of blocking and non-blocking clients are
+ * multiplexed over a few connections to the API.
+ *
+ * <p>The adapter exposes the JDK client as blocking and non-blocking clients accepted by the client factory:
+ * <pre>{@code
+ * JdkHttpTransport transport = new JdkHttpTransport(tokenOrKey);
+ * TolokaClientFactoryImpl factory = new TolokaClientFactoryImpl(url, transport.getHttpClient(),
+ *         transport.getHttpAsyncClient());
+ * }</pre>
+ *
+ * <p>Only the parts of the Apache client api used by Toloka clients are implemented, so the adapter is not meant for
+ * other users of Apache clients. Exchanges with custom request producers are not supported and fail without being
+ * sent. The blocking client has no params of its own and no connection manager, since connections are managed by the
+ * JDK client.
+ *
+ * <p>Request bodies of known length are read from the entity content, others are written on a separate thread while
+ * they are sent, so streaming bodies are not held in memory. Errors of writing a body fail the request with
+ * {@link IOException}. Each request times out after socket timeout of its {@link RequestConfig} if set, otherwise after
+ * the default request timeout of the transport.
+ */
+public final class JdkHttpTransport {
+
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+    private static final int BODY_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Headers set by the JDK client itself.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Arrays.asList("Connection", "Content-Length", "Date", "Expect", "From", "Host",
+                "Origin", "Referer", "Upgrade", "Via", "Warning"));
+    }
+
+    private final java.net.http.HttpClient client;
+    private final List<Header> defaultHeaders;
+    private final Duration requestTimeout;
+    private final CompressionStats compressionStats = new CompressionStats();
+
+    private final HttpClient httpClient = new BlockingClient();
+    private final HttpAsyncClient httpAsyncClient = new NonBlockingClient();
+
+    /**
+     * Creates transport with default JDK client, see {@link DefaultHttpClientConfiguration#buildDefaultJdkClient()},
+     * and the same default headers and timeouts as default Apache clients.
+     */
+    public JdkHttpTransport(String tokenOrKey) {
+        this(DefaultHttpClientConfiguration.buildDefaultJdkClient(),
+                List.of(DefaultHttpClientConfiguration.getDefaultAuthorizationHeader(tokenOrKey),
+                        new BasicHeader(org.apache.http.HttpHeaders.USER_AGENT,
+                                DefaultHttpClientConfiguration.getUserAgent()),
+                        ContentCompression.acceptEncodingHeader()),
+                Duration.ofMillis(DefaultHttpClientConfiguration.DEFAULT_SOCKET_TIMEOUT));
+    }
+
+    /**
+     * @param client         JDK client to send requests with
+     * @param defaultHeaders headers added to every request unless it has header with the same name
+     * @param requestTimeout time to wait for response headers if request config has no socket timeout
+     */
+    public JdkHttpTransport(java.net.http.HttpClient client, List<Header> defaultHeaders, Duration requestTimeout) {
+        this.client = client;
+        this.defaultHeaders = Collections.unmodifiableList(new ArrayList<>(defaultHeaders));
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * @return blocking client which decodes compressed responses
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * @return non-blocking client which reads whole responses to memory and leaves them encoded, as default Apache
+     *         non-blocking client does
+     */
+    public HttpAsyncClient getHttpAsyncClient() {
+        return httpAsyncClient;
+    }
+
+    /**
+     * @return sizes of compressed responses decoded by the blocking client before and after decoding
+     */
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    java.net.http.HttpRequest convert(HttpHost target, HttpRequest request) throws IOException {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uriOf(target, request))
+                .method(request.getRequestLine().getMethod(), bodyOf(request))
+                .timeout(timeoutOf(request));
+
+        Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : request.getAllHeaders()) {
+            addHeader(builder, names, header);
+        }
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null) {
+                addHeader(builder, names, entity.getContentType());
+                addHeader(builder, names, entity.getContentEncoding());
+            }
+        }
+
+        Set<String> explicit = new TreeSet<>(names);
+        for (Header header : defaultHeaders) {
+            if (!explicit.contains(header.getName())) {
+                addHeader(builder, names, header);
+            }
+        }
+        return builder.build();
+    }
+
+    static BasicHttpResponse convert(java.net.http.HttpResponse<?> response, AbstractHttpEntity entity) {
+        int status = response.statusCode();
+        ProtocolVersion version = response.version() == Version.HTTP_2 ? HTTP_2 : HttpVersion.HTTP_1_1;
+        BasicHttpResponse result = new JdkHttpResponse(version, status,
+                EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ROOT));
+
+        HttpHeaders headers = response.headers();
+        headers.map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                values.forEach(value -> result.addHeader(name, value));
+            }
+        });
+
+        if (entity instanceof BasicHttpEntity) {
+            ((BasicHttpEntity) entity).setContentLength(headers.firstValueAsLong("Content-Length").orElse(-1));
+        }
+        headers.firstValue("Content-Type").ifPresent(entity::setContentType);
+        headers.firstValue("Content-Encoding").ifPresent(entity::setContentEncoding);
+        result.setEntity(entity);
+        return result;
+    }
+
+    private static URI uriOf(HttpHost target, HttpRequest request) {
+        URI uri = request instanceof HttpUriRequest
+                ? ((HttpUriRequest) request).getURI()
+                : URI.create(request.getRequestLine().getUri());
+        if (uri.isAbsolute() || target == null) {
+            return uri;
+        }
+        return URI.create(target.toURI()).resolve(uri);
+    }
+
+    private static BodyPublisher bodyOf(HttpRequest request) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return BodyPublishers.noBody();
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        if (entity == null) {
+            return BodyPublishers.noBody();
+        }
+
+        long length = entity.getContentLength();
+        if (length >= 0 && !entity.isStreaming()) {
+            return BodyPublishers.fromPublisher(BodyPublishers.ofInputStream(() -> contentOf(entity)), length);
+        }
+        return BodyPublishers.ofInputStream(() -> EntityPipe.open(entity::writeTo, BODY_BUFFER_SIZE));
+    }
+
+    private static InputStream contentOf(HttpEntity entity) {
+        try {
+            return entity.getContent();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Request config equivalent to the defaults of the transport: timeouts of requests without own config.
+     */
+    private RequestConfig defaultConfig() {
+        return RequestConfig.custom().setSocketTimeout((int) Math.min(requestTimeout.toMillis(), Integer.MAX_VALUE))
+                .build();
+    }
+
+    private Duration timeoutOf(HttpRequest request) {
+        if (request instanceof Configurable) {
+            RequestConfig config = ((Configurable) request).getConfig();
+            if (config != null && config.getSocketTimeout() > 0) {
+                return Duration.ofMillis(config.getSocketTimeout());
+            }
+        }
+        return requestTimeout;
+    }
+
+    private static void addHeader(java.net.http.HttpRequest.Builder builder, Set<String> names, Header header) {
+        if (header != null && header.getValue() != null && !RESTRICTED_HEADERS.contains(header.getName())) {
+            builder.header(header.getName(), header.getValue());
+            names.add(header.getName());
+        }
+    }
+
+    private static class JdkHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        JdkHttpResponse(ProtocolVersion version, int code, String reason) {
+            super(version, code, reason);
+        }
+
+        @Override
+        public void close() throws IOException {
+            HttpEntity entity = getEntity();
+            if (entity != null && entity.isStreaming()) {
+                entity.getContent().close();
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private class BlockingClient extends CloseableHttpClient implements Configurable {
+
+        @Override
+        protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context)
+                throws IOException {
+            java.net.http.HttpResponse<InputStream> response;
+            try {
+                response = client.send(convert(target, request), BodyHandlers.ofInputStream());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                InterruptedIOException exception = new InterruptedIOException("Interrupted while sending request");
+                exception.initCause(e);
+                throw exception;
+            }
+
+            BasicHttpEntity entity = new BasicHttpEntity();
+            entity.setContent(response.body());
+            return (CloseableHttpResponse) ContentCompression.decode(convert(response, entity), compressionStats);
+        }
+
+        @Override
+        public RequestConfig getConfig() {
+            return defaultConfig();
+        }
+
+        @Override
+        public HttpParams getParams() {
+            return new BasicHttpParams();
+        }
+
+        @Override
+        public ClientConnectionManager getConnectionManager() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private class NonBlockingClient implements HttpAsyncClient, Configurable {
+
+        @Override
+        public <T> Future<T> execute(HttpAsyncRequestProducer requestProducer,
+                                     HttpAsyncResponseConsumer<T> responseConsumer, HttpContext context,
+                                     FutureCallback<T> callback) {
+            Exception ex = new UnsupportedOperationException("Request producers are not supported by JDK transport");
+            responseConsumer.failed(ex);
+            if (callback != null) {
+                callback.failed(ex);
+            }
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        @Override
+        public <T> Future<T> execute(HttpAsyncRequestProducer requestProducer,
+                                     HttpAsyncResponseConsumer<T> responseConsumer, FutureCallback<T> callback) {
+            return execute(requestProducer, responseConsumer, null, callback);
+        }
+
+        @Override
+        public Future<HttpResponse> execute(HttpHost target, HttpRequest request, HttpContext context,
+                                            FutureCallback<HttpResponse> callback) {
+            CompletableFuture<HttpResponse> result;
+            try {
+                BodyHandler<byte[]> handler = BodyHandlers.ofByteArray();
+                CompletableFuture<java.net.http.HttpResponse<byte[]>> sent =
+                        client.sendAsync(convert(target, request), handler);
+                result = sent.thenApply(response -> convert(response, new ByteArrayEntity(response.body())));
+                // dependent future does not cancel the one it depends on
+                result.whenComplete((response, ex) -> {
+                    if (ex instanceof CancellationException) {
+                        sent.cancel(true);
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+
+            if (callback != null) {
+                result.whenComplete((response, ex) -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                            ? ex.getCause()
+                            : ex;
+                    if (cause == null) {
+                        callback.completed(response);
+                    } else if (cause instanceof CancellationException) {
+                        callback.cancelled();
+                    } else {
+                        callback.failed(cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+                    }
+                });
+            }
+            return result;
+        }
+
+        @Override
+        public Future<HttpResponse> execute(HttpHost target, HttpRequest request,
+                                            FutureCallback<HttpResponse> callback) {
+            return execute(target, request, null, callback);
+        }
+
+        @Override
+        public Future<HttpResponse> execute(HttpUriRequest request, HttpContext context,
+                                            FutureCallback<HttpResponse> callback) {
+            return execute(null, request, context, callback);
+        }
+
+        @Override
+        public Future<HttpResponse> execute(HttpUriRequest request, FutureCallback<HttpResponse> callback) {
+            return execute(request, null, callback);
+        }
+
+        @Override
+        public RequestConfig getConfig() {
+            return defaultConfig();
+        }
+    }
+}
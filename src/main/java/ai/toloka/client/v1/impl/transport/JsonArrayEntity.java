@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Request body of a JSON array written item by item from an iterator while the request is being sent. Items are
+ * serialized on the thread executing the request, errors of the iterator or serialization abort the request and are
+ * thrown to its caller. {@link JdkHttpTransport} writes the entity on a separate thread and fails the request with
+ * {@link IOException} instead. The iterator is consumed, so the entity can be written or read only once.
+ */
+public final class JsonArrayEntity extends AbstractHttpEntity {
+
+    public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+    private final Iterator<?> items;
+    private final int bufferSize;
+    private boolean consumed;
+
+    public JsonArrayEntity(Iterator<?> items) {
+        this(items, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize size of the buffer written output is collected in before passing to the connection
+     */
+    public JsonArrayEntity(Iterator<?> items, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size should be positive");
+        }
+
+        this.items = items;
+        this.bufferSize = bufferSize;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    /**
+     * Returns the array being written on another thread while the stream is read, errors of the iterator or
+     * serialization are thrown from reading.
+     */
+    @Override
+    public InputStream getContent() {
+        consume();
+        return EntityPipe.open(this::write, bufferSize);
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        consume();
+        write(outStream);
+    }
+
+    private void consume() {
+        if (consumed) {
+            throw new IllegalStateException("Entity is already written");
+        }
+        this.consumed = true;
+    }
+
+    private void write(OutputStream outStream) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(outStream, bufferSize);
+        try (SequenceWriter writer = JsonEntity.WRITER.writeValuesAsArray(out)) {
+            while (items.hasNext()) {
+                writer.write(items.next());
+            }
+        }
+        out.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return !consumed;
+    }
+}
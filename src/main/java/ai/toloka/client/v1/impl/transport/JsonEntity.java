@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Request body serialized to JSON straight into the connection output stream, so no intermediate {@code String} or
+ * byte array of the whole body is built. Length is unknown in advance and the body is sent chunked. The entity is
+ * repeatable: it is serialized again on every write.
+ */
+public final class JsonEntity extends AbstractHttpEntity {
+
+    /**
+     * Collections of up to this size are serialized to a byte array of known length, larger ones are streamed.
+     */
+    public static final int STREAMING_COLLECTION_SIZE = 100;
+
+    /**
+     * Output stream belongs to the connection and must stay open after the body is written.
+     */
+    static final ObjectWriter WRITER =
+            MapperUtil.getObjectWriter().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final Object body;
+
+    private JsonEntity(Object body) {
+        this.body = body;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    /**
+     * Returns streamed entity for large collections and buffered one of known length for other bodies.
+     */
+    public static HttpEntity of(Object body) throws IOException {
+        if (body instanceof Collection && ((Collection<?>) body).size() > STREAMING_COLLECTION_SIZE) {
+            return streaming(body);
+        }
+        return buffered(body);
+    }
+
+    public static HttpEntity streaming(Object body) {
+        return new JsonEntity(body);
+    }
+
+    /**
+     * Serializes body to UTF-8 bytes at once. Used for non-blocking clients which send the content from a buffer
+     * anyway.
+     */
+    public static HttpEntity buffered(Object body) throws IOException {
+        return new ByteArrayEntity(WRITER.writeValueAsBytes(body), ContentType.APPLICATION_JSON);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new ByteArrayInputStream(WRITER.writeValueAsBytes(body));
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        WRITER.writeValue(outStream, body);
+        outStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
@@ -16,16 +16,28 @@
 
 package ai.toloka.client.v1.impl.transport;
 
+import java.lang.reflect.Type;
 import java.text.DateFormat;
 import java.text.FieldPosition;
+import java.text.NumberFormat;
 import java.text.ParsePosition;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -34,6 +46,13 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 public class MapperUtil {
 
     private static final ObjectMapper OBJECT_MAPPER;
+    private static final ObjectReader OBJECT_READER;
+    private static final ObjectWriter OBJECT_WRITER;
+
+    /**
+     * Readers are immutable and thread-safe, so one reader per type is built and reused for all requests.
+     */
+    private static final ConcurrentMap<JavaType, ObjectReader> TYPED_READERS = new ConcurrentHashMap<>();
 
     static {
         OBJECT_MAPPER = new ObjectMapper()
@@ -42,65 +61,140 @@ public class MapperUtil {
                 .disable(SerializationFeature.WRITE_DATE_KEYS_AS_TIMESTAMPS)
                 .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
                 .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        OBJECT_READER = formatReader(OBJECT_MAPPER.reader());
+        OBJECT_WRITER = OBJECT_MAPPER.writer(TlkCustomDateFormat.INSTANCE);
     }
 
+    /**
+     * @return format shared by all threads, its setters throw {@link UnsupportedOperationException}
+     */
     public static DateFormat getTolokaDateFormat() {
-        return new TlkCustomDateFormat();
+        return TlkCustomDateFormat.INSTANCE;
     }
 
     public static ObjectWriter getObjectWriter() {
-        return OBJECT_MAPPER.writer(new TlkCustomDateFormat());
+        return OBJECT_WRITER;
     }
 
     public static ObjectReader getObjectReader() {
-        return formatReader(OBJECT_MAPPER.reader());
+        return OBJECT_READER;
     }
 
     public static ObjectReader getObjectReader(Class<?> c) {
-        return formatReader(OBJECT_MAPPER.readerFor(c));
+        return getTypedReader(c);
     }
 
     public static ObjectReader getObjectReader(TypeReference<?> type) {
-        return formatReader(OBJECT_MAPPER.readerFor(type));
+        return getTypedReader(type.getType());
     }
 
-    private static ObjectReader formatReader(ObjectReader reader) {
-        return reader.with(OBJECT_MAPPER.getDeserializationConfig().with(new TlkCustomDateFormat()));
+    private static ObjectReader getTypedReader(Type type) {
+        JavaType javaType = OBJECT_MAPPER.getTypeFactory().constructType(type);
+        return TYPED_READERS.computeIfAbsent(javaType, t -> formatReader(OBJECT_MAPPER.readerFor(t)));
     }
 
-    private static class TlkCustomDateFormat extends DateFormat {
-
-        private static final int DATE_FORMAT_LENGTH = 19;
+    private static ObjectReader formatReader(ObjectReader reader) {
+        return reader.with(OBJECT_MAPPER.getDeserializationConfig().with(TlkCustomDateFormat.INSTANCE));
+    }
 
-        private final SimpleDateFormat defaultDateFormat;
-        private final SimpleDateFormat dateFormatWithMillis;
+    /**
+     * Formats dates in UTC with optional millis. Backed by immutable {@link DateTimeFormatter}s, so a single instance
+     * is shared by all threads and {@link #clone()} returns the same instance instead of building new formatters.
+     * The instance is immutable: setters throw and getters return copies.
+     */
+    private static final class TlkCustomDateFormat extends DateFormat {
+
+        private static final TlkCustomDateFormat INSTANCE = new TlkCustomDateFormat();
+
+        private static final int MILLIS_IN_SECOND = 1000;
+        private static final int MAX_FRACTION_DIGITS = 9;
+
+        private static final DateTimeFormatter DEFAULT_DATE_FORMAT =
+                DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+        private static final DateTimeFormatter DATE_FORMAT_WITH_MILLIS =
+                DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS").withZone(ZoneOffset.UTC);
+        private static final DateTimeFormatter PARSE_FORMAT = new DateTimeFormatterBuilder()
+                .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+                .optionalStart()
+                .appendFraction(ChronoField.NANO_OF_SECOND, 0, MAX_FRACTION_DIGITS, true)
+                .optionalEnd()
+                .toFormatter()
+                .withResolverStyle(ResolverStyle.LENIENT)
+                .withZone(ZoneOffset.UTC);
 
         private TlkCustomDateFormat() {
-            defaultDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-            defaultDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-
-            dateFormatWithMillis = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
-            dateFormatWithMillis.setTimeZone(TimeZone.getTimeZone("UTC"));
+            // not used for formatting, but expected to be set by DateFormat methods that are not overridden
+            calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+            numberFormat = NumberFormat.getIntegerInstance();
         }
 
         @Override
         public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
-            String withMillisFormat = dateFormatWithMillis.format(date);
+            DateTimeFormatter formatter = Math.floorMod(date.getTime(), MILLIS_IN_SECOND) == 0
+                    ? DEFAULT_DATE_FORMAT : DATE_FORMAT_WITH_MILLIS;
 
-            return withMillisFormat.endsWith("000")
-                    ? defaultDateFormat.format(date, toAppendTo, fieldPosition)
-                    : dateFormatWithMillis.format(date, toAppendTo, fieldPosition);
+            formatter.formatTo(date.toInstant(), toAppendTo);
+            return toAppendTo;
         }
 
         @Override
         public Date parse(String source, ParsePosition pos) {
-            return source.length() == DATE_FORMAT_LENGTH
-                    ? defaultDateFormat.parse(source, pos) : dateFormatWithMillis.parse(source, pos);
+            try {
+                return Date.from(Instant.from(PARSE_FORMAT.parse(source, pos)));
+            } catch (DateTimeParseException e) {
+                pos.setErrorIndex(e.getErrorIndex());
+                return null;
+            }
         }
 
         @Override
         public Object clone() {
-            return new TlkCustomDateFormat();
+            return this;
+        }
+
+        @Override
+        public Calendar getCalendar() {
+            return (Calendar) calendar.clone();
+        }
+
+        @Override
+        public void setCalendar(Calendar newCalendar) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public NumberFormat getNumberFormat() {
+            return (NumberFormat) numberFormat.clone();
+        }
+
+        @Override
+        public void setNumberFormat(NumberFormat newNumberFormat) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setTimeZone(TimeZone zone) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setLenient(boolean lenient) {
+            throw unmodifiable();
+        }
+
+        private static UnsupportedOperationException unmodifiable() {
+            return new UnsupportedOperationException("Toloka date format is shared and can not be modified");
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
         }
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+/**
+ * Limits of requests to an endpoint family: rate of starting requests with bursts of up to {@code burst} requests and
+ * the number of requests in flight at the same time. Non-positive values mean no limit.
+ */
+public class RequestBudget {
+
+    public static final RequestBudget UNLIMITED = new RequestBudget(0, 0, 0);
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxInFlight;
+
+    public RequestBudget(double permitsPerSecond, int burst, int maxInFlight) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(burst, 1);
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static RequestBudget ofRate(double permitsPerSecond, int burst) {
+        return new RequestBudget(permitsPerSecond, burst, 0);
+    }
+
+    public static RequestBudget ofInFlight(int maxInFlight) {
+        return new RequestBudget(0, 0, maxInFlight);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public boolean isRateLimited() {
+        return permitsPerSecond > 0;
+    }
+
+    public boolean isInFlightLimited() {
+        return maxInFlight > 0;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Request options scope and trace bound to a thread, captured to be bound to the threads doing work on its behalf,
+ * like fetching pages of streams in background or uploading chunks, so that calls made there keep the deadline and
+ * timeouts of the caller.
+ */
+public final class RequestContext {
+
+    private final RequestOptions.Scope scope;
+    private final RequestTrace trace;
+
+    private RequestContext(RequestOptions.Scope scope, RequestTrace trace) {
+        this.scope = scope;
+        this.trace = trace;
+    }
+
+    /**
+     * @return scope and trace of the current thread, either may be absent
+     */
+    public static RequestContext capture() {
+        return new RequestContext(RequestOptions.current(), RequestTrace.current());
+    }
+
+    /**
+     * @return task binding the captured scope and trace to the thread running it and restoring previous ones after
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            RequestOptions.Scope previousScope = RequestOptions.bind(scope);
+            RequestTrace previousTrace = RequestTrace.bind(trace);
+            try {
+                return task.call();
+            } finally {
+                RequestTrace.bind(previousTrace);
+                RequestOptions.bind(previousScope);
+            }
+        };
+    }
+
+    /**
+     * @return task binding the captured scope and trace to the thread running it and restoring previous ones after
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            RequestOptions.Scope previousScope = RequestOptions.bind(scope);
+            RequestTrace previousTrace = RequestTrace.bind(trace);
+            try {
+                task.run();
+            } finally {
+                RequestTrace.bind(previousTrace);
+                RequestOptions.bind(previousScope);
+            }
+        };
+    }
+}
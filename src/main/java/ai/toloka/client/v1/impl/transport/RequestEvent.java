@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+/**
+ * Completed call of a client. Describes the last request sent by the call, most calls send exactly one.
+ */
+public final class RequestEvent {
+
+    private final String endpoint;
+    private final String method;
+    private final int statusCode;
+    private final Throwable error;
+    private final int retries;
+    private final long requestBytes;
+    private final long responseBytes;
+    private final long responseWaitNanos;
+    private final long totalNanos;
+
+    RequestEvent(String endpoint, String method, int statusCode, Throwable error, int retries, long requestBytes,
+                 long responseBytes, long responseWaitNanos, long totalNanos) {
+        this.endpoint = endpoint;
+        this.method = method;
+        this.statusCode = statusCode;
+        this.error = error;
+        this.retries = retries;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.responseWaitNanos = responseWaitNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * @return endpoint template, e.g. {@code tasks/{id}}, see {@link EndpointUtil#templateOf}
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return http method or {@code null} if no request was sent
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return status code of the response or 0 if none was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return exception the call failed with or {@code null} if it succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return number of times the request was retried according to {@link RetryPolicy}
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return length of the request body or -1 if unknown, e.g. for streamed bodies
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * @return bytes of the response body read by the client or -1 if no response was received
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return time from the start of the call until the response headers were received, including waiting for a
+     *         connection, retries and their backoff, or -1 if no response was received
+     */
+    public long getResponseWaitNanos() {
+        return responseWaitNanos;
+    }
+
+    /**
+     * @return time spent reading and deserializing the response body, which are interleaved as the body is streamed,
+     *         or 0 if no response was received
+     */
+    public long getHandleNanos() {
+        return responseWaitNanos < 0 ? 0 : totalNanos - responseWaitNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + endpoint + " " + statusCode + " in " + totalNanos / 1000_000 + " ms"
+                + (retries > 0 ? " after " + retries + " retries" : "")
+                + (error != null ? " failed with " + error : "");
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+import ai.toloka.client.v1.RequestThrottledException;
+
+/**
+ * Client-side rate limiter and concurrency governor shared by all clients of a factory. Every request takes a permit
+ * of its endpoint family (see {@link EndpointUtil#familyOf(java.net.URI)}) before it is sent: a token of a token bucket
+ * refilled at {@link RequestBudget#getPermitsPerSecond()} and a slot of at most {@link RequestBudget#getMaxInFlight()}
+ * requests in flight. The slot is held until the response is read. Families without own budget share the default
+ * one.
+ *
+ * <p>If the budget is exhausted, the request either waits or fails fast with {@link RequestThrottledException},
+ * depending on {@link Policy}. Blocking requests wait on the calling thread. Non-blocking ones are queued without
+ * occupying a thread and are handed a permit once a slot is released or a token is refilled.
+ */
+public final class RequestGovernor {
+
+    public enum Policy {
+        BLOCK,
+        FAIL_FAST
+    }
+
+    private static final String DEFAULT_LANE = "";
+
+    /**
+     * Timer shared by all governors to hand tokens to queued non-blocking requests once they are refilled.
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "toloka-request-governor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Policy policy;
+    private final Lane defaultLane;
+    private final Map<String, Lane> lanes;
+
+    private RequestGovernor(Builder builder) {
+        this.policy = builder.policy;
+        this.defaultLane = new Lane(builder.defaultBudget);
+
+        Map<String, Lane> lanes = new HashMap<>();
+        for (Map.Entry<String, RequestBudget> budget : builder.budgets.entrySet()) {
+            lanes.put(budget.getKey(), new Lane(budget.getValue()));
+        }
+        this.lanes = Collections.unmodifiableMap(lanes);
+    }
+
+    public static Builder make() {
+        return new Builder();
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return number of requests of the family waiting for a permit
+     */
+    public int getWaitingRequests(String family) {
+        return lane(family).waiting.get();
+    }
+
+    public int getWaitingRequests() {
+        int waiting = defaultLane.waiting.get();
+        for (Lane lane : lanes.values()) {
+            waiting += lane.waiting.get();
+        }
+        return waiting;
+    }
+
+    public int getInFlightRequests(String family) {
+        return lane(family).inFlight.get();
+    }
+
+    /**
+     * Takes a permit for a request of the family according to the policy. Waits no longer than the time left until
+     * the deadline of the current {@link RequestOptions} scope, if any.
+     *
+     * @throws RequestThrottledException if the budget is exhausted and the policy is {@link Policy#FAIL_FAST}
+     * @throws DeadlineExceededException if the deadline passes while waiting
+     * @throws InterruptedIOException    if interrupted while waiting
+     */
+    public Permit acquire(String family) throws InterruptedIOException {
+        Lane lane = lane(family);
+
+        if (policy == Policy.FAIL_FAST) {
+            Permit permit = lane.tryAcquire();
+            if (permit == null) {
+                throw new RequestThrottledException("Request budget of " + family + " is exhausted");
+            }
+            return permit;
+        }
+
+        RequestOptions.Scope scope = RequestOptions.current();
+        long timeoutNanos = scope != null
+                ? TimeUnit.MILLISECONDS.toNanos(Math.max(0, scope.getRemainingMillis()))
+                : Long.MAX_VALUE;
+
+        Permit permit;
+        lane.waiting.incrementAndGet();
+        try {
+            permit = lane.acquire(timeoutNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for a permit");
+            exception.initCause(e);
+            throw exception;
+        } finally {
+            lane.waiting.decrementAndGet();
+        }
+        if (permit == null) {
+            throw new DeadlineExceededException("Deadline exceeded while waiting for a permit of " + family);
+        }
+        return permit;
+    }
+
+    /**
+     * Takes a permit for a request of the family without blocking, regardless of the policy. The consumer is called
+     * at once if a permit is available, otherwise later by the thread releasing a slot or by the timer of governor
+     * once a token is refilled, so it must not block. Requests of a family are handed permits in order of arrival.
+     */
+    public void acquire(String family, Consumer<Permit> onPermit) {
+        lane(family).acquire(onPermit);
+    }
+
+    /**
+     * Takes a permit only if it is available at once, regardless of the policy.
+     *
+     * @return permit or {@code null}
+     */
+    public Permit tryAcquire(String family) {
+        return lane(family).tryAcquire();
+    }
+
+    /**
+     * Returns client which takes a permit before every request sent by the given one.
+     */
+    public HttpClient govern(HttpClient httpClient) {
+        return new GovernedHttpClient(httpClient, this);
+    }
+
+    /**
+     * Returns client which takes a permit before every exchange started by the given one. Exchanges which had to wait
+     * for a permit are started from the executor.
+     */
+    public HttpAsyncClient govern(HttpAsyncClient httpAsyncClient, Executor executor) {
+        return new GovernedHttpAsyncClient(httpAsyncClient, this, executor);
+    }
+
+    private Lane lane(String family) {
+        return lanes.getOrDefault(family, defaultLane);
+    }
+
+    /**
+     * Slot of a request in flight, released once.
+     */
+    public static final class Permit {
+
+        private final Lane lane;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Lane lane) {
+            this.lane = lane;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                lane.inFlight.decrementAndGet();
+                if (lane.slots != null) {
+                    lane.slots.release();
+                    lane.dispatch();
+                }
+            }
+        }
+    }
+
+    private static final class Lane {
+
+        private final TokenBucket bucket;
+        private final Semaphore slots;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Deque<Consumer<Permit>> queued = new ArrayDeque<>();
+        private boolean dispatchScheduled;
+
+        Lane(RequestBudget budget) {
+            this.bucket = budget.isRateLimited()
+                    ? new TokenBucket(budget.getPermitsPerSecond(), budget.getBurst())
+                    : null;
+            this.slots = budget.isInFlightLimited() ? new Semaphore(budget.getMaxInFlight(), true) : null;
+        }
+
+        /**
+         * @return permit or {@code null} if it may not be taken within the timeout
+         */
+        Permit acquire(long timeoutNanos) throws InterruptedException {
+            long startedAt = System.nanoTime();
+            if (bucket != null) {
+                long waitNanos = bucket.reserve();
+                if (waitNanos > timeoutNanos) {
+                    bucket.giveBack();
+                    return null;
+                }
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            }
+            if (slots != null) {
+                long leftNanos = timeoutNanos == Long.MAX_VALUE
+                        ? Long.MAX_VALUE
+                        : timeoutNanos - (System.nanoTime() - startedAt);
+                if (!slots.tryAcquire(leftNanos, TimeUnit.NANOSECONDS)) {
+                    return null;
+                }
+            }
+            inFlight.incrementAndGet();
+            return new Permit(this);
+        }
+
+        void acquire(Consumer<Permit> onPermit) {
+            waiting.incrementAndGet();
+            synchronized (this) {
+                queued.add(onPermit);
+            }
+            dispatch();
+        }
+
+        Permit tryAcquire() {
+            if (bucket != null && !bucket.tryTake()) {
+                return null;
+            }
+            if (slots != null && !slots.tryAcquire()) {
+                if (bucket != null) {
+                    bucket.giveBack();
+                }
+                return null;
+            }
+            inFlight.incrementAndGet();
+            return new Permit(this);
+        }
+
+        /**
+         * Hands permits to queued requests while they are available. Called again once a slot is released, or by the
+         * timer once the next token is refilled.
+         */
+        void dispatch() {
+            while (true) {
+                Consumer<Permit> next;
+                synchronized (this) {
+                    if (queued.isEmpty() || dispatchScheduled) {
+                        return;
+                    }
+                    if (slots != null && !slots.tryAcquire()) {
+                        return;
+                    }
+                    if (bucket != null && !bucket.tryTake()) {
+                        if (slots != null) {
+                            slots.release();
+                        }
+                        dispatchScheduled = true;
+                        TIMER.schedule(this::dispatchScheduled, bucket.nanosToNextToken(), TimeUnit.NANOSECONDS);
+                        return;
+                    }
+                    next = queued.poll();
+                }
+                waiting.decrementAndGet();
+                inFlight.incrementAndGet();
+                next.accept(new Permit(this));
+            }
+        }
+
+        private void dispatchScheduled() {
+            synchronized (this) {
+                dispatchScheduled = false;
+            }
+            dispatch();
+        }
+    }
+
+    /**
+     * Token bucket which lets waiting callers reserve future tokens, so that they are served in order of arrival
+     * without polling.
+     */
+    private static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double permitsPerSecond, int burst) {
+            this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = burst;
+            this.tokens = burst;
+            this.refilledAt = System.nanoTime();
+        }
+
+        /**
+         * Takes a token, possibly one not refilled yet.
+         *
+         * @return nanoseconds to wait until the taken token is refilled
+         */
+        synchronized long reserve() {
+            refill();
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+
+        synchronized boolean tryTake() {
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return nanoseconds until a whole token is available, at least one
+         */
+        synchronized long nanosToNextToken() {
+            refill();
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+
+        synchronized void giveBack() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+
+    public static class Builder {
+
+        private Policy policy = Policy.BLOCK;
+        private RequestBudget defaultBudget = RequestBudget.UNLIMITED;
+        private final Map<String, RequestBudget> budgets = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder policy(Policy policy) {
+            if (policy == null) {
+                throw new IllegalArgumentException("Policy may not be null");
+            }
+            this.policy = policy;
+            return this;
+        }
+
+        /**
+         * Sets budget shared by requests of families without own budget.
+         */
+        public Builder defaultBudget(RequestBudget budget) {
+            if (budget == null) {
+                throw new IllegalArgumentException("Budget may not be null");
+            }
+            this.defaultBudget = budget;
+            return this;
+        }
+
+        /**
+         * Sets own budget of an endpoint family, e.g. {@code tasks}, {@code assignments} or {@code operations}.
+         */
+        public Builder budget(String family, RequestBudget budget) {
+            if (family == null || budget == null) {
+                throw new IllegalArgumentException("Family and budget may not be null");
+            }
+            budgets.put(family, budget);
+            return this;
+        }
+
+        public RequestGovernor done() {
+            return new RequestGovernor(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+/**
+ * Receives an event per call of a client, e.g. to record latency histograms per endpoint, see
+ * {@link ai.toloka.client.v1.impl.TolokaClientFactoryImpl#addRequestListener(RequestListener)}. Called on the thread
+ * completing the call, so implementations should be fast and thread safe. Exceptions thrown by listeners are logged
+ * and do not affect the call.
+ */
+public interface RequestListener {
+
+    void onRequest(RequestEvent event);
+
+    /**
+     * Receives snapshots of connection pools and executor of the factory if reporting is enabled, see
+     * {@link ai.toloka.client.v1.impl.TolokaClientFactoryImpl#setStatsReportInterval(long)}.
+     */
+    default void onTransportStats(TransportStats stats) {
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpRequestBase;
+
+/**
+ * Timeouts of the calls made by clients on the current thread, overriding the default request config of the client
+ * factory. Options take effect within a scope:
+ *
+ * <pre>{@code
+ * RequestOptions interactive = RequestOptions.make().deadline(2000).done();
+ * Assignment assignment = interactive.call(() -> assignmentClient.getAssignment(id));
+ *
+ * try (RequestOptions.Scope scope = RequestOptions.make().socketTimeout(600_000).done().open()) {
+ *     taskClient.createTasks(tasks, parameters);
+ * }
+ * }</pre>
+ *
+ * <p>Deadline is counted from opening the scope and bounds the whole call including retries of
+ * {@link RetryPolicy}: connection-request, connect and socket timeouts of every attempt are cut to the time left, and
+ * no attempt is started after the deadline. Asynchronous calls keep the options of the scope they were started in, as
+ * do pages of streams fetched in background and chunks of bulk uploads, see {@link RequestContext}.
+ *
+ * <p>Nested scopes override the timeouts of the enclosing one, but may not extend its deadline.
+ */
+public final class RequestOptions {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineMillis;
+    private final int socketTimeout;
+    private final int connectTimeout;
+    private final int connectionRequestTimeout;
+
+    private RequestOptions(Builder builder) {
+        this.deadlineMillis = builder.deadlineMillis;
+        this.socketTimeout = builder.socketTimeout;
+        this.connectTimeout = builder.connectTimeout;
+        this.connectionRequestTimeout = builder.connectionRequestTimeout;
+    }
+
+    public static Builder make() {
+        return new Builder();
+    }
+
+    /**
+     * @return scope of the current thread or {@code null} if there is none
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the scope, possibly opened on another thread, to the current thread, see {@link RequestContext}.
+     *
+     * @return scope bound before, to be restored with this method
+     */
+    static Scope bind(Scope scope) {
+        Scope previous = CURRENT.get();
+        if (scope != null) {
+            CURRENT.set(scope);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Applies the options to the calls made on the current thread until the returned scope is closed.
+     */
+    public Scope open() {
+        Scope scope = new Scope(this, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Makes the call within a scope of the options.
+     */
+    public <T> T call(Supplier<T> action) {
+        Scope scope = open();
+        try {
+            return action.get();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Applies the current scope, if any, to the request about to be sent with the client.
+     *
+     * @throws DeadlineExceededException if the deadline of the scope has passed
+     */
+    static void applyCurrent(HttpRequest request, Object client) throws DeadlineExceededException {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.applyTo(request, client);
+        }
+    }
+
+    /**
+     * @return default request config of the client if it exposes one, otherwise the defaults of HttpClient itself
+     */
+    private static RequestConfig defaultsOf(Object client) {
+        RequestConfig config = client instanceof Configurable ? ((Configurable) client).getConfig() : null;
+        return config != null ? config : RequestConfig.DEFAULT;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope enclosing;
+        private final boolean hasDeadline;
+        private final long deadlineNanos;
+        private final int socketTimeout;
+        private final int connectTimeout;
+        private final int connectionRequestTimeout;
+
+        private Scope(RequestOptions options, Scope enclosing) {
+            this.enclosing = enclosing;
+
+            long now = System.nanoTime();
+            boolean ownDeadline = options.deadlineMillis >= 0;
+            boolean enclosingDeadline = enclosing != null && enclosing.hasDeadline;
+            long deadline = ownDeadline ? now + TimeUnit.MILLISECONDS.toNanos(options.deadlineMillis) : 0;
+            if (enclosingDeadline && (!ownDeadline || enclosing.deadlineNanos - deadline < 0)) {
+                deadline = enclosing.deadlineNanos;
+            }
+            this.hasDeadline = ownDeadline || enclosingDeadline;
+            this.deadlineNanos = deadline;
+
+            this.socketTimeout = inherit(options.socketTimeout, enclosing == null ? -1 : enclosing.socketTimeout);
+            this.connectTimeout = inherit(options.connectTimeout, enclosing == null ? -1 : enclosing.connectTimeout);
+            this.connectionRequestTimeout = inherit(options.connectionRequestTimeout,
+                    enclosing == null ? -1 : enclosing.connectionRequestTimeout);
+        }
+
+        /**
+         * @return milliseconds left until the deadline, may be negative, or {@link Long#MAX_VALUE} without deadline
+         */
+        public long getRemainingMillis() {
+            return hasDeadline
+                    ? TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime())
+                    : Long.MAX_VALUE;
+        }
+
+        /**
+         * Restores the enclosing scope. Scopes should be closed in reverse order of opening on the same thread.
+         */
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (enclosing != null) {
+                    CURRENT.set(enclosing);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+
+        /**
+         * Sets the timeouts to the request config, based on the config the request already has or on the default
+         * one of the client it is sent with, so that other settings of the client are kept. Timeouts are only
+         * shortened to the time left on repeated application, so it is done before every attempt.
+         *
+         * @throws DeadlineExceededException if the deadline has passed
+         */
+        void applyTo(HttpRequest request, Object client) throws DeadlineExceededException {
+            long remaining = getRemainingMillis();
+            if (remaining <= 0) {
+                throw new DeadlineExceededException("Deadline exceeded by " + -remaining + " ms");
+            }
+
+            if (request instanceof HttpRequestBase) {
+                HttpRequestBase requestBase = (HttpRequestBase) request;
+                RequestConfig base = requestBase.getConfig() != null ? requestBase.getConfig() : defaultsOf(client);
+                requestBase.setConfig(configure(base, remaining));
+            }
+        }
+
+        RequestConfig configure(RequestConfig base, long remainingMillis) {
+            int limit = hasDeadline ? (int) Math.min(remainingMillis, Integer.MAX_VALUE) : -1;
+            return RequestConfig.copy(base)
+                    .setSocketTimeout(limit(inherit(socketTimeout, base.getSocketTimeout()), limit))
+                    .setConnectTimeout(limit(inherit(connectTimeout, base.getConnectTimeout()), limit))
+                    .setConnectionRequestTimeout(limit(
+                            inherit(connectionRequestTimeout, base.getConnectionRequestTimeout()), limit))
+                    .build();
+        }
+
+        private static int inherit(int timeout, int enclosingTimeout) {
+            return timeout >= 0 ? timeout : enclosingTimeout;
+        }
+
+        /**
+         * Zero and negative timeouts mean no timeout or the system default, so they are limited as well.
+         */
+        private static int limit(int timeout, int limit) {
+            if (limit < 0) {
+                return timeout;
+            }
+            return timeout > 0 && timeout < limit ? timeout : limit;
+        }
+    }
+
+    public static class Builder {
+
+        private long deadlineMillis = -1;
+        private int socketTimeout = -1;
+        private int connectTimeout = -1;
+        private int connectionRequestTimeout = -1;
+
+        private Builder() {
+        }
+
+        /**
+         * @param deadlineMillis time the call including retries may take, counted from opening the scope
+         */
+        public Builder deadline(long deadlineMillis) {
+            this.deadlineMillis = checkNotNegative(deadlineMillis, "Deadline");
+            return this;
+        }
+
+        public Builder socketTimeout(int socketTimeoutMillis) {
+            this.socketTimeout = (int) checkNotNegative(socketTimeoutMillis, "Socket timeout");
+            return this;
+        }
+
+        public Builder connectTimeout(int connectTimeoutMillis) {
+            this.connectTimeout = (int) checkNotNegative(connectTimeoutMillis, "Connect timeout");
+            return this;
+        }
+
+        public Builder connectionRequestTimeout(int connectionRequestTimeoutMillis) {
+            this.connectionRequestTimeout =
+                    (int) checkNotNegative(connectionRequestTimeoutMillis, "Connection request timeout");
+            return this;
+        }
+
+        public RequestOptions done() {
+            return new RequestOptions(this);
+        }
+
+        private static long checkNotNegative(long value, String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException(name + " may not be negative");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Collects what is known about a call of a client while it is made: the request sent, its retries, the response and
+ * timings. Started by clients around every call if request listeners are registered and bound to the calling thread
+ * until the request is sent, so that the transport may record into it. Completed with {@link #finish(Throwable)} once
+ * the response is handled, which may happen on another thread.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final RequestTrace enclosing;
+    private final long startedAt = System.nanoTime();
+    private final AtomicInteger retries = new AtomicInteger();
+    private final AtomicLong responseBytes = new AtomicLong(-1);
+
+    private volatile String endpoint = EndpointUtil.UNKNOWN_FAMILY;
+    private volatile String method;
+    private volatile long requestBytes = -1;
+    private volatile int statusCode;
+    private volatile long respondedAt;
+    private volatile boolean bound = true;
+
+    private RequestTrace(RequestTrace enclosing) {
+        this.enclosing = enclosing;
+    }
+
+    /**
+     * Starts trace of a call and binds it to the current thread.
+     */
+    public static RequestTrace start() {
+        RequestTrace trace = new RequestTrace(CURRENT.get());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * @return trace bound to the current thread or {@code null}
+     */
+    static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the trace, possibly started on another thread, to the current thread, see {@link RequestContext}.
+     *
+     * @return trace bound before, to be restored with this method
+     */
+    static RequestTrace bind(RequestTrace trace) {
+        RequestTrace previous = CURRENT.get();
+        if (trace != null) {
+            CURRENT.set(trace);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Unbinds the trace from the current thread, restoring the enclosing one. Called once the request is sent by
+     * non-blocking calls, which complete on other threads.
+     */
+    public void detach() {
+        if (bound && CURRENT.get() == this) {
+            this.bound = false;
+            if (enclosing != null) {
+                CURRENT.set(enclosing);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Completes the trace, detaching it if it is still bound to the current thread.
+     *
+     * @param error exception the call failed with or {@code null}
+     */
+    public RequestEvent finish(Throwable error) {
+        detach();
+
+        long finishedAt = System.nanoTime();
+        long responded = respondedAt;
+        return new RequestEvent(endpoint, method, statusCode, error, retries.get(), requestBytes, responseBytes.get(),
+                statusCode == 0 ? -1 : responded - startedAt, finishedAt - startedAt);
+    }
+
+    void requestSent(HttpRequest request) {
+        if (request instanceof HttpUriRequest) {
+            this.endpoint = EndpointUtil.templateOf(((HttpUriRequest) request).getURI());
+        }
+        this.method = request.getRequestLine().getMethod();
+
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest
+                ? ((HttpEntityEnclosingRequest) request).getEntity()
+                : null;
+        this.requestBytes = entity != null ? entity.getContentLength() : 0;
+    }
+
+    void retried() {
+        retries.incrementAndGet();
+    }
+
+    /**
+     * Records the response and counts bytes of its body as they are read.
+     */
+    void responseReceived(HttpResponse response) {
+        this.respondedAt = System.nanoTime();
+        this.statusCode = response.getStatusLine().getStatusCode();
+        responseBytes.set(0);
+
+        HttpEntity entity = response.getEntity();
+        if (entity != null) {
+            response.setEntity(new CountingEntity(entity, responseBytes));
+        }
+    }
+
+    private static final class CountingEntity extends HttpEntityWrapper {
+
+        private final AtomicLong counter;
+
+        CountingEntity(HttpEntity wrappedEntity, AtomicLong counter) {
+            super(wrappedEntity);
+            this.counter = counter;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        counter.incrementAndGet();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int read = super.read(b, off, len);
+                    if (read > 0) {
+                        counter.addAndGet(read);
+                    }
+                    return read;
+                }
+
+                @Override
+                public long skip(long n) throws IOException {
+                    long skipped = super.skip(n);
+                    counter.addAndGet(skipped);
+                    return skipped;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.nio.client.HttpAsyncClient;
+
+/**
+ * Decides which failed requests are sent again and when.
+ *
+ * <p>Requests which are safe to repeat are retried on connection errors and on {@code 429}, {@code 502}, {@code 503}
+ * and {@code 504} responses: GET, PUT and PATCH requests, and POST requests carrying {@code operation_id}, e.g. with
+ * {@link ai.toloka.client.v1.task.TaskCreateRequestParameters#setOperationId}, which the API executes at most once.
+ * Requests of any method are retried if the connection could not be established, since nothing was sent.
+ *
+ * <p>The n-th retry waits for {@code Retry-After} of the response if present, otherwise for {@code initialBackoff *
+ * multiplier^(n-1)} up to {@code maxBackoff}, randomly shortened by up to {@code jitter} of its length. Responses
+ * asking to wait longer than {@code maxBackoff} are not retried.
+ *
+ * <p>Retries are also limited by the budget shared by all clients using the policy: each request adds {@code
+ * budgetRatio} of a retry to it up to {@code budgetReserve} retries, each retry takes one. So during an outage
+ * clients send at most {@code budgetRatio} more requests than usual, instead of multiplying the load.
+ */
+public final class RetryPolicy {
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 500;
+    public static final double DEFAULT_MULTIPLIER = 2;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 30 * 1000;
+    public static final double DEFAULT_JITTER = 0.5;
+    public static final double DEFAULT_BUDGET_RATIO = 0.1;
+    public static final int DEFAULT_BUDGET_RESERVE = 10;
+
+    public static final Set<Integer> DEFAULT_RETRYABLE_STATUSES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList(429, 502, 503, 504)));
+
+    private static final String OPERATION_ID_PARAMETER = "operation_id";
+    private static final Set<String> IDEMPOTENT_METHODS =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "PUT", "PATCH")));
+
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final double multiplier;
+    private final long maxBackoffMillis;
+    private final double jitter;
+    private final Set<Integer> retryableStatuses;
+    private final double budgetRatio;
+    private final int budgetReserve;
+
+    private double budget;
+
+    private RetryPolicy(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.initialBackoffMillis = builder.initialBackoffMillis;
+        this.multiplier = builder.multiplier;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.jitter = builder.jitter;
+        this.retryableStatuses = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatuses));
+        this.budgetRatio = builder.budgetRatio;
+        this.budgetReserve = builder.budgetReserve;
+        this.budget = builder.budgetReserve;
+    }
+
+    public static Builder make() {
+        return new Builder();
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Set<Integer> getRetryableStatuses() {
+        return retryableStatuses;
+    }
+
+    /**
+     * @return retries left in the budget
+     */
+    public synchronized double getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns client which retries requests sent by the given one.
+     */
+    public HttpClient retrying(HttpClient httpClient) {
+        return new RetryingHttpClient(httpClient, this);
+    }
+
+    /**
+     * Returns client which retries exchanges started by the given one. Retries are started from the executor.
+     */
+    public HttpAsyncClient retrying(HttpAsyncClient httpAsyncClient, Executor executor) {
+        return new RetryingHttpAsyncClient(httpAsyncClient, this, executor);
+    }
+
+    /**
+     * Adds the request to the budget. Called once per request, not per attempt.
+     */
+    synchronized void recordRequest() {
+        budget = Math.min(budgetReserve, budget + budgetRatio);
+    }
+
+    /**
+     * Decides whether to retry the request after the given attempt failed with the response or the error, taking a
+     * retry from the budget if so.
+     *
+     * @param retry number of retries already made
+     * @return milliseconds to wait before the next attempt or {@code -1} if the request should not be retried
+     */
+    long nextRetryDelayMillis(HttpRequest request, int retry, HttpResponse response, IOException error) {
+        if (retry >= maxRetries || !isRepeatable(request)) {
+            return -1;
+        }
+
+        long delay;
+        if (response != null) {
+            if (!retryableStatuses.contains(response.getStatusLine().getStatusCode()) || !isIdempotent(request)) {
+                return -1;
+            }
+            Long retryAfter = parseRetryAfter(response);
+            if (retryAfter != null && retryAfter > maxBackoffMillis) {
+                return -1;
+            }
+            delay = retryAfter != null ? retryAfter : backoff(retry);
+        } else {
+            if (!isNotSent(error) && !(isConnectionLost(error) && isIdempotent(request))) {
+                return -1;
+            }
+            delay = backoff(retry);
+        }
+
+        return takeFromBudget() ? delay : -1;
+    }
+
+    private synchronized boolean takeFromBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private long backoff(int retry) {
+        double backoff = Math.min(maxBackoffMillis, initialBackoffMillis * Math.pow(multiplier, retry));
+        if (jitter > 0) {
+            backoff -= backoff * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) backoff;
+    }
+
+    private static boolean isIdempotent(HttpRequest request) {
+        String method = request.getRequestLine().getMethod();
+        if (IDEMPOTENT_METHODS.contains(method)) {
+            return true;
+        }
+        if (!"POST".equals(method)) {
+            return false;
+        }
+
+        URI uri = request instanceof HttpUriRequest
+                ? ((HttpUriRequest) request).getURI()
+                : URI.create(request.getRequestLine().getUri());
+        for (NameValuePair parameter : URLEncodedUtils.parse(uri, StandardCharsets.UTF_8)) {
+            if (OPERATION_ID_PARAMETER.equals(parameter.getName()) && parameter.getValue() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRepeatable(HttpRequest request) {
+        if (!(request instanceof HttpEntityEnclosingRequest)) {
+            return true;
+        }
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        return entity == null || entity.isRepeatable();
+    }
+
+    private static boolean isNotSent(IOException error) {
+        return error instanceof ConnectException || error instanceof ConnectTimeoutException
+                || error instanceof HttpConnectTimeoutException;
+    }
+
+    private static boolean isConnectionLost(IOException error) {
+        return error instanceof NoHttpResponseException || error instanceof SocketException;
+    }
+
+    /**
+     * @return milliseconds from {@code Retry-After} header given either in seconds or as a date, {@code null} if
+     *         there is no valid header
+     */
+    static Long parseRetryAfter(HttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (header == null || header.getValue() == null) {
+            return null;
+        }
+
+        String value = header.getValue().trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            Date date = DateUtils.parseDate(value);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : null;
+        }
+    }
+
+    public static class Builder {
+
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        private long initialBackoffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+        private double multiplier = DEFAULT_MULTIPLIER;
+        private long maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+        private double jitter = DEFAULT_JITTER;
+        private Set<Integer> retryableStatuses = DEFAULT_RETRYABLE_STATUSES;
+        private double budgetRatio = DEFAULT_BUDGET_RATIO;
+        private int budgetReserve = DEFAULT_BUDGET_RESERVE;
+
+        private Builder() {
+        }
+
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = (int) checkNotNegative(maxRetries, "Max retries");
+            return this;
+        }
+
+        public Builder initialBackoff(long initialBackoffMillis) {
+            this.initialBackoffMillis = checkNotNegative(initialBackoffMillis, "Initial backoff");
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("Multiplier may not be less than 1");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public Builder maxBackoff(long maxBackoffMillis) {
+            this.maxBackoffMillis = checkNotNegative(maxBackoffMillis, "Max backoff");
+            return this;
+        }
+
+        /**
+         * @param jitter fraction of a backoff it may be randomly shortened by, from 0 to 1
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("Jitter should be between 0 and 1");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        public Builder retryableStatuses(Set<Integer> retryableStatuses) {
+            if (retryableStatuses == null) {
+                throw new IllegalArgumentException("Retryable statuses may not be null");
+            }
+            this.retryableStatuses = retryableStatuses;
+            return this;
+        }
+
+        /**
+         * @param budgetRatio   retries added to the budget by each request
+         * @param budgetReserve max retries in the budget, the budget is full initially
+         */
+        public Builder budget(double budgetRatio, int budgetReserve) {
+            if (budgetRatio < 0 || budgetReserve < 0) {
+                throw new IllegalArgumentException("Budget may not be negative");
+            }
+            this.budgetRatio = budgetRatio;
+            this.budgetReserve = budgetReserve;
+            return this;
+        }
+
+        public RetryPolicy done() {
+            return new RetryPolicy(this);
+        }
+
+        private static long checkNotNegative(long value, String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException(name + " may not be negative");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Starts exchanges again according to {@link RetryPolicy}. Retries are scheduled on the executor, so no thread waits
+ * between attempts. Retries which would start after the deadline of the {@link RequestOptions} scope the exchange
+ * was started in are not made.
+ */
+class RetryingHttpAsyncClient extends DecoratingHttpAsyncClient {
+
+    private final RetryPolicy policy;
+    private final Executor executor;
+
+    RetryingHttpAsyncClient(HttpAsyncClient delegate, RetryPolicy policy, Executor executor) {
+        super(delegate);
+        this.policy = policy;
+        this.executor = executor;
+    }
+
+    @Override
+    void intercept(HttpRequest request, Exchange exchange, ExchangeFuture result) {
+        policy.recordRequest();
+        attempt(request, exchange, result, RequestOptions.current(), RequestTrace.current(), 0);
+    }
+
+    private void attempt(HttpRequest request, Exchange exchange, ExchangeFuture result, RequestOptions.Scope scope,
+                         RequestTrace trace, int retry) {
+        if (retry > 0) {
+            if (scope != null) {
+                try {
+                    scope.applyTo(request, delegate);
+                } catch (DeadlineExceededException e) {
+                    result.failed(e);
+                    return;
+                }
+            }
+            if (trace != null) {
+                trace.retried();
+            }
+        }
+
+        result.start(exchange, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                long delay = nextRetryDelayMillis(response, null);
+                if (delay < 0) {
+                    result.completed(response);
+                } else {
+                    EntityUtils.consumeQuietly(response.getEntity());
+                    retryAfter(delay);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                long delay = ex instanceof IOException
+                        ? nextRetryDelayMillis(null, (IOException) ex)
+                        : -1;
+                if (delay < 0) {
+                    result.failed(ex);
+                } else {
+                    retryAfter(delay);
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel();
+            }
+
+            private void retryAfter(long delayMillis) {
+                CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, executor)
+                        .execute(() -> attempt(request, exchange, result, scope, trace, retry + 1));
+            }
+
+            private long nextRetryDelayMillis(HttpResponse response, IOException exception) {
+                long delay = policy.nextRetryDelayMillis(request, retry, response, exception);
+                return scope != null && delay >= scope.getRemainingMillis() ? -1 : delay;
+            }
+        });
+    }
+}
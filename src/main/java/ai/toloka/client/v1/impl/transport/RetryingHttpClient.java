@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Sends requests again according to {@link RetryPolicy}, waiting between attempts on the calling thread. Response of
+ * the last attempt is returned as is, so exhausted retries are reported the same way as a single failed request.
+ * Retries which would start after the deadline of the {@link RequestOptions} scope are not made.
+ */
+class RetryingHttpClient extends DecoratingHttpClient {
+
+    private final RetryPolicy policy;
+
+    RetryingHttpClient(HttpClient delegate, RetryPolicy policy) {
+        super(delegate);
+        this.policy = policy;
+    }
+
+    @Override
+    HttpResponse intercept(HttpRequest request, Exchange exchange) throws IOException {
+        RequestOptions.Scope scope = RequestOptions.current();
+        RequestTrace trace = RequestTrace.current();
+        policy.recordRequest();
+
+        for (int retry = 0; ; retry++) {
+            if (retry > 0) {
+                if (scope != null) {
+                    scope.applyTo(request, delegate);
+                }
+                if (trace != null) {
+                    trace.retried();
+                }
+            }
+
+            HttpResponse response;
+            long delay;
+            try {
+                response = exchange.execute();
+            } catch (IOException e) {
+                delay = nextRetryDelayMillis(scope, request, retry, null, e);
+                if (delay < 0) {
+                    throw e;
+                }
+                sleep(delay);
+                continue;
+            }
+
+            delay = nextRetryDelayMillis(scope, request, retry, response, null);
+            if (delay < 0) {
+                return response;
+            }
+            EntityUtils.consumeQuietly(response.getEntity());
+            sleep(delay);
+        }
+    }
+
+    private long nextRetryDelayMillis(RequestOptions.Scope scope, HttpRequest request, int retry,
+                                      HttpResponse response, IOException exception) {
+        long delay = policy.nextRetryDelayMillis(request, retry, response, exception);
+        return scope != null && delay >= scope.getRemainingMillis() ? -1 : delay;
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for retry");
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Snapshot of the resources shared by clients of a factory, see
+ * {@link ai.toloka.client.v1.impl.TolokaClientFactoryImpl#getTransportStats()}.
+ */
+public final class TransportStats {
+
+    private final ConnectionPoolStats connectionPool;
+    private final ConnectionPoolStats asyncConnectionPool;
+    private final ExecutorStats executor;
+    private final Map<String, Integer> inFlightRequests;
+
+    public TransportStats(ConnectionPoolStats connectionPool, ConnectionPoolStats asyncConnectionPool,
+                          ExecutorStats executor, Map<String, Integer> inFlightRequests) {
+        this.connectionPool = connectionPool;
+        this.asyncConnectionPool = asyncConnectionPool;
+        this.executor = executor;
+        this.inFlightRequests = Collections.unmodifiableMap(inFlightRequests);
+    }
+
+    /**
+     * @return pool of the default blocking client or {@code null} if the factory was created with a custom client
+     */
+    public ConnectionPoolStats getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * @return pool of the default non-blocking client or {@code null} if it was not built yet or the factory was
+     *         created with a custom client
+     */
+    public ConnectionPoolStats getAsyncConnectionPool() {
+        return asyncConnectionPool;
+    }
+
+    /**
+     * @return executor of the factory or {@code null} if it was not created yet
+     */
+    public ExecutorStats getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return calls being made per client, e.g. {@code ProjectClient} or {@code TaskClientAsync}, including those
+     *         waiting for a permit, a connection or a retry
+     */
+    public Map<String, Integer> getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    @Override
+    public String toString() {
+        return "TransportStats{connectionPool=" + connectionPool + ", asyncConnectionPool=" + asyncConnectionPool
+                + ", executor=" + executor + ", inFlightRequests=" + inFlightRequests + '}';
+    }
+}
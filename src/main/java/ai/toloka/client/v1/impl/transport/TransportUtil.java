@@ -19,8 +19,11 @@ package ai.toloka.client.v1.impl.transport;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpDelete;
@@ -29,9 +32,10 @@ import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.InputStreamEntity;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.nio.client.HttpAsyncClient;
 
 public class TransportUtil {
 
@@ -42,7 +46,7 @@ public class TransportUtil {
     ) throws IOException {
         HttpGet get = new HttpGet(uri);
         applyConsumer(get, consumer);
-        return client.execute(get);
+        return execute(client, get);
     }
 
     public static HttpResponse executePost(
@@ -53,7 +57,7 @@ public class TransportUtil {
         HttpPost post = new HttpPost(uri);
         post.addHeader("Content-Type", ContentType.APPLICATION_JSON.toString());
         applyConsumer(post, consumer);
-        return client.execute(post);
+        return execute(client, post);
     }
 
     public static HttpResponse executePost(
@@ -63,18 +67,25 @@ public class TransportUtil {
             Object body
     ) throws IOException {
         HttpPost post = new HttpPost(uri);
+        post.setEntity(JsonEntity.of(body));
         applyConsumer(post, consumer);
-        post.setEntity(new StringEntity(MapperUtil.getObjectWriter().writeValueAsString(body),
-                ContentType.APPLICATION_JSON));
-        return client.execute(post);
+        return execute(client, post);
     }
 
     public static HttpResponse executePost(HttpClient client, URI uri, Consumer<HttpRequestBase> consumer,
                                            InputStream bodyStream) throws IOException {
         HttpPost post = new HttpPost(uri);
-        applyConsumer(post, consumer);
         post.setEntity(new InputStreamEntity(bodyStream, ContentType.APPLICATION_JSON));
-        return client.execute(post);
+        applyConsumer(post, consumer);
+        return execute(client, post);
+    }
+
+    public static HttpResponse executePost(HttpClient client, URI uri, Consumer<HttpRequestBase> consumer,
+                                           HttpEntity entity) throws IOException {
+        HttpPost post = new HttpPost(uri);
+        post.setEntity(entity);
+        applyConsumer(post, consumer);
+        return execute(client, post);
     }
 
     public static HttpResponse executePut(
@@ -84,10 +95,9 @@ public class TransportUtil {
             Object body
     ) throws IOException {
         HttpPut put = new HttpPut(uri);
+        put.setEntity(JsonEntity.of(body));
         applyConsumer(put, consumer);
-        put.setEntity(new StringEntity(MapperUtil.getObjectWriter().writeValueAsString(body),
-                ContentType.APPLICATION_JSON));
-        return client.execute(put);
+        return execute(client, put);
     }
 
     public static HttpResponse executePatch(
@@ -97,10 +107,9 @@ public class TransportUtil {
             Object body
     ) throws IOException {
         HttpPatch patch = new HttpPatch(uri);
+        patch.setEntity(JsonEntity.of(body));
         applyConsumer(patch, consumer);
-        patch.setEntity(new StringEntity(MapperUtil.getObjectWriter().writeValueAsString(body),
-                ContentType.APPLICATION_JSON));
-        return client.execute(patch);
+        return execute(client, patch);
     }
 
     public static HttpResponse executeDelete(
@@ -110,7 +119,129 @@ public class TransportUtil {
     ) throws IOException {
         HttpDelete delete = new HttpDelete(uri);
         applyConsumer(delete, consumer);
-        return client.execute(delete);
+        return execute(client, delete);
+    }
+
+    public static CompletableFuture<HttpResponse> executeGetAsync(
+            HttpAsyncClient client,
+            URI uri,
+            Consumer<HttpRequestBase> consumer
+    ) {
+        HttpGet get = new HttpGet(uri);
+        applyConsumer(get, consumer);
+        return executeAsync(client, get);
+    }
+
+    public static CompletableFuture<HttpResponse> executePostAsync(
+            HttpAsyncClient client,
+            URI uri,
+            Consumer<HttpRequestBase> consumer
+    ) {
+        HttpPost post = new HttpPost(uri);
+        post.addHeader("Content-Type", ContentType.APPLICATION_JSON.toString());
+        applyConsumer(post, consumer);
+        return executeAsync(client, post);
+    }
+
+    public static CompletableFuture<HttpResponse> executePostAsync(
+            HttpAsyncClient client,
+            URI uri,
+            Consumer<HttpRequestBase> consumer,
+            Object body
+    ) throws IOException {
+        HttpPost post = new HttpPost(uri);
+        post.setEntity(JsonEntity.buffered(body));
+        applyConsumer(post, consumer);
+        return executeAsync(client, post);
+    }
+
+    public static CompletableFuture<HttpResponse> executePutAsync(
+            HttpAsyncClient client,
+            URI uri,
+            Consumer<HttpRequestBase> consumer,
+            Object body
+    ) throws IOException {
+        HttpPut put = new HttpPut(uri);
+        put.setEntity(JsonEntity.buffered(body));
+        applyConsumer(put, consumer);
+        return executeAsync(client, put);
+    }
+
+    public static CompletableFuture<HttpResponse> executePatchAsync(
+            HttpAsyncClient client,
+            URI uri,
+            Consumer<HttpRequestBase> consumer,
+            Object body
+    ) throws IOException {
+        HttpPatch patch = new HttpPatch(uri);
+        patch.setEntity(JsonEntity.buffered(body));
+        applyConsumer(patch, consumer);
+        return executeAsync(client, patch);
+    }
+
+    /**
+     * Sends the request with the {@link RequestOptions} of the current scope applied, recording it in the current
+     * {@link RequestTrace} if any.
+     */
+    private static HttpResponse execute(HttpClient client, HttpRequestBase request) throws IOException {
+        RequestOptions.applyCurrent(request, client);
+
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return client.execute(request);
+        }
+
+        trace.requestSent(request);
+        HttpResponse response = client.execute(request);
+        trace.responseReceived(response);
+        return response;
+    }
+
+    /**
+     * Bridges {@link HttpAsyncClient} callback API to {@link CompletableFuture}. Cancelling returned future aborts
+     * the underlying exchange. {@link RequestOptions} of the current scope are applied before starting it.
+     */
+    private static CompletableFuture<HttpResponse> executeAsync(HttpAsyncClient client, HttpRequestBase request) {
+        try {
+            RequestOptions.applyCurrent(request, client);
+        } catch (DeadlineExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        final RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.requestSent(request);
+        }
+
+        final CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+
+        final Future<HttpResponse> exchange = client.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                if (trace != null) {
+                    trace.responseReceived(response);
+                }
+                result.complete(response);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                result.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+
+        result.whenComplete((response, ex) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+
+        return result;
     }
 
     private static void applyConsumer(HttpRequestBase httpRequest, Consumer<HttpRequestBase> httpConsumer) {
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.operation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Checks the operation status with exponentially growing intervals: short operations are noticed soon after they
+ * finish, while long ones do not burn requests.
+ *
+ * <p>The first check is delayed by {@code initialDelay} if the operation has just started. Each next interval is
+ * {@code multiplier} times longer than the previous one up to {@code maxInterval}, and is randomly shortened by up to
+ * {@code jitter} of its length, so that many operations waited together do not poll in lockstep. If the operation
+ * reports its progress, the interval is also limited by the time left estimated from the progress rate.
+ */
+public final class ExponentialBackoffPollingStrategy implements PollingStrategy {
+
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 500;
+    public static final long DEFAULT_INITIAL_INTERVAL_MILLIS = 500;
+    public static final double DEFAULT_MULTIPLIER = 1.5;
+    public static final long DEFAULT_MAX_INTERVAL_MILLIS = 15 * 1000;
+    public static final double DEFAULT_JITTER = 0.2;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 10 * 60 * 1000;
+
+    public static final ExponentialBackoffPollingStrategy DEFAULT = make().done();
+
+    private static final int FULL_PROGRESS = 100;
+
+    private final long initialDelayMillis;
+    private final long initialIntervalMillis;
+    private final double multiplier;
+    private final long maxIntervalMillis;
+    private final double jitter;
+    private final long timeoutMillis;
+    private final boolean progressAware;
+
+    private ExponentialBackoffPollingStrategy(Builder builder) {
+        this.initialDelayMillis = builder.initialDelayMillis;
+        this.initialIntervalMillis = builder.initialIntervalMillis;
+        this.multiplier = builder.multiplier;
+        this.maxIntervalMillis = builder.maxIntervalMillis;
+        this.jitter = builder.jitter;
+        this.timeoutMillis = builder.timeoutMillis;
+        this.progressAware = builder.progressAware;
+    }
+
+    public static Builder make() {
+        return new Builder();
+    }
+
+    @Override
+    public long getDelayMillis(Operation<?, ?> operation, int attempt) {
+        long now = System.currentTimeMillis();
+
+        if (attempt == 0) {
+            // if waiting started immediately after the operation was created then it's better to wait a little
+            // before the first check
+            boolean justStarted = operation.getStarted() == null
+                    || now - operation.getStarted().getTime() < initialDelayMillis;
+            return justStarted ? initialDelayMillis : 0;
+        }
+
+        double interval = Math.min(maxIntervalMillis, initialIntervalMillis * Math.pow(multiplier, attempt - 1));
+
+        Integer progress = operation.getProgress();
+        if (progressAware && progress != null && progress > 0 && progress < FULL_PROGRESS
+                && operation.getStarted() != null) {
+
+            long elapsed = Math.max(0, now - operation.getStarted().getTime());
+            double estimatedLeft = (double) elapsed * (FULL_PROGRESS - progress) / progress;
+            interval = Math.max(initialIntervalMillis, Math.min(interval, estimatedLeft));
+        }
+
+        if (jitter > 0) {
+            interval -= interval * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) interval;
+    }
+
+    @Override
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public static class Builder {
+
+        private long initialDelayMillis = DEFAULT_INITIAL_DELAY_MILLIS;
+        private long initialIntervalMillis = DEFAULT_INITIAL_INTERVAL_MILLIS;
+        private double multiplier = DEFAULT_MULTIPLIER;
+        private long maxIntervalMillis = DEFAULT_MAX_INTERVAL_MILLIS;
+        private double jitter = DEFAULT_JITTER;
+        private long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+        private boolean progressAware = true;
+
+        private Builder() {
+        }
+
+        public Builder initialDelay(long initialDelayMillis) {
+            this.initialDelayMillis = checkNotNegative(initialDelayMillis, "Initial delay");
+            return this;
+        }
+
+        public Builder initialInterval(long initialIntervalMillis) {
+            this.initialIntervalMillis = checkNotNegative(initialIntervalMillis, "Initial interval");
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            if (multiplier < 1) {
+                throw new IllegalArgumentException("Multiplier may not be less than 1");
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public Builder maxInterval(long maxIntervalMillis) {
+            this.maxIntervalMillis = checkNotNegative(maxIntervalMillis, "Max interval");
+            return this;
+        }
+
+        /**
+         * @param jitter fraction of an interval it may be randomly shortened by, from 0 to 1
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("Jitter should be between 0 and 1");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        public Builder timeout(long timeoutMillis) {
+            this.timeoutMillis = checkNotNegative(timeoutMillis, "Timeout");
+            return this;
+        }
+
+        public Builder progressAware(boolean progressAware) {
+            this.progressAware = progressAware;
+            return this;
+        }
+
+        public ExponentialBackoffPollingStrategy done() {
+            return new ExponentialBackoffPollingStrategy(this);
+        }
+
+        private static long checkNotNegative(long value, String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException(name + " may not be negative");
+            }
+            return value;
+        }
+    }
+}
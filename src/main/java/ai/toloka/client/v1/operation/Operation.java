@@ -169,39 +169,67 @@ public abstract class Operation<P, T extends Operation<P, T>> {
         }
     }
 
-    @SuppressWarnings("unchecked")
     public T waitToComplete() throws InterruptedException {
+        return waitToComplete(getClientPollingStrategy());
+    }
+
+    /**
+     * @param pollingStrategy strategy used instead of the one of the client factory for this call
+     */
+    @SuppressWarnings("unchecked")
+    public T waitToComplete(PollingStrategy pollingStrategy) throws InterruptedException {
         if (isPseudo()) {
             return (T) this;
         } else {
-            return OperationUtil.waitToComplete((T) this, operationClient);
+            return OperationUtil.waitToComplete((T) this, operationClient, pollingStrategy);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public T waitToCompleteUninterrupted() {
+        return waitToCompleteUninterrupted(getClientPollingStrategy());
+    }
+
+    /**
+     * @param pollingStrategy strategy used instead of the one of the client factory for this call
+     */
+    @SuppressWarnings("unchecked")
+    public T waitToCompleteUninterrupted(PollingStrategy pollingStrategy) {
         if (isPseudo()) {
             return (T) this;
         } else {
-            return OperationUtil.waitToCompleteUninterrupted((T) this, operationClient);
+            return OperationUtil.waitToCompleteUninterrupted((T) this, operationClient, pollingStrategy);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public T waitAndGetSuccessful() throws InterruptedException {
+        return waitAndGetSuccessful(getClientPollingStrategy());
+    }
+
+    /**
+     * @param pollingStrategy strategy used instead of the one of the client factory for this call
+     */
+    @SuppressWarnings("unchecked")
+    public T waitAndGetSuccessful(PollingStrategy pollingStrategy) throws InterruptedException {
         if (isPseudo()) {
             return (T) this;
         } else {
-            return OperationUtil.waitAndGetSuccessful((T) this, operationClient);
+            return OperationUtil.waitAndGetSuccessful((T) this, operationClient, pollingStrategy);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public T waitAndGetSuccessfulUninterrupted() {
+        return waitAndGetSuccessfulUninterrupted(getClientPollingStrategy());
+    }
+
+    /**
+     * @param pollingStrategy strategy used instead of the one of the client factory for this call
+     */
+    @SuppressWarnings("unchecked")
+    public T waitAndGetSuccessfulUninterrupted(PollingStrategy pollingStrategy) {
         if (isPseudo()) {
             return (T) this;
         } else {
-            return OperationUtil.waitAndGetSuccessfulUninterrupted((T) this, operationClient);
+            return OperationUtil.waitAndGetSuccessfulUninterrupted((T) this, operationClient, pollingStrategy);
         }
     }
 
@@ -213,6 +241,12 @@ public abstract class Operation<P, T extends Operation<P, T>> {
         operation.operationClient = operationClient;
     }
 
+    private PollingStrategy getClientPollingStrategy() {
+        return operationClient != null
+                ? operationClient.getPollingStrategy()
+                : ExponentialBackoffPollingStrategy.DEFAULT;
+    }
+
     public static Operation createPseudo(Date currentDateTime) {
         return new Operation(currentDateTime) {};
     }
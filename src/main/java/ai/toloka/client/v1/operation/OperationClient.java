@@ -29,4 +29,11 @@ public interface OperationClient {
     <T extends Operation<?, ?>> T getOperation(String operationId, Class<T> c);
 
     Iterator<OperationLogItem> getOperationLog(String operationId);
+
+    /**
+     * @return strategy used by operations bound to this client while waiting for their completion
+     */
+    default PollingStrategy getPollingStrategy() {
+        return ExponentialBackoffPollingStrategy.DEFAULT;
+    }
 }
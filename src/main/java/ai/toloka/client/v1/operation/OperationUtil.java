@@ -18,55 +18,49 @@ package ai.toloka.client.v1.operation;
 
 class OperationUtil {
 
-    public static final int DEFAULT_TIME_TO_WAIT_MILLIS = 1000;
-    public static final int DEFAULT_TIMEOUT_MILLIS = 10 * 60 * 1000;
-    public static final int DEFAULT_INITIAL_DELAY_MILLIS = 500;
-
     @SuppressWarnings("unchecked")
-    static <P, T extends Operation<P, T>> T waitToComplete(T operation, OperationClient client)
+    static <P, T extends Operation<P, T>> T waitToComplete(T operation, OperationClient client,
+                                                           PollingStrategy pollingStrategy)
             throws InterruptedException {
 
         if (operation == null || operation.getStatus().isTerminal()) {
             return operation;
         }
 
-        long now = System.currentTimeMillis();
-        long timeoutMillis = now + DEFAULT_TIMEOUT_MILLIS;
+        long deadlineMillis = System.currentTimeMillis() + pollingStrategy.getTimeoutMillis();
 
-        if (operation.getStarted() == null || now - operation.getStarted().getTime() < DEFAULT_INITIAL_DELAY_MILLIS) {
-            // if this method called immediately after watcher was created then it's better to wait a little before
-            // first check
-            Thread.sleep(DEFAULT_INITIAL_DELAY_MILLIS);
-        }
+        Operation<?, ?> lastSeen = operation;
+        for (int attempt = 0; ; attempt++) {
+            long remainingMillis = deadlineMillis - System.currentTimeMillis();
+            Thread.sleep(Math.max(0, Math.min(pollingStrategy.getDelayMillis(lastSeen, attempt), remainingMillis)));
 
-        while (true) {
-            Operation<?, ?> newOperation = client.getOperation(operation.getId());
+            lastSeen = client.getOperation(operation.getId());
 
-            if (newOperation.isCompleted()) {
-                return (T) newOperation;
+            if (lastSeen.isCompleted()) {
+                return (T) lastSeen;
             }
 
-            Thread.sleep(DEFAULT_TIME_TO_WAIT_MILLIS);
-
-            if (System.currentTimeMillis() > timeoutMillis) {
+            if (System.currentTimeMillis() >= deadlineMillis) {
                 throw new OperationTimeoutException();
             }
         }
     }
 
-    static <P, T extends Operation<P, T>> T waitToCompleteUninterrupted(T operation, OperationClient client) {
+    static <P, T extends Operation<P, T>> T waitToCompleteUninterrupted(T operation, OperationClient client,
+                                                                        PollingStrategy pollingStrategy) {
         try {
-            return waitToComplete(operation, client);
+            return waitToComplete(operation, client, pollingStrategy);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
     }
 
-    static <P, T extends Operation<P, T>> T waitAndGetSuccessful(T operation, OperationClient client)
+    static <P, T extends Operation<P, T>> T waitAndGetSuccessful(T operation, OperationClient client,
+                                                                 PollingStrategy pollingStrategy)
             throws InterruptedException {
 
-        T completed = waitToComplete(operation, client);
+        T completed = waitToComplete(operation, client, pollingStrategy);
 
         if (!completed.isSuccess()) {
             throw new OperationFailedException(completed.getDetailsAsMap());
@@ -75,9 +69,10 @@ class OperationUtil {
         return completed;
     }
 
-    static <P, T extends Operation<P, T>> T waitAndGetSuccessfulUninterrupted(T operation, OperationClient client) {
+    static <P, T extends Operation<P, T>> T waitAndGetSuccessfulUninterrupted(T operation, OperationClient client,
+                                                                              PollingStrategy pollingStrategy) {
         try {
-            return waitAndGetSuccessful(operation, client);
+            return waitAndGetSuccessful(operation, client, pollingStrategy);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException(e);
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.operation;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.toloka.client.v1.RangeOperator;
+import ai.toloka.client.v1.SearchResult;
+
+import static ai.toloka.client.v1.impl.validation.Assertions.checkArgNotNull;
+
+/**
+ * Tracks completion of many operations with a single poller instead of a waiting thread per operation.
+ *
+ * <p>On every tick the watcher lists operations finished since the previous tick, sorted by finish date and id, and
+ * completes the futures of the watched ones found there. The listing is limited to the type of watched operations if
+ * they all share one. So the number of requests depends on how many operations finish, not on how many are watched.
+ * Futures of operations that are not finished within the timeout are completed with
+ * {@link OperationTimeoutException}.
+ *
+ * <p>The watcher owns one daemon thread, call {@link #close()} to stop it.
+ */
+public class OperationWatcher implements AutoCloseable {
+
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Finish dates are assigned when operations complete, not when they become visible in search, so every scan
+     * starts a bit before the latest date seen by the previous one.
+     */
+    static final long FINISHED_OVERLAP_MILLIS = 5000;
+
+    static final int PAGE_LIMIT = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationWatcher.class);
+
+    private final OperationClient operationClient;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Watched> watched = new ConcurrentHashMap<>();
+
+    /**
+     * Accessed by the scheduler thread only.
+     */
+    private Date finishedFrom;
+
+    /**
+     * Creates a watcher that polls every {@link #DEFAULT_POLL_INTERVAL_MILLIS} milliseconds and gives up on an
+     * operation after the timeout of the polling strategy of the client.
+     */
+    public OperationWatcher(OperationClient operationClient) {
+        this(operationClient, DEFAULT_POLL_INTERVAL_MILLIS, operationClient.getPollingStrategy().getTimeoutMillis());
+    }
+
+    public OperationWatcher(OperationClient operationClient, long pollIntervalMillis, long timeoutMillis) {
+        checkArgNotNull(operationClient, "Operation client may not be null");
+        if (pollIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Poll interval must be positive");
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+
+        this.operationClient = operationClient;
+        this.timeoutMillis = timeoutMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "toloka-operation-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts watching the operation. Pseudo and already completed operations are returned at once.
+     *
+     * <p>Watching the same operation again returns the same future. Cancelling it stops watching the operation.
+     *
+     * @return future completed with the finished operation, successful or not
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Operation<?, ?>> CompletableFuture<T> watch(T operation) {
+        checkArgNotNull(operation, "Operation may not be null");
+
+        if (operation.isPseudo() || operation.isCompleted()) {
+            return CompletableFuture.completedFuture(operation);
+        }
+        if (scheduler.isShutdown()) {
+            throw new IllegalStateException("Operation watcher is closed");
+        }
+
+        Watched entry = watched.computeIfAbsent(operation.getId(), id -> {
+            Watched created = new Watched(operation);
+            created.future.whenComplete((completed, error) -> watched.remove(id, created));
+            return created;
+        });
+        return (CompletableFuture<T>) (CompletableFuture<?>) entry.future;
+    }
+
+    /**
+     * @return number of operations that are not completed yet
+     */
+    public int getWatchedCount() {
+        return watched.size();
+    }
+
+    /**
+     * Stops polling. Futures of operations still watched are cancelled.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        for (Watched entry : watched.values()) {
+            entry.future.cancel(false);
+        }
+    }
+
+    void poll() {
+        if (watched.isEmpty()) {
+            return;
+        }
+        try {
+            scanFinished();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to poll watched operations, will retry on the next tick", e);
+        }
+        expireTimedOut();
+    }
+
+    private void scanFinished() {
+        Date from = finishedFrom;
+        Set<OperationType> types = new HashSet<>();
+        List<Watched> unscanned = new ArrayList<>();
+        for (Watched entry : watched.values()) {
+            types.add(entry.type);
+            if (!entry.scanned) {
+                unscanned.add(entry);
+                if (from == null || entry.submitted.before(from)) {
+                    from = entry.submitted;
+                }
+            }
+        }
+        if (from == null) {
+            return;
+        }
+        OperationType type = types.size() == 1 ? types.iterator().next() : null;
+
+        Date latestFinished = null;
+        Date cursor = from;
+        boolean pastCursor = false;
+        String tieAfterId = null;
+        while (!watched.isEmpty()) {
+            SearchResult<Operation<?, ?>> page = operationClient.findOperations(
+                    pageRequest(type, cursor, pastCursor, tieAfterId));
+
+            List<Operation<?, ?>> items = page.getItems();
+            for (Operation<?, ?> operation : items) {
+                Watched entry = watched.get(operation.getId());
+                if (entry != null && operation.isCompleted()) {
+                    entry.future.complete(operation);
+                }
+                if (operation.getFinished() != null
+                        && (latestFinished == null || operation.getFinished().after(latestFinished))) {
+                    latestFinished = operation.getFinished();
+                }
+            }
+
+            boolean hasMore = page.isHasMore() && !items.isEmpty();
+            Operation<?, ?> last = hasMore ? items.get(items.size() - 1) : null;
+            if (tieAfterId != null) {
+                // operations finished at the cursor are paged by id, then the scan goes on after the cursor
+                tieAfterId = hasMore ? last.getId() : null;
+                pastCursor = !hasMore;
+                continue;
+            }
+            if (!hasMore || last.getFinished() == null) {
+                break;
+            }
+            cursor = last.getFinished();
+            pastCursor = false;
+            tieAfterId = last.getId();
+        }
+
+        for (Watched entry : unscanned) {
+            entry.scanned = true;
+        }
+        finishedFrom = latestFinished == null
+                ? from
+                : new Date(Math.max(from.getTime(), latestFinished.getTime() - FINISHED_OVERLAP_MILLIS));
+    }
+
+    /**
+     * @return request of the page following the cursor: operations finished at the cursor with ids greater than
+     *     {@code tieAfterId} if it is set, or operations finished at or after the cursor otherwise
+     */
+    private static OperationSearchRequest pageRequest(OperationType type, Date cursor, boolean pastCursor,
+                                                      String tieAfterId) {
+        OperationSearchRequest.OperationBuilder builder = OperationSearchRequest.make().limit(PAGE_LIMIT);
+        if (type != null) {
+            builder.filter().byType(type);
+        }
+        if (tieAfterId != null) {
+            builder.range().byFinished(cursor).gte().byFinished(cursor).lte().byId(tieAfterId).gt();
+            builder.sort().byId().asc();
+        } else {
+            builder.range().by(OperationRangeParam.finished, cursor, pastCursor ? RangeOperator.gt : RangeOperator.gte);
+            builder.sort().byFinished().asc().byId().asc();
+        }
+        return builder.done();
+    }
+
+    private void expireTimedOut() {
+        long now = System.currentTimeMillis();
+        for (Watched entry : watched.values()) {
+            if (now - entry.watchedSince >= timeoutMillis) {
+                entry.future.completeExceptionally(new OperationTimeoutException());
+            }
+        }
+    }
+
+    private static class Watched {
+
+        private final OperationType type;
+        private final Date submitted;
+        private final long watchedSince = System.currentTimeMillis();
+        private final CompletableFuture<Operation<?, ?>> future = new CompletableFuture<>();
+
+        private volatile boolean scanned;
+
+        Watched(Operation<?, ?> operation) {
+            this.type = operation.getType();
+            this.submitted = operation.getSubmitted() != null ? operation.getSubmitted() : new Date();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.operation;
+
+/**
+ * Decides how often the status of a running operation is checked while waiting for its completion. A single instance
+ * may be shared by all operations of a client factory, so implementations should be thread-safe.
+ *
+ * @see ExponentialBackoffPollingStrategy
+ */
+public interface PollingStrategy {
+
+    /**
+     * @param operation operation as it was seen on the previous check, or the initial one before the first check
+     * @param attempt   number of checks made so far
+     * @return delay before the next status check in milliseconds
+     */
+    long getDelayMillis(Operation<?, ?> operation, int attempt);
+
+    /**
+     * @return overall limit of waiting in milliseconds, {@link OperationTimeoutException} is thrown after it
+     */
+    long getTimeoutMillis();
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.project;
+
+import java.util.concurrent.CompletableFuture;
+
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+
+/**
+ * Non-blocking variant of {@link ProjectClient}.
+ */
+public interface ProjectClientAsync {
+
+    CompletableFuture<SearchResult<Project>> findProjects(ProjectSearchRequest request);
+
+    CompletableFuture<Project> getProject(String projectId);
+
+    CompletableFuture<ModificationResult<Project>> createProject(Project project);
+
+    CompletableFuture<ModificationResult<Project>> updateProject(String projectId, Project project);
+
+    CompletableFuture<ProjectArchiveOperation> archiveProject(String projectId);
+}
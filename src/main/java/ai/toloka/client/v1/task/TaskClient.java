@@ -18,10 +18,16 @@ package ai.toloka.client.v1.task;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.BulkUpload;
 import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.RangePartitioning;
 import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.ChunkedUploader;
+import ai.toloka.client.v1.impl.SearchStreams;
 
 public interface TaskClient {
 
@@ -33,12 +39,73 @@ public interface TaskClient {
 
     BatchCreateResult<Task> createTasks(List<Task> tasks, TaskCreateRequestParameters parameters);
 
+    /**
+     * Creates tasks in chunks sent concurrently, see {@link BulkUpload}. Unlike {@link #createTasksAsync(Iterator)}
+     * the result contains created tasks and validation errors keyed by positions in the whole input.
+     *
+     * @throws ai.toloka.client.v1.BulkUploadException with tasks created before a chunk failed
+     */
+    default BatchCreateResult<Task> createTasks(Iterator<Task> tasks, BulkUpload upload) {
+        return createTasks(tasks, null, upload);
+    }
+
+    /**
+     * Implementations without concurrent upload, like the default one, send chunks one by one with
+     * {@link #createTasks(List, TaskCreateRequestParameters)}.
+     *
+     * @param parameters parameters of every chunk request
+     * @throws IllegalArgumentException if operation id is set, since it would be shared by all chunks
+     */
+    default BatchCreateResult<Task> createTasks(Iterator<Task> tasks, TaskCreateRequestParameters parameters,
+                                                BulkUpload upload) {
+        return ChunkedUploader.uploadSequentially(tasks, parameters, upload, chunk -> createTasks(chunk, parameters));
+    }
+
     TaskCreateBatchOperation createTasksAsync(Iterator<Task> tasks);
 
     TaskCreateBatchOperation createTasksAsync(Iterator<Task> tasks, TaskCreateRequestParameters parameters);
 
     SearchResult<Task> findTasks(TaskSearchRequest request);
 
+    /**
+     * Reads one page of tasks passing them to the consumer while the response is being parsed, see
+     * {@link ai.toloka.client.v1.assignment.AssignmentClient#findAssignments(
+     * ai.toloka.client.v1.assignment.AssignmentSearchRequest, Consumer)}.
+     *
+     * @return whether there are more tasks after this page
+     */
+    default boolean findTasks(TaskSearchRequest request, Consumer<? super Task> consumer) {
+        SearchResult<Task> result = findTasks(request);
+        result.getItems().forEach(consumer);
+        return result.isHasMore();
+    }
+
+    /**
+     * Lazily iterates over all tasks matching the request, see
+     * {@link ai.toloka.client.v1.assignment.AssignmentClient#streamAssignments}.
+     */
+    default Stream<Task> streamTasks(TaskSearchRequest request) {
+        return SearchStreams.keyset(request, TaskSearchRequest::new, this::findTasks, Task::getId);
+    }
+
+    /**
+     * Lazily iterates over all tasks matching the request, prefetching next pages in background, see
+     * {@link ai.toloka.client.v1.assignment.AssignmentClient#streamAssignments(
+     * ai.toloka.client.v1.assignment.AssignmentSearchRequest, int)}.
+     */
+    default Stream<Task> streamTasks(TaskSearchRequest request, int prefetchPages) {
+        return streamTasks(request);
+    }
+
+    /**
+     * Iterates over all tasks matching the request, paging through slices of a created date range concurrently, see
+     * {@link ai.toloka.client.v1.assignment.AssignmentClient#streamAssignments(
+     * ai.toloka.client.v1.assignment.AssignmentSearchRequest, RangePartitioning)}.
+     */
+    default Stream<Task> streamTasks(TaskSearchRequest request, RangePartitioning<TaskRangeParam> partitioning) {
+        return SearchStreams.keyset(request, partitioning, TaskSearchRequest::new, this::findTasks, Task::getId);
+    }
+
     Task getTask(String taskId);
 
     ModificationResult<Task> patchTask(String taskId, TaskPatch patch);
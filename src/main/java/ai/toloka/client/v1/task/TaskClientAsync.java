@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.task;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+
+/**
+ * Non-blocking variant of {@link TaskClient}.
+ */
+public interface TaskClientAsync {
+
+    CompletableFuture<ModificationResult<Task>> createTask(Task task);
+
+    CompletableFuture<ModificationResult<Task>> createTask(Task task, TaskCreateRequestParameters parameters);
+
+    CompletableFuture<BatchCreateResult<Task>> createTasks(List<Task> tasks);
+
+    CompletableFuture<BatchCreateResult<Task>> createTasks(List<Task> tasks, TaskCreateRequestParameters parameters);
+
+    CompletableFuture<SearchResult<Task>> findTasks(TaskSearchRequest request);
+
+    CompletableFuture<Task> getTask(String taskId);
+
+    CompletableFuture<ModificationResult<Task>> patchTask(String taskId, TaskPatch patch);
+
+    CompletableFuture<ModificationResult<Task>> patchTask(String taskId, TaskPatch patch,
+                                                          TaskPatchRequestParameters parameters);
+
+    CompletableFuture<ModificationResult<Task>> setOverlapOrMin(String taskId, TaskOverlapPatch overlapPatch);
+}
@@ -20,18 +20,25 @@ import ai.toloka.client.v1.RangeParam;
 
 public enum TaskRangeParam implements RangeParam {
 
-    id(TaskSearchRequest.ID_PARAMETER),
-    created(TaskSearchRequest.CREATED_PARAMETER),
-    overlap(TaskSearchRequest.OVERLAP);
+    id(TaskSearchRequest.ID_PARAMETER, false),
+    created(TaskSearchRequest.CREATED_PARAMETER, true),
+    overlap(TaskSearchRequest.OVERLAP, false);
 
     private String parameter;
+    private boolean date;
 
-    TaskRangeParam(String parameter) {
+    TaskRangeParam(String parameter, boolean date) {
         this.parameter = parameter;
+        this.date = date;
     }
 
     @Override
     public String parameter() {
         return parameter;
     }
+
+    @Override
+    public boolean isDate() {
+        return date;
+    }
 }
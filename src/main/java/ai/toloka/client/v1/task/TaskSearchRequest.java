@@ -31,8 +31,8 @@ public class TaskSearchRequest extends SearchRequest {
     static final String POOL_ID_PARAMETER = "pool_id";
     static final String OVERLAP = "overlap";
 
-    private TaskSearchRequest(Map<String, Object> filterParameters, Map<String, Object> rangeParameters,
-                              String sortParameter, Integer limit) {
+    TaskSearchRequest(Map<String, Object> filterParameters, Map<String, Object> rangeParameters,
+                      String sortParameter, Integer limit) {
 
         super(filterParameters, rangeParameters, sortParameter, limit);
     }
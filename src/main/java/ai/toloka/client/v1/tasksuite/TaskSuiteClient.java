@@ -18,10 +18,15 @@ package ai.toloka.client.v1.tasksuite;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.BulkUpload;
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.ChunkedUploader;
+import ai.toloka.client.v1.impl.SearchStreams;
 
 public interface TaskSuiteClient {
 
@@ -34,6 +39,24 @@ public interface TaskSuiteClient {
     BatchCreateResult<TaskSuite> createTaskSuites(List<TaskSuite> taskSuites,
                                                   TaskSuiteCreateRequestParameters parameters);
 
+    /**
+     * Creates task suites in chunks sent concurrently, see
+     * {@link ai.toloka.client.v1.task.TaskClient#createTasks(Iterator, BulkUpload)}.
+     */
+    default BatchCreateResult<TaskSuite> createTaskSuites(Iterator<TaskSuite> taskSuites, BulkUpload upload) {
+        return createTaskSuites(taskSuites, null, upload);
+    }
+
+    /**
+     * @throws IllegalArgumentException if operation id is set, since it would be shared by all chunks
+     */
+    default BatchCreateResult<TaskSuite> createTaskSuites(Iterator<TaskSuite> taskSuites,
+                                                          TaskSuiteCreateRequestParameters parameters,
+                                                          BulkUpload upload) {
+        return ChunkedUploader.uploadSequentially(taskSuites, parameters, upload,
+                chunk -> createTaskSuites(chunk, parameters));
+    }
+
     TaskSuiteCreateBatchOperation createTaskSuitesAsync(Iterator<TaskSuite> taskSuites);
 
     TaskSuiteCreateBatchOperation createTaskSuitesAsync(Iterator<TaskSuite> taskSuites,
@@ -41,6 +64,36 @@ public interface TaskSuiteClient {
 
     SearchResult<TaskSuite> findTaskSuites(TaskSuiteSearchRequest request);
 
+    /**
+     * Reads one page of task suites passing them to the consumer while the response is being parsed, see
+     * {@link ai.toloka.client.v1.assignment.AssignmentClient#findAssignments(
+     * ai.toloka.client.v1.assignment.AssignmentSearchRequest, Consumer)}.
+     *
+     * @return whether there are more task suites after this page
+     */
+    default boolean findTaskSuites(TaskSuiteSearchRequest request, Consumer<? super TaskSuite> consumer) {
+        SearchResult<TaskSuite> result = findTaskSuites(request);
+        result.getItems().forEach(consumer);
+        return result.isHasMore();
+    }
+
+    /**
+     * Lazily iterates over all task suites matching the request, see
+     * {@link ai.toloka.client.v1.assignment.AssignmentClient#streamAssignments}.
+     */
+    default Stream<TaskSuite> streamTaskSuites(TaskSuiteSearchRequest request) {
+        return SearchStreams.keyset(request, TaskSuiteSearchRequest::new, this::findTaskSuites, TaskSuite::getId);
+    }
+
+    /**
+     * Lazily iterates over all task suites matching the request, prefetching next pages in background, see
+     * {@link ai.toloka.client.v1.assignment.AssignmentClient#streamAssignments(
+     * ai.toloka.client.v1.assignment.AssignmentSearchRequest, int)}.
+     */
+    default Stream<TaskSuite> streamTaskSuites(TaskSuiteSearchRequest request, int prefetchPages) {
+        return streamTaskSuites(request);
+    }
+
     TaskSuite getTaskSuite(String taskSuiteId);
 
     ModificationResult<TaskSuite> patchTaskSuite(String taskSuiteId, TaskSuitePatch patch);
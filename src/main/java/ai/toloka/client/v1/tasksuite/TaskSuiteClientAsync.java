@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.tasksuite;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.ModificationResult;
+import ai.toloka.client.v1.SearchResult;
+
+/**
+ * Non-blocking variant of {@link TaskSuiteClient}.
+ */
+public interface TaskSuiteClientAsync {
+
+    CompletableFuture<ModificationResult<TaskSuite>> createTaskSuite(TaskSuite taskSuite);
+
+    CompletableFuture<ModificationResult<TaskSuite>> createTaskSuite(TaskSuite taskSuite,
+                                                                     TaskSuiteCreateRequestParameters parameters);
+
+    CompletableFuture<BatchCreateResult<TaskSuite>> createTaskSuites(List<TaskSuite> taskSuites);
+
+    CompletableFuture<BatchCreateResult<TaskSuite>> createTaskSuites(List<TaskSuite> taskSuites,
+                                                                     TaskSuiteCreateRequestParameters parameters);
+
+    CompletableFuture<SearchResult<TaskSuite>> findTaskSuites(TaskSuiteSearchRequest request);
+
+    CompletableFuture<TaskSuite> getTaskSuite(String taskSuiteId);
+
+    CompletableFuture<ModificationResult<TaskSuite>> patchTaskSuite(String taskSuiteId, TaskSuitePatch patch);
+
+    CompletableFuture<ModificationResult<TaskSuite>> patchTaskSuite(String taskSuiteId,
+                                                                    TaskSuitePatch patch,
+                                                                    TaskSuitePatchRequestParameters parameters);
+
+    CompletableFuture<ModificationResult<TaskSuite>> setOverlapOrMin(String taskSuiteId,
+                                                                     TaskSuiteOverlapPatch overlapPatch);
+}
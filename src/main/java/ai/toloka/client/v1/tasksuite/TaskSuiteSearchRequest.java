@@ -32,8 +32,8 @@ public class TaskSuiteSearchRequest extends SearchRequest {
     static final String ID_PARAMETER = "id";
     static final String CREATED_PARAMETER = "created";
 
-    private TaskSuiteSearchRequest(Map<String, Object> filterParameters, Map<String, Object> rangeParameters,
-                                   String sortParameter, Integer limit) {
+    TaskSuiteSearchRequest(Map<String, Object> filterParameters, Map<String, Object> rangeParameters,
+                           String sortParameter, Integer limit) {
 
         super(filterParameters, rangeParameters, sortParameter, limit);
     }
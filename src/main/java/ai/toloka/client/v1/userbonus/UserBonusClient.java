@@ -20,8 +20,10 @@ import java.util.Iterator;
 import java.util.List;
 
 import ai.toloka.client.v1.BatchCreateResult;
+import ai.toloka.client.v1.BulkUpload;
 import ai.toloka.client.v1.ModificationResult;
 import ai.toloka.client.v1.SearchResult;
+import ai.toloka.client.v1.impl.ChunkedUploader;
 
 public interface UserBonusClient {
 
@@ -34,6 +36,23 @@ public interface UserBonusClient {
     BatchCreateResult<UserBonus> createUserBonuses(
             List<UserBonus> userBonuses, UserBonusCreateRequestParameters parameters);
 
+    /**
+     * Creates bonuses in chunks sent concurrently, see
+     * {@link ai.toloka.client.v1.task.TaskClient#createTasks(Iterator, BulkUpload)}.
+     */
+    default BatchCreateResult<UserBonus> createUserBonuses(Iterator<UserBonus> userBonuses, BulkUpload upload) {
+        return createUserBonuses(userBonuses, null, upload);
+    }
+
+    /**
+     * @throws IllegalArgumentException if operation id is set, since it would be shared by all chunks
+     */
+    default BatchCreateResult<UserBonus> createUserBonuses(
+            Iterator<UserBonus> userBonuses, UserBonusCreateRequestParameters parameters, BulkUpload upload) {
+        return ChunkedUploader.uploadSequentially(userBonuses, parameters, upload,
+                chunk -> createUserBonuses(chunk, parameters));
+    }
+
     UserBonusCreateBatchOperation createUserBonusesAsync(Iterator<UserBonus> userBonuses);
 
     UserBonusCreateBatchOperation createUserBonusesAsync(
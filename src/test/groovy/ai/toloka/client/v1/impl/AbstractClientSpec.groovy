@@ -50,6 +50,10 @@ class AbstractClientSpec extends Specification {
         }
     }
 
+    def cleanup() {
+        factory.close()
+    }
+
     def cleanupSpec() {
         if (mockServer != null) {
             mockServer.stop()
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl
+
+import groovy.json.JsonBuilder
+import org.mockserver.client.server.MockServerClient
+
+import static org.mockserver.matchers.Times.once
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+
+class AssignmentClientAsyncImplSpec extends AbstractClientSpec {
+
+    def fixtures = new AssignmentClientImplSpec()
+
+    def "getAssignment"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/assignments/assignment-i1d'), once())
+                .respond(response(new JsonBuilder(fixtures.assignment_map()) as String))
+
+        when:
+        def result = factory.assignmentClientAsync.getAssignment('assignment-i1d').join()
+
+        then:
+        matches result, fixtures.assignment()
+    }
+
+    def "acceptAssignment"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/assignments/assignment-i1d').withMethod('PATCH')
+                .withBody(new JsonBuilder([status: 'ACCEPTED', public_comment: 'Well done']) as String), once())
+                .respond(response(new JsonBuilder(fixtures.assignment_map() + [public_comment: 'Well done']) as String))
+
+        when:
+        def result = factory.assignmentClientAsync.acceptAssignment('assignment-i1d', 'Well done').join()
+
+        then:
+        matches result.result, fixtures.assignment().with { publicComment = 'Well done'; it }
+    }
+}
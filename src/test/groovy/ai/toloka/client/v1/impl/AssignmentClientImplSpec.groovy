@@ -16,12 +16,22 @@
 
 package ai.toloka.client.v1.impl
 
+import java.util.concurrent.Executors
+import java.util.stream.Collectors
+
+import ai.toloka.client.v1.ModificationResult
+import ai.toloka.client.v1.NotFoundException
+import ai.toloka.client.v1.RangePartitioning
+import ai.toloka.client.v1.SearchResult
 import ai.toloka.client.v1.assignment.Assignment
+import ai.toloka.client.v1.assignment.AssignmentClient
 import ai.toloka.client.v1.assignment.AssignmentPatch
+import ai.toloka.client.v1.assignment.AssignmentRangeParam
 import ai.toloka.client.v1.assignment.AssignmentSearchRequest
 import ai.toloka.client.v1.assignment.AssignmentStatus
 import groovy.json.JsonBuilder
 import org.mockserver.client.server.MockServerClient
+import spock.lang.Timeout
 
 import static org.mockserver.matchers.Times.once
 import static org.mockserver.model.HttpRequest.request
@@ -75,6 +85,245 @@ class AssignmentClientImplSpec extends AbstractClientSpec {
         matches result.items[0], assignment()
     }
 
+    def "findAssignments with consumer"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/assignments').withQueryStringParameters(pool_id: ['21']), once())
+                .respond(response(new JsonBuilder([
+                        has_more: true,
+                        unknown : [nested: [1, 2]],
+                        items   : [assignment_map(), assignment_map() + [id: 'a2']]]) as String))
+
+        when:
+        def request = AssignmentSearchRequest.make().filter().byPoolId('21').and().done()
+        def result = []
+        def hasMore = wrap(factory.assignmentClient).findAssignments(request, { result << it })
+
+        then:
+        hasMore
+        result.size() == 2
+        matches result[0], assignment()
+        result[1].id == 'a2'
+
+        where:
+        wrap << [{ it }, { new FindingAssignmentClient(it) }]
+    }
+
+    def "streamAssignments"() {
+        setup:
+        def mockServer = new MockServerClient('localhost', 8083)
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'], limit: ['2']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [assignment_map() + [id: 'a1'], assignment_map() + [id: 'a2']],
+                        has_more: true]) as String))
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'], limit: ['2'], id_gt: ['a2']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [assignment_map() + [id: 'a3']],
+                        has_more: false]) as String))
+
+        when:
+        def request = AssignmentSearchRequest.make()
+                .filter().byPoolId('21')
+                .and()
+                .limit(2)
+                .done()
+
+        def result = factory.assignmentClient.streamAssignments(request).collect(Collectors.toList())
+
+        then:
+        result*.id == ['a1', 'a2', 'a3']
+    }
+
+    def "streamAssignments of client without own streaming pages through findAssignments"() {
+        setup:
+        def mockServer = new MockServerClient('localhost', 8083)
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'], limit: ['2']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [assignment_map() + [id: 'a1'], assignment_map() + [id: 'a2']],
+                        has_more: true]) as String))
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'], limit: ['2'], id_gt: ['a2']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [assignment_map() + [id: 'a3']],
+                        has_more: false]) as String))
+        def client = new FindingAssignmentClient(factory.assignmentClient)
+
+        when:
+        def request = AssignmentSearchRequest.make()
+                .filter().byPoolId('21')
+                .and()
+                .limit(2)
+                .done()
+
+        def result = client.streamAssignments(request, 2).collect(Collectors.toList())
+
+        then:
+        result*.id == ['a1', 'a2', 'a3']
+    }
+
+    def "streamAssignments rejects sort other than by id"() {
+        when:
+        factory.assignmentClient.streamAssignments(AssignmentSearchRequest.make()
+                .sort().bySubmitted().desc()
+                .and()
+                .done())
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "streamAssignments with prefetch"() {
+        setup:
+        def mockServer = new MockServerClient('localhost', 8083)
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'], limit: ['2']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [assignment_map() + [id: 'a1'], assignment_map() + [id: 'a2']],
+                        has_more: true]) as String))
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'], limit: ['2'], id_gt: ['a2']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [assignment_map() + [id: 'a3']],
+                        has_more: false]) as String))
+
+        when:
+        def request = AssignmentSearchRequest.make()
+                .filter().byPoolId('21')
+                .and()
+                .limit(2)
+                .done()
+
+        def stream = factory.assignmentClient.streamAssignments(request, 2)
+        def result = stream.collect(Collectors.toList())
+        stream.close()
+
+        then:
+        result*.id == ['a1', 'a2', 'a3']
+    }
+
+    def "streamAssignments with prefetch; error is rethrown to consumer"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/assignments').withQueryStringParameters(pool_id: ['22']), once())
+                .respond(response().withStatusCode(404)
+                .withBody(new JsonBuilder([code: 'NOT_FOUND', message: 'Not found']) as String))
+
+        when:
+        def request = AssignmentSearchRequest.make().filter().byPoolId('22').and().done()
+        factory.assignmentClient.streamAssignments(request, 1).withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+        thrown(NotFoundException)
+    }
+
+    def "streamAssignments partitioned by submitted date"() {
+        setup:
+        def mockServer = new MockServerClient('localhost', 8083)
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'],
+                        submitted_gte: ['2016-01-01T00:00:00'], submitted_lt: ['2016-01-02T00:00:00']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [assignment_map() + [id: 'a1'], assignment_map() + [id: 'a2']],
+                        has_more: true]) as String))
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'], id_gt: ['a2'],
+                        submitted_gte: ['2016-01-01T00:00:00'], submitted_lt: ['2016-01-02T00:00:00']), once())
+                .respond(response(new JsonBuilder([items: [assignment_map() + [id: 'a3']], has_more: false]) as String))
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'],
+                        submitted_gte: ['2016-01-02T00:00:00'], submitted_lt: ['2016-01-03T00:00:00']), once())
+                .respond(response(new JsonBuilder([items: [assignment_map() + [id: 'b1']], has_more: false]) as String))
+
+        when:
+        def request = AssignmentSearchRequest.make()
+                .filter().byPoolId('21')
+                .and()
+                .range().bySubmitted(parseDate('2000-01-01 00:00:00')).gte()
+                .and()
+                .done()
+        def partitioning = new RangePartitioning<>(AssignmentRangeParam.submitted,
+                parseDate('2016-01-01 00:00:00'), parseDate('2016-01-03 00:00:00'), 2, 2)
+
+        def result = factory.assignmentClient.streamAssignments(request, partitioning)
+                .withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+        result*.id.sort() == ['a1', 'a2', 'a3', 'b1']
+    }
+
+    @Timeout(30)
+    def "streams nested in each other do not starve with single thread executor"() {
+        setup:
+        def mockServer = new MockServerClient('localhost', 8083)
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(pool_id: ['21']), once())
+                .respond(response(new JsonBuilder([items: [assignment_map() + [id: 'a1']], has_more: true]) as String))
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(pool_id: ['21'], id_gt: ['a1']), once())
+                .respond(response(new JsonBuilder([items: [assignment_map() + [id: 'a2']], has_more: true]) as String))
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(pool_id: ['21'], id_gt: ['a2']), once())
+                .respond(response(new JsonBuilder([items: [assignment_map() + [id: 'a3']], has_more: false]) as String))
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(pool_id: ['22']))
+                .respond(response(new JsonBuilder([items: [assignment_map() + [id: 'b1']], has_more: false]) as String))
+        factory.executor = Executors.newFixedThreadPool(1)
+
+        when:
+        def outer = AssignmentSearchRequest.make().filter().byPoolId('21').and().done()
+        def inner = AssignmentSearchRequest.make().filter().byPoolId('22').and().done()
+        def partitioning = new RangePartitioning<>(AssignmentRangeParam.submitted,
+                parseDate('2016-01-01 00:00:00'), parseDate('2016-01-03 00:00:00'), 1, 1)
+
+        def result = factory.assignmentClient.streamAssignments(outer, partitioning).withCloseable {
+            it.map { assignment ->
+                assignment.id + factory.assignmentClient.streamAssignments(inner, 1)
+                        .withCloseable { nested -> nested.map { it.id }.collect(Collectors.joining()) }
+            }.collect(Collectors.toList())
+        }
+
+        then:
+        result == ['a1b1', 'a2b1', 'a3b1']
+
+        cleanup:
+        factory.executor.shutdown()
+    }
+
+    def "streamAssignments of client without own streaming pages through the whole partitioned range"() {
+        setup:
+        def mockServer = new MockServerClient('localhost', 8083)
+        mockServer
+                .when(request('/api/v1/assignments').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['id'],
+                        submitted_gte: ['2016-01-01T00:00:00'], submitted_lt: ['2016-01-03T00:00:00']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [assignment_map() + [id: 'a1'], assignment_map() + [id: 'b1']],
+                        has_more: false]) as String))
+        def client = new FindingAssignmentClient(factory.assignmentClient)
+
+        when:
+        def request = AssignmentSearchRequest.make().filter().byPoolId('21').and().done()
+        def partitioning = new RangePartitioning<>(AssignmentRangeParam.submitted,
+                parseDate('2016-01-01 00:00:00'), parseDate('2016-01-03 00:00:00'), 2, 2)
+
+        def result = client.streamAssignments(request, partitioning).collect(Collectors.toList())
+
+        then:
+        result*.id == ['a1', 'b1']
+    }
+
     def 'patchAssignment'() {
         setup:
         new MockServerClient('localhost', 8083)
@@ -155,4 +404,41 @@ class AssignmentClientImplSpec extends AbstractClientSpec {
                 ]
         )
     }
+
+    /**
+     * Implements only methods of the client which are not default ones.
+     */
+    static class FindingAssignmentClient implements AssignmentClient {
+
+        private final AssignmentClient delegate
+
+        FindingAssignmentClient(AssignmentClient delegate) {
+            this.delegate = delegate
+        }
+
+        @Override
+        SearchResult<Assignment> findAssignments(AssignmentSearchRequest request) {
+            delegate.findAssignments(request)
+        }
+
+        @Override
+        Assignment getAssignment(String assignmentId) {
+            delegate.getAssignment(assignmentId)
+        }
+
+        @Override
+        ModificationResult<Assignment> patchAssignment(String assignmentId, AssignmentPatch patch) {
+            delegate.patchAssignment(assignmentId, patch)
+        }
+
+        @Override
+        ModificationResult<Assignment> acceptAssignment(String assignmentId, String publicComment) {
+            delegate.acceptAssignment(assignmentId, publicComment)
+        }
+
+        @Override
+        ModificationResult<Assignment> rejectAssignment(String assignmentId, String publicComment) {
+            delegate.rejectAssignment(assignmentId, publicComment)
+        }
+    }
 }
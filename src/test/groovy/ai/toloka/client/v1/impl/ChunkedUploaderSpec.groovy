@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import ai.toloka.client.v1.BatchCreateResult
+import ai.toloka.client.v1.BulkUpload
+import ai.toloka.client.v1.BulkUploadException
+import ai.toloka.client.v1.FieldValidationError
+import org.apache.http.client.methods.HttpPost
+import spock.lang.Specification
+
+class ChunkedUploaderSpec extends Specification {
+
+    def executor = Executors.newCachedThreadPool()
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def "failed chunk stops upload with result of completed chunks"() {
+        setup:
+        def failure = new IllegalStateException('failed')
+        def uploader = new ChunkedUploader<String>(new BulkUpload(2, 1), { chunk, requests ->
+            if (chunk.contains('c')) {
+                throw failure
+            }
+            created(chunk)
+        }, executor)
+
+        when:
+        uploader.upload(['a', 'b', 'c', 'd', 'e'].iterator())
+
+        then:
+        def e = thrown(BulkUploadException)
+        e.cause.is(failure)
+        e.partialResult.items == [0: 'a', 1: 'b']
+    }
+
+    def "results may be reported only to the listener"() {
+        setup:
+        def progress = []
+        def upload = new BulkUpload(2, 2, { progress << it }, false)
+
+        when:
+        def result = new ChunkedUploader<String>(upload, { chunk, requests ->
+            new BatchCreateResult<String>(created(chunk).items.findAll { it.value != 'b' },
+                    [1: [value: new FieldValidationError('INVALID', 'Invalid', null)]])
+        }, executor).upload(['a', 'b', 'c'].iterator())
+
+        then:
+        result.items.isEmpty()
+        result.validationsErrors.isEmpty()
+        progress*.chunkResult*.items.sum() == [0: 'a', 2: 'c']
+        progress*.chunkResult*.validationsErrors*.keySet().flatten() as Set == [1, 3] as Set
+        progress.last().createdItems == 2
+        progress.last().failedItems == 2
+    }
+
+    def "requests in flight are aborted when a chunk fails"() {
+        setup:
+        def request = new HttpPost('http://localhost/api/v1/tasks')
+        def sent = new CountDownLatch(1)
+        def uploader = new ChunkedUploader<String>(new BulkUpload(1, 2), { chunk, requests ->
+            if (chunk == ['a']) {
+                requests.accept(request)
+                sent.countDown()
+                while (!request.isAborted()) {
+                    Thread.onSpinWait()
+                }
+                return created(chunk)
+            }
+            sent.await()
+            throw new IllegalStateException('failed')
+        }, executor)
+
+        when:
+        uploader.upload(['a', 'b'].iterator())
+
+        then:
+        thrown(BulkUploadException)
+        request.isAborted()
+    }
+
+    def "chunks are uploaded one by one by clients without concurrent upload"() {
+        setup:
+        def chunks = []
+
+        when:
+        def result = ChunkedUploader.uploadSequentially(['a', 'b', 'c'].iterator(), null, new BulkUpload(2, 4),
+                { chunk -> chunks << chunk; created(chunk) })
+
+        then:
+        chunks == [['a', 'b'], ['c']]
+        result.items == [0: 'a', 1: 'b', 2: 'c']
+    }
+
+    private static BatchCreateResult<String> created(List<String> chunk) {
+        new BatchCreateResult<String>(chunk.withIndex().collectEntries { item, i -> [i, item] }, null)
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl
+
+import ai.toloka.client.v1.operation.OperationStatus
+import ai.toloka.client.v1.pool.PoolCloseOperation
+import ai.toloka.client.v1.pool.PoolOpenOperation
+import groovy.json.JsonBuilder
+import org.mockserver.client.server.MockServerClient
+
+import java.util.concurrent.CompletionException
+
+import static org.mockserver.matchers.Times.once
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+
+class OperationClientAsyncImplSpec extends AbstractClientSpec {
+
+    def "getOperation"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/operations/op1id'), once())
+                .respond(response(new JsonBuilder(operation_map()) as String))
+
+        when:
+        PoolOpenOperation result = factory.operationClientAsync.getOperation('op1id', PoolOpenOperation).join()
+
+        then:
+        result.id == 'op1id'
+        result.status == OperationStatus.SUCCESS
+        result.parameters.poolId == '21'
+        result.operationClient == factory.operationClient
+    }
+
+    def "getOperation with wrong class"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/operations/op1id'), once())
+                .respond(response(new JsonBuilder(operation_map()) as String))
+
+        when:
+        factory.operationClientAsync.getOperation('op1id', PoolCloseOperation).join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof IllegalArgumentException
+    }
+
+    def "getOperation pseudo"() {
+        expect:
+        factory.operationClientAsync.getOperation('PSEUDO_ID').join().isPseudo()
+    }
+
+    def operation_map() {
+        [
+                id        : 'op1id',
+                type      : 'POOL.OPEN',
+                status    : 'SUCCESS',
+                submitted : '2016-03-07T15:47:00',
+                started   : '2016-03-07T15:47:21',
+                finished  : '2016-03-07T15:48:03',
+                parameters: [pool_id: '21']
+        ]
+    }
+}
@@ -190,6 +190,65 @@ class OperationClientImplSpec extends AbstractClientSpec {
         )
     }
 
+    def "getOperation; wait with polling strategy of the factory"() {
+        setup:
+        def operation_map = [
+                id        : 'open-pool-op2id',
+                type      : 'POOL.OPEN',
+                status    : 'RUNNING',
+                submitted : '2016-03-07T15:47:00',
+                started   : '2016-03-07T15:47:21',
+                parameters: [pool_id: '21']
+        ]
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/operations/open-pool-op2id'), exactly(3))
+                .respond(response(new JsonBuilder(operation_map).toString()).withStatusCode(200))
+
+        and:
+        def strategy = Mock(PollingStrategy) {
+            getTimeoutMillis() >> 60000
+        }
+        factory.setPollingStrategy(strategy)
+
+        when:
+        factory.operationClient.getOperation('open-pool-op2id').waitToComplete()
+
+        then:
+        1 * strategy.getDelayMillis(_, 0) >> 0
+        1 * strategy.getDelayMillis(_, 1) >> 10
+        1 * strategy.getDelayMillis(_, 2) >> { throw new OperationTimeoutException() }
+        thrown(OperationTimeoutException)
+    }
+
+    def "getOperation; wait is not extended past timeout by long delays"() {
+        setup:
+        def operation_map = [
+                id        : 'open-pool-op3id',
+                type      : 'POOL.OPEN',
+                status    : 'RUNNING',
+                submitted : '2016-03-07T15:47:00',
+                started   : '2016-03-07T15:47:21',
+                parameters: [pool_id: '21']
+        ]
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/operations/open-pool-op3id'))
+                .respond(response(new JsonBuilder(operation_map).toString()).withStatusCode(200))
+
+        and:
+        def strategy = Mock(PollingStrategy) {
+            getTimeoutMillis() >> 200
+            getDelayMillis(_, _) >> 60000
+        }
+        def started = System.currentTimeMillis()
+
+        when:
+        factory.operationClient.getOperation('open-pool-op3id').waitToComplete(strategy)
+
+        then:
+        thrown(OperationTimeoutException)
+        System.currentTimeMillis() - started < 10000
+    }
+
     def "getOperation; KNOWN_SOLUTIONS.GENERATE"() {
         setup:
         def operation_map = [
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import ai.toloka.client.v1.RangePartitioning
+import ai.toloka.client.v1.SearchResult
+import ai.toloka.client.v1.assignment.AssignmentRangeParam
+import ai.toloka.client.v1.task.TaskRangeParam
+import spock.lang.Specification
+
+class PartitionedPagingIteratorSpec extends Specification {
+
+    def "workers stop after the first error without the iterator being closed"() {
+        setup:
+        def executor = Executors.newFixedThreadPool(2)
+        def from = new Date(0)
+        def loads = new AtomicInteger()
+        def partitioning = new RangePartitioning<>(AssignmentRangeParam.created, from, new Date(1000), 2, 2)
+
+        when:
+        def iterator = new PartitionedPagingIterator<String>(null, partitioning, { params ->
+            if (params.created_gte == from) {
+                throw new IllegalStateException('failed')
+            }
+            new SearchResult<String>(items: ["i${loads.incrementAndGet()}".toString()], hasMore: true)
+        }, { it }, executor)
+        while (iterator.hasNext()) {
+            iterator.next()
+        }
+
+        then:
+        thrown(IllegalStateException)
+        executor.submit({ true } as Callable).get(5, TimeUnit.SECONDS)
+        executor.submit({ true } as Callable).get(5, TimeUnit.SECONDS)
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "only ranges of dates may be partitioned"() {
+        when:
+        new RangePartitioning<>(param, new Date(0), new Date(1000), 2, 2)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        param << [AssignmentRangeParam.id, TaskRangeParam.id, TaskRangeParam.overlap]
+    }
+}
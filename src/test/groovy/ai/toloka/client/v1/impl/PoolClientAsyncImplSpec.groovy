@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl
+
+import ai.toloka.client.v1.ServiceUnavailableException
+import ai.toloka.client.v1.operation.OperationStatus
+import ai.toloka.client.v1.operation.OperationType
+import ai.toloka.client.v1.pool.PoolOpenOperation
+import groovy.json.JsonBuilder
+import org.mockserver.client.server.MockServerClient
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+
+import static org.mockserver.matchers.Times.once
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+
+class PoolClientAsyncImplSpec extends AbstractClientSpec {
+
+    def "openPool"() {
+        setup:
+        def operation_map = [
+                id        : 'open-pool-op1id',
+                type      : 'POOL.OPEN',
+                status    : 'RUNNING',
+                submitted : '2016-03-07T15:47:00',
+                started   : '2016-03-07T15:47:21',
+                parameters: [
+                        pool_id: "21"
+                ]
+        ]
+
+        and:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/pools/21/open').withMethod('POST'), once())
+                .respond(response(new JsonBuilder(operation_map).toString()).withStatusCode(202))
+
+        when:
+        def result = factory.poolClientAsync.openPool('21').join()
+
+        then:
+        matches result, new PoolOpenOperation(
+                id: 'open-pool-op1id',
+                type: OperationType.POOL_OPEN,
+                status: OperationStatus.RUNNING,
+                submitted: parseDate('2016-03-07 15:47:00'),
+                started: parseDate('2016-03-07 15:47:21'),
+                parameters: new PoolOpenOperation.Parameters(poolId: '21'),
+                operationClient: factory.operationClient,
+        )
+    }
+
+    def "openAlreadyOpened"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/pools/21/open').withMethod('POST'), once())
+                .respond(response().withStatusCode(204))
+
+        when:
+        def result = factory.poolClientAsync.openPool('21').join()
+
+        then:
+        result instanceof PoolOpenOperation
+        result.isPseudo()
+    }
+
+    def "many concurrent requests"() {
+        setup:
+        (1..20).each { i ->
+            new MockServerClient('localhost', 8083)
+                    .when(request("/api/v1/pools/$i"), once())
+                    .respond(response(new JsonBuilder([id: "$i", project_id: '10']) as String))
+        }
+
+        when:
+        def futures = (1..20).collect { factory.poolClientAsync.getPool("$it") }
+        CompletableFuture.allOf(futures as CompletableFuture[]).join()
+
+        then:
+        futures*.join()*.id == (1..20).collect { "$it" }
+    }
+
+    def "service unavailable"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/pools/21').withMethod('GET'), once())
+                .respond(response('<html>Bad gateway</html>').withStatusCode(502))
+
+        when:
+        factory.poolClientAsync.getPool('21').get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof ServiceUnavailableException
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import ai.toloka.client.v1.SearchResult
+import spock.lang.Specification
+
+class PrefetchingPagingIteratorSpec extends Specification {
+
+    def "producer of abandoned iterator releases its thread"() {
+        setup:
+        def executor = Executors.newSingleThreadExecutor()
+        def loads = new AtomicInteger()
+        def pager = new KeysetPagingIterator<String>([:], { params ->
+            def id = "i${loads.incrementAndGet()}".toString()
+            new SearchResult<String>(items: [id], hasMore: true)
+        }, { it })
+
+        when:
+        abandon(new PrefetchingPagingIterator<String>(pager, 1, executor))
+        def released = executor.submit({ true } as Callable)
+        def deadline = System.currentTimeMillis() + 10_000
+        while (!released.done && System.currentTimeMillis() < deadline) {
+            System.gc()
+            sleep(100)
+        }
+
+        then:
+        released.get(1, TimeUnit.SECONDS)
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    private static void abandon(Iterator<String> iterator) {
+        iterator.next()
+    }
+}
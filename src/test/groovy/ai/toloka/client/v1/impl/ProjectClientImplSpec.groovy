@@ -17,6 +17,7 @@
 package ai.toloka.client.v1.impl
 
 import ai.toloka.client.v1.*
+import ai.toloka.client.v1.impl.transport.RetryPolicy
 import ai.toloka.client.v1.pool.filter.CompareOperator
 import ai.toloka.client.v1.pool.qualitycontrol.*
 import ai.toloka.client.v1.project.*
@@ -242,6 +243,29 @@ Some complex instructions
                 'INTERNAL_ERROR', 'abc-123', 'Internal Error', [additional_message: 'Error details'])
     }
 
+    def "getProject; retries service unavailable"() {
+        setup:
+        factory.retryPolicy = RetryPolicy.make().initialBackoff(10).done()
+
+        def mockServerClient = new MockServerClient('localhost', 8083)
+        mockServerClient
+                .when(request('/api/v1/projects/11'), once())
+                .respond(response().withStatusCode(503).withHeader('Retry-After', '0'))
+        mockServerClient
+                .when(request('/api/v1/projects/11'), once())
+                .respond(response().withStatusCode(502))
+        mockServerClient
+                .when(request('/api/v1/projects/11'), once())
+                .respond(response(new JsonBuilder([id: '11', public_name: 'Retried']).toString()))
+
+        when:
+        def project = factory.projectClient.getProject('11')
+
+        then:
+        project.id == '11'
+        project.publicName == 'Retried'
+    }
+
     def "getProject; tb_view_spec"() {
         setup:
         new MockServerClient('localhost', 8083)
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
+import ai.toloka.client.v1.TolokaRequestIOException
+import ai.toloka.client.v1.impl.transport.DeadlineExceededException
+import ai.toloka.client.v1.impl.transport.RequestOptions
+import groovy.json.JsonBuilder
+import org.mockserver.client.server.MockServerClient
+
+import static org.mockserver.matchers.Times.exactly
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+
+class SingleFlightSpec extends AbstractClientSpec {
+
+    def "concurrent calls with the same key share one execution"() {
+        setup:
+        def singleFlight = new SingleFlight()
+        def executor = Executors.newFixedThreadPool(4)
+        def release = new CountDownLatch(1)
+        def calls = new AtomicInteger()
+
+        when:
+        def futures = (1..4).collect {
+            executor.submit({
+                singleFlight.execute('pools/1', {
+                    calls.incrementAndGet()
+                    release.await(5, TimeUnit.SECONDS)
+                    new Object()
+                })
+            } as Callable)
+        }
+        sleep(200)
+        release.countDown()
+        def results = futures*.get(5, TimeUnit.SECONDS)
+
+        then:
+        calls.get() == 1
+        results.every { it.is(results[0]) }
+        singleFlight.inFlight == 0
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "error is shared and key is released"() {
+        setup:
+        def singleFlight = new SingleFlight()
+        def executor = Executors.newFixedThreadPool(2)
+        def release = new CountDownLatch(1)
+        def error = new IllegalStateException('failed')
+
+        when:
+        def futures = (1..2).collect {
+            executor.submit({
+                try {
+                    singleFlight.execute('pools/1', { release.await(5, TimeUnit.SECONDS); throw error })
+                } catch (IllegalStateException e) {
+                    e
+                }
+            } as Callable)
+        }
+        sleep(200)
+        release.countDown()
+
+        then:
+        futures*.get(5, TimeUnit.SECONDS).every { it.is(error) }
+        singleFlight.execute('pools/1', { 'retried' }) == 'retried'
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "call with deadline waits for call in flight until its own deadline"() {
+        setup:
+        def singleFlight = new SingleFlight()
+        def executor = Executors.newSingleThreadExecutor()
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def leader = executor.submit({
+            singleFlight.execute('pools/1', { started.countDown(); release.await(5, TimeUnit.SECONDS); 'leader' })
+        } as Callable)
+        started.await(5, TimeUnit.SECONDS)
+
+        when:
+        RequestOptions.make().deadline(100).done().call({
+            singleFlight.execute('pools/1', { 'own' })
+        } as Supplier)
+
+        then:
+        def e = thrown(TolokaRequestIOException)
+        e.cause instanceof DeadlineExceededException
+
+        when:
+        release.countDown()
+
+        then:
+        leader.get(5, TimeUnit.SECONDS) == 'leader'
+
+        cleanup:
+        release.countDown()
+        executor.shutdownNow()
+    }
+
+    def "call with deadline is not shared with others"() {
+        setup:
+        def singleFlight = new SingleFlight()
+
+        when:
+        def inFlight = RequestOptions.make().deadline(5000).done().call({
+            singleFlight.execute('pools/1', { singleFlight.inFlight })
+        } as Supplier)
+
+        then:
+        inFlight == 0
+    }
+
+    def "waiting call can be interrupted"() {
+        setup:
+        def singleFlight = new SingleFlight()
+        def executor = Executors.newFixedThreadPool(2)
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        executor.submit({
+            singleFlight.execute('pools/1', { started.countDown(); release.await(5, TimeUnit.SECONDS); 'leader' })
+        } as Callable)
+        started.await(5, TimeUnit.SECONDS)
+        def waiter = executor.submit({
+            try {
+                singleFlight.execute('pools/1', { 'own' })
+            } catch (RuntimeException e) {
+                [e.cause, Thread.currentThread().interrupted]
+            }
+        } as Callable)
+
+        when:
+        sleep(200)
+        executor.shutdownNow()
+        def (cause, interrupted) = waiter.get(5, TimeUnit.SECONDS)
+
+        then:
+        cause instanceof InterruptedException
+        interrupted
+
+        cleanup:
+        release.countDown()
+    }
+
+    def "sequential calls are not coalesced"() {
+        setup:
+        factory.singleFlight = true
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/pools/51').withMethod('GET'), exactly(2))
+                .respond(response(new JsonBuilder([id: '51', private_name: 'Shared']).toString()))
+
+        expect:
+        factory.singleFlight
+        factory.poolClient.getPool('51').privateName == 'Shared'
+        factory.poolClient.getPool('51').privateName == 'Shared'
+        mockServer.retrieveRecordedRequests(request('/api/v1/pools/51')).length == 2
+        factory.getSingleFlight().inFlight == 0
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl
+
+import ai.toloka.client.v1.NotFoundException
+import ai.toloka.client.v1.task.TaskPatch
+import ai.toloka.client.v1.task.TaskSearchRequest
+import groovy.json.JsonBuilder
+import org.mockserver.client.server.MockServerClient
+import org.unitils.reflectionassert.ReflectionComparatorMode
+
+import java.util.concurrent.CompletionException
+
+import static ai.toloka.client.v1.impl.TaskClientImplSpec.task
+import static ai.toloka.client.v1.impl.TaskClientImplSpec.task_map
+import static ai.toloka.client.v1.impl.TaskClientImplSpec.task_map_with_readonly
+import static ai.toloka.client.v1.impl.TaskClientImplSpec.task_with_readonly
+import static org.mockserver.matchers.Times.once
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+import static org.mockserver.model.JsonBody.json
+
+class TaskClientAsyncImplSpec extends AbstractClientSpec {
+
+    def "createTask"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks').withMethod('POST')
+                        .withBody(json(new JsonBuilder(task_map()).toString())), once())
+                .respond(response(new JsonBuilder(task_map_with_readonly()).toString()).withStatusCode(201))
+
+        when:
+        def result = factory.taskClientAsync.createTask(task()).join()
+
+        then:
+        result.newCreated
+        matches result.result, task_with_readonly(), ReflectionComparatorMode.LENIENT_ORDER
+    }
+
+    def "findTasks"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks').withQueryStringParameters(pool_id: ['21'], sort: ['id']), once())
+                .respond(response(new JsonBuilder([items: [task_map_with_readonly()], has_more: true]) as String))
+
+        when:
+        def result = factory.taskClientAsync
+                .findTasks(TaskSearchRequest.make().filter().byPoolId('21').and().sort().byId().asc().and().done())
+                .join()
+
+        then:
+        result.hasMore
+        matches result.items[0], task_with_readonly(), ReflectionComparatorMode.LENIENT_ORDER
+    }
+
+    def "getTask not found"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks/task-absent'), once())
+                .respond(response().withStatusCode(404))
+
+        expect:
+        factory.taskClientAsync.getTask('task-absent').join() == null
+    }
+
+    def "error is propagated through future"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks/task-i1d').withMethod('PATCH'), once())
+                .respond(response(new JsonBuilder([code: 'DOES_NOT_EXIST', message: 'Task not found']) as String)
+                        .withStatusCode(409))
+
+        when:
+        factory.taskClientAsync.patchTask('task-i1d', new TaskPatch(overlap: 5)).join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof NotFoundException
+    }
+}
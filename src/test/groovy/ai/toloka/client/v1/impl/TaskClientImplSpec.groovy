@@ -16,7 +16,10 @@
 
 package ai.toloka.client.v1.impl
 
+import java.util.stream.Collectors
+
 import ai.toloka.client.v1.BatchCreateResult
+import ai.toloka.client.v1.BulkUpload
 import ai.toloka.client.v1.FieldValidationError
 import ai.toloka.client.v1.task.*
 import groovy.json.JsonBuilder
@@ -80,6 +83,56 @@ class TaskClientImplSpec extends AbstractClientSpec {
         matches result, expected_result
     }
 
+    def "createTasks in chunks"() {
+        setup:
+        def task_map = { String image -> [pool_id: '21', input_values: [image: image]] }
+
+        and:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks').withMethod('POST')
+                        .withQueryStringParameters(async_mode: ['false'], skip_invalid_items: ['true'])
+                        .withBody(json(new JsonBuilder([task_map('1.png'), task_map('2.png')]) as String)), once())
+                .respond(response(new JsonBuilder([items: [
+                        '0': [*: task_map('1.png'), id: 'task-1'],
+                        '1': [*: task_map('2.png'), id: 'task-2']
+                ]]) as String).withStatusCode(201))
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks').withMethod('POST')
+                        .withQueryStringParameters(async_mode: ['false'], skip_invalid_items: ['true'])
+                        .withBody(json(new JsonBuilder([task_map('3.png')]) as String)), once())
+                .respond(response(new JsonBuilder([items: [:], validation_errors: [
+                        '0': ['input_values.image': [code: 'INVALID_URL', message: 'Invalid url']]
+                ]]) as String).withStatusCode(201))
+
+        def progress = []
+
+        when:
+        def result = factory.taskClient.createTasks(
+                ['1.png', '2.png', '3.png'].collect { new Task('21', [image: it]) }.iterator(),
+                new TaskCreateRequestParameters(skipInvalidItems: true),
+                new BulkUpload(2, 2, { progress << it }))
+
+        then:
+        result.items.collectEntries { [it.key, it.value.id] } == [0: 'task-1', 1: 'task-2']
+        result.validationsErrors.keySet() == [2] as Set
+        result.validationsErrors[2]['input_values.image'].code == 'INVALID_URL'
+
+        progress.size() == 2
+        progress.last().completedChunks == 2
+        progress.last().submittedItems == 3
+        progress.last().createdItems == 2
+        progress.last().failedItems == 1
+    }
+
+    def "createTasks in chunks rejects operation id"() {
+        when:
+        factory.taskClient.createTasks([new Task('21', [image: '1.png'])].iterator(),
+                new TaskCreateRequestParameters(operationId: UUID.randomUUID()), new BulkUpload(2, 2))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def "createTaskSuitesAsync"() {
         setup:
         def tasks_map = [
@@ -172,6 +225,37 @@ class TaskClientImplSpec extends AbstractClientSpec {
         matches result.items.first(), task_with_readonly()
     }
 
+    def "streamTasks"() {
+        setup:
+        def mockServer = new MockServerClient('localhost', 8083)
+        mockServer
+                .when(request('/api/v1/tasks').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['-id'], id_lte: ['t9']), once())
+                .respond(response(new JsonBuilder([
+                        items   : [task_map_with_readonly() + [id: 't9'], task_map_with_readonly() + [id: 't8']],
+                        has_more: true]) as String))
+        mockServer
+                .when(request('/api/v1/tasks').withQueryStringParameters(
+                        pool_id: ['21'], sort: ['-id'], id_lt: ['t8']), once())
+                .respond(response(new JsonBuilder([items: [], has_more: false]) as String))
+
+        and:
+        def request = TaskSearchRequest.make()
+                .filter().byPoolId('21')
+                .and()
+                .range().byId('t9').lte()
+                .and()
+                .sort().byId().desc()
+                .and()
+                .done()
+
+        when:
+        def stream = factory.taskClient.streamTasks(request)
+
+        then:
+        stream.map { it.id }.collect(Collectors.toList()) == ['t9', 't8']
+    }
+
     def "getTask"() {
         setup:
         new MockServerClient('localhost', 8083)
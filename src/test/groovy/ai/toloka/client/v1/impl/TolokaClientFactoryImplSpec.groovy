@@ -16,7 +16,11 @@
 
 package ai.toloka.client.v1.impl
 
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.ThreadPoolExecutor
+
 import ai.toloka.client.v1.TolokaClientFactory
+import ai.toloka.client.v1.impl.transport.DefaultHttpClientConfiguration
 import ai.toloka.client.v1.impl.transport.MapperUtil
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -40,6 +44,68 @@ class TolokaClientFactoryImplSpec extends Specification {
         '{"date": "2016-03-05T12:57:12.333"}' | parseDateWithMillis('2016-03-05 12:57:12.333') | 'with millis'
     }
 
+    def "default executor is bounded, shared and shut down on close"() {
+        setup:
+        def factory = new TolokaClientFactoryImpl(new URI('http://localhost/api'), 'sample')
+        def executor = factory.executor
+
+        expect:
+        executor instanceof ThreadPoolExecutor
+        (executor as ThreadPoolExecutor).maximumPoolSize == DefaultHttpClientConfiguration.DEFAULT_EXECUTOR_THREADS
+        factory.executor.is(executor)
+        (factory.taskClient as AbstractClientImpl).executor.is(executor)
+        (factory.poolClientAsync as AbstractClientImpl).executor.is(executor)
+
+        when:
+        factory.close()
+
+        then:
+        executor.isShutdown()
+
+        when:
+        factory.executor
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "default blocking executor is unbounded, shared and shut down on close"() {
+        setup:
+        def factory = new TolokaClientFactoryImpl(new URI('http://localhost/api'), 'sample')
+        def executor = factory.blockingExecutor
+
+        expect:
+        executor instanceof ThreadPoolExecutor
+        (executor as ThreadPoolExecutor).maximumPoolSize == Integer.MAX_VALUE
+        !executor.is(factory.executor)
+        (factory.taskClient as AbstractClientImpl).blockingExecutor.is(executor)
+
+        when:
+        factory.close()
+
+        then:
+        executor.isShutdown()
+    }
+
+    def "provided executors are used and not shut down on close"() {
+        setup:
+        def executor = Mock(ExecutorService)
+        def blockingExecutor = Mock(ExecutorService)
+        def factory = new TolokaClientFactoryImpl(new URI('http://localhost/api'), 'sample').setExecutor(executor)
+                .setBlockingExecutor(blockingExecutor)
+
+        expect:
+        (factory.assignmentClient as AbstractClientImpl).executor.is(executor)
+        (factory.assignmentClient as AbstractClientImpl).blockingExecutor.is(blockingExecutor)
+
+        when:
+        factory.close()
+
+        then:
+        0 * executor._
+        0 * blockingExecutor._
+    }
+
     public static class SampleDateHolder {
 
         public Date date
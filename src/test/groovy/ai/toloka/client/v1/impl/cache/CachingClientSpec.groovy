@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.cache
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import ai.toloka.client.v1.impl.AbstractClientSpec
+import ai.toloka.client.v1.pool.PoolStatus
+import groovy.json.JsonBuilder
+import org.mockserver.client.server.MockServerClient
+
+import static org.mockserver.matchers.Times.exactly
+import static org.mockserver.matchers.Times.once
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+
+class CachingClientSpec extends AbstractClientSpec {
+
+    def "entities are loaded once until invalidated"() {
+        setup:
+        factory.cacheConfig = CacheConfig.DEFAULT
+        def mockServerClient = new MockServerClient('localhost', 8083)
+        mockServerClient
+                .when(request('/api/v1/pools/41').withMethod('GET'), exactly(2))
+                .respond(response(new JsonBuilder([id: '41', private_name: 'Cached']).toString()))
+        mockServerClient
+                .when(request('/api/v1/pools/41').withMethod('PUT'), once())
+                .respond(response(new JsonBuilder([id: '41', private_name: 'Updated']).toString()))
+
+        when:
+        def first = factory.poolClient.getPool('41')
+        def second = factory.poolClient.getPool('41')
+
+        then:
+        factory.poolClient instanceof CachingPoolClient
+        first.privateName == 'Cached'
+        second.privateName == 'Cached'
+        !second.is(first)
+        factory.cacheStats.PoolClient.hits == 1
+        factory.cacheStats.PoolClient.misses == 1
+        getRequests('41') == 1
+
+        when:
+        factory.poolClient.updatePool('41', first)
+        factory.poolClient.getPool('41')
+
+        then:
+        getRequests('41') == 2
+        factory.cacheStats.PoolClient.misses == 2
+    }
+
+    def "pools returned from cache are copies"() {
+        setup:
+        factory.cacheConfig = CacheConfig.DEFAULT
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/pools/42').withMethod('GET'), once())
+                .respond(response(new JsonBuilder([id: '42', private_name: 'Cached', status: 'OPEN']).toString()))
+
+        when:
+        def first = factory.poolClient.getPool('42')
+        first.privateName = 'Changed'
+        def second = factory.poolClient.getPool('42')
+
+        then:
+        second.id == '42'
+        second.privateName == 'Cached'
+        second.status == PoolStatus.OPEN
+        getRequests('42') == 1
+    }
+
+    def "caching clients are created once when obtained concurrently"() {
+        setup:
+        factory.cacheConfig = CacheConfig.DEFAULT
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def clients = (1..8).collect { executor.submit({ factory.poolClient } as Callable) }*.get()
+
+        then:
+        clients.every { it.is(factory.poolClient) }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "entities not found are not cached"() {
+        setup:
+        factory.cacheConfig = CacheConfig.DEFAULT
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/pools/43'), exactly(2))
+                .respond(response().withStatusCode(404))
+
+        expect:
+        factory.poolClient.getPool('43') == null
+        factory.poolClient.getPool('43') == null
+        getRequests('43') == 2
+    }
+
+    def "expired entities not modified are revalidated without body"() {
+        setup:
+        def now = 0L
+        factory.cacheConfig = CacheConfig.make().ttl(50).clock({ now }).done()
+        def mockServerClient = new MockServerClient('localhost', 8083)
+        mockServerClient
+                .when(request('/api/v1/projects/42').withMethod('GET').withHeader('If-None-Match', '"v1"'), once())
+                .respond(response().withStatusCode(304).withHeader('ETag', '"v1"'))
+        mockServerClient
+                .when(request('/api/v1/projects/42').withMethod('GET'), once())
+                .respond(response(new JsonBuilder([id: '42', public_name: 'Big']).toString())
+                        .withHeader('ETag', '"v1"'))
+
+        when:
+        def first = factory.projectClient.getProject('42')
+        now += TimeUnit.MILLISECONDS.toNanos(50)
+        def second = factory.projectClient.getProject('42')
+
+        then:
+        second.is(first)
+        mockServer.retrieveRecordedRequests(request('/api/v1/projects/42')).length == 2
+        with(factory.cacheStats.ProjectClient) {
+            hits == 1
+            revalidations == 1
+            misses == 1
+        }
+    }
+
+    def "clients are not cached by default"() {
+        expect:
+        !(factory.poolClient instanceof CachingClient)
+        factory.cacheStats.isEmpty()
+    }
+
+    def "least recently used entities are evicted"() {
+        setup:
+        def cache = new EntityCache<String>(CacheConfig.make().maxSize(2).done())
+        def loads = []
+        def loader = { String id -> loads << id; "entity $id".toString() }
+
+        when:
+        cache.get('a', loader)
+        cache.get('b', loader)
+        cache.get('a', loader)
+        cache.get('c', loader)
+        cache.get('a', loader)
+        cache.get('b', loader)
+
+        then:
+        loads == ['a', 'b', 'c', 'b']
+        with(cache.stats) {
+            hits == 2
+            misses == 4
+            evictions == 2
+            size == 2
+        }
+    }
+
+    def "entities expire after ttl"() {
+        setup:
+        def now = 0L
+        def cache = new EntityCache<String>(CacheConfig.make().ttl(50).clock({ now }).done())
+        def loads = 0
+        def loader = { String id -> loads++; id }
+
+        when:
+        cache.get('a', loader)
+        now += TimeUnit.MILLISECONDS.toNanos(49)
+        cache.get('a', loader)
+
+        then:
+        loads == 1
+
+        when:
+        now += TimeUnit.MILLISECONDS.toNanos(1)
+        cache.get('a', loader)
+
+        then:
+        loads == 2
+    }
+
+    def "entity loaded during invalidation is not cached"() {
+        setup:
+        def cache = new EntityCache<String>(CacheConfig.DEFAULT)
+        def loads = 0
+
+        when:
+        cache.get('a', { String id -> loads++; cache.invalidate(id); 'stale' })
+        def value = cache.get('a', { String id -> loads++; 'fresh' })
+
+        then:
+        value == 'fresh'
+        loads == 2
+    }
+
+    private int getRequests(String poolId) {
+        mockServer.retrieveRecordedRequests(request("/api/v1/pools/$poolId").withMethod('GET')).length
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+import ai.toloka.client.v1.CircuitBreakerOpenException
+import org.apache.http.HttpVersion
+import org.apache.http.client.HttpClient
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.concurrent.FutureCallback
+import org.apache.http.message.BasicHttpResponse
+import org.apache.http.nio.client.HttpAsyncClient
+import spock.lang.Specification
+
+import static ai.toloka.client.v1.impl.transport.CircuitBreaker.State.CLOSED
+import static ai.toloka.client.v1.impl.transport.CircuitBreaker.State.HALF_OPEN
+import static ai.toloka.client.v1.impl.transport.CircuitBreaker.State.OPEN
+
+class CircuitBreakerSpec extends Specification {
+
+    def now = 0L
+
+    def breaker = CircuitBreaker.make()
+            .failureRateThreshold(0.5)
+            .window(4, 4)
+            .openDuration(100)
+            .halfOpenCalls(2)
+            .clock({ now })
+            .done()
+
+    def outcomes = []
+
+    def calls = 0
+
+    def delegate = Stub(HttpClient) {
+        execute(_, _) >> {
+            calls++
+            def outcome = outcomes.remove(0)
+            if (outcome instanceof IOException) {
+                throw outcome
+            }
+            response(outcome as int)
+        }
+    }
+
+    def client = breaker.protect(delegate)
+
+    def "circuit opens when failure rate is reached"() {
+        setup:
+        outcomes = [200, 503, 200, 500]
+
+        when:
+        4.times { client.execute(get('tasks')) }
+
+        then:
+        breaker.getState('tasks') == OPEN
+
+        when:
+        client.execute(get('tasks/1'))
+
+        then:
+        def e = thrown(CircuitBreakerOpenException)
+        e.family == 'tasks'
+        calls == 4
+
+        when:
+        outcomes = [200]
+        client.execute(get('pools'))
+
+        then:
+        calls == 5
+        breaker.getState('pools') == CLOSED
+    }
+
+    def "circuit stays closed below minimum calls"() {
+        setup:
+        outcomes = (1..3).collect { new IOException('connection reset') }
+
+        when:
+        3.times {
+            try {
+                client.execute(get('tasks'))
+            } catch (IOException ignored) {
+            }
+        }
+
+        then:
+        calls == 3
+        breaker.getState('tasks') == CLOSED
+    }
+
+    def "half-open circuit closes after successful probes"() {
+        setup:
+        open('tasks')
+        advance(150)
+        outcomes = [200, 200]
+
+        when:
+        client.execute(get('tasks'))
+
+        then:
+        breaker.getState('tasks') == HALF_OPEN
+
+        when:
+        client.execute(get('tasks'))
+
+        then:
+        breaker.getState('tasks') == CLOSED
+    }
+
+    def "open circuit rejects requests until open duration passes"() {
+        setup:
+        open('tasks')
+        advance(99)
+
+        when:
+        client.execute(get('tasks'))
+
+        then:
+        thrown(CircuitBreakerOpenException)
+        calls == 4
+
+        when:
+        advance(1)
+        outcomes = [200]
+        client.execute(get('tasks'))
+
+        then:
+        calls == 5
+        breaker.getState('tasks') == HALF_OPEN
+    }
+
+    def "half-open circuit opens again after failed probe"() {
+        setup:
+        open('tasks')
+        advance(150)
+        outcomes = [502]
+
+        when:
+        client.execute(get('tasks'))
+
+        then:
+        breaker.getState('tasks') == OPEN
+    }
+
+    def "slow calls open circuit"() {
+        setup:
+        def breaker = CircuitBreaker.make().slowCalls(20, 0.5).window(2, 2).clock({ now }).done()
+        def client = breaker.protect(Stub(HttpClient) {
+            execute(_, _) >> { advance(30); response(200) }
+        })
+
+        when:
+        2.times { client.execute(get('assignments')) }
+
+        then:
+        breaker.getState('assignments') == OPEN
+    }
+
+    def "non-blocking exchanges are rejected while circuit is open"() {
+        setup:
+        open('tasks')
+        def asyncDelegate = Mock(HttpAsyncClient)
+        def asyncClient = breaker.protect(asyncDelegate)
+
+        when:
+        asyncClient.execute(get('tasks'), null).get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof CircuitBreakerOpenException
+        0 * asyncDelegate._
+    }
+
+    def "non-blocking exchanges are recorded on completion"() {
+        setup:
+        def asyncDelegate = Mock(HttpAsyncClient) {
+            execute(_, _, _) >> { request, context, FutureCallback callback -> callback.completed(response(503)); null }
+        }
+        def asyncClient = breaker.protect(asyncDelegate)
+
+        when:
+        4.times { asyncClient.execute(get('tasks'), null).get() }
+
+        then:
+        breaker.getState('tasks') == OPEN
+    }
+
+    private void open(String family) {
+        outcomes = [503] * 4
+        4.times { client.execute(get(family)) }
+        assert breaker.getState(family) == OPEN
+    }
+
+    private void advance(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis)
+    }
+
+    private static get(String path) {
+        new HttpGet("http://localhost/api/v1/${path}")
+    }
+
+    private static response(int status) {
+        new BasicHttpResponse(HttpVersion.HTTP_1_1, status, 'reason')
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+
+import ai.toloka.client.v1.task.Task
+import org.apache.http.HttpVersion
+import org.apache.http.client.methods.HttpPost
+import org.apache.http.entity.ByteArrayEntity
+import org.apache.http.message.BasicHttpResponse
+import org.apache.http.util.EntityUtils
+import spock.lang.Specification
+
+class ContentCompressionSpec extends Specification {
+
+    def stats = new CompressionStats()
+
+    def compression = new ContentCompression(1024, stats)
+
+    def tasks = (1..200).collect { new Task('21', [image: "http://images.com/${it}.png" as String]) }
+
+    def "small bodies are sent as is"() {
+        setup:
+        def post = new HttpPost('http://localhost/api/v1/tasks')
+        def entity = JsonEntity.of(tasks.first())
+        post.entity = entity
+
+        when:
+        compression.accept(post)
+
+        then:
+        post.entity.is(entity)
+        stats.savedBytes == 0
+    }
+
+    def "bodies of known length are compressed at once"() {
+        setup:
+        def post = new HttpPost('http://localhost/api/v1/tasks')
+        def json = MapperUtil.objectWriter.writeValueAsBytes(tasks.take(50))
+        post.entity = JsonEntity.of(tasks.take(50))
+
+        when:
+        compression.accept(post)
+
+        then:
+        post.entity.contentEncoding.value == 'gzip'
+        post.entity.contentType.value == 'application/json; charset=UTF-8'
+        post.entity.contentLength > 0
+        gunzip(EntityUtils.toByteArray(post.entity)) == json
+
+        stats.requestBytes == json.length
+        stats.compressedRequestBytes == post.entity.contentLength
+        stats.savedBytes > 0
+    }
+
+    def "streamed bodies are compressed while written"() {
+        setup:
+        def post = new HttpPost('http://localhost/api/v1/tasks')
+        post.entity = new JsonArrayEntity(tasks.iterator())
+        def out = new ByteArrayOutputStream()
+
+        when:
+        compression.accept(post)
+        post.entity.writeTo(out)
+
+        then:
+        post.entity.contentEncoding.value == 'gzip'
+        post.entity.chunked
+        gunzip(out.toByteArray()) == MapperUtil.objectWriter.writeValueAsBytes(tasks)
+        stats.compressedRequestBytes == out.size()
+        stats.requestBytes == MapperUtil.objectWriter.writeValueAsBytes(tasks).length
+    }
+
+    def "content of streamed bodies is compressed while read"() {
+        setup:
+        def post = new HttpPost('http://localhost/api/v1/tasks')
+        post.entity = new JsonArrayEntity(tasks.iterator())
+
+        when:
+        compression.accept(post)
+        def content = post.entity.content.withCloseable { it.bytes }
+
+        then:
+        gunzip(content) == MapperUtil.objectWriter.writeValueAsBytes(tasks)
+        stats.compressedRequestBytes == content.length
+    }
+
+    def "gzip responses are decoded"() {
+        setup:
+        def json = MapperUtil.objectWriter.writeValueAsBytes(tasks)
+        def compressed = gzip(json)
+        def response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, 'OK')
+        response.entity = new ByteArrayEntity(compressed).with { contentEncoding = 'gzip'; it }
+        response.addHeader('Content-Encoding', 'gzip')
+
+        when:
+        def decoded = ContentCompression.decode(response, stats)
+
+        then:
+        EntityUtils.toByteArray(decoded.entity) == json
+        !decoded.containsHeader('Content-Encoding')
+        stats.responseBytes == json.length
+        stats.compressedResponseBytes == compressed.length
+    }
+
+    def "plain responses are left intact"() {
+        setup:
+        def response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, 'OK')
+        def entity = new ByteArrayEntity('{}'.bytes)
+        response.entity = entity
+
+        expect:
+        ContentCompression.decode(response, stats).entity.is(entity)
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        def out = new ByteArrayOutputStream()
+        new GZIPOutputStream(out).withCloseable { it.write(bytes) }
+        out.toByteArray()
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        new GZIPInputStream(new ByteArrayInputStream(bytes)).bytes
+    }
+}
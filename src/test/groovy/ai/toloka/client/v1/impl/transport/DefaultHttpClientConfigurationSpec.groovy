@@ -1,5 +1,7 @@
 package ai.toloka.client.v1.impl.transport
 
+import org.apache.http.HttpVersion
+import org.apache.http.message.BasicHttpResponse
 import spock.lang.Specification
 
 class DefaultHttpClientConfigurationSpec extends Specification {
@@ -33,4 +35,53 @@ class DefaultHttpClientConfigurationSpec extends Specification {
         _wrongInput << ['WrongApiKey WRONG+TYPE+PROVIDED',
                         'OAuth MANY PARTS']
     }
+
+    def "keep-alive is capped by pool config; #_keepAlive"() {
+        setup:
+        def response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, 'OK')
+        if (_keepAlive) {
+            response.addHeader('Keep-Alive', _keepAlive)
+        }
+
+        expect:
+        ConnectionPoolConfig.make().keepAlive(30000).done().keepAliveStrategy().getKeepAliveDuration(response, null) ==
+                _duration
+
+        where:
+        _keepAlive           | _duration
+        null                 | 30000
+        'timeout=5, max=100' | 5000
+        'timeout=120'        | 30000
+        'timeout=soon'       | 30000
+    }
+
+    def "clients are built with pool config"() {
+        setup:
+        def poolConfig = ConnectionPoolConfig.make()
+                .maxConnections(20, 10)
+                .keepAlive(1000)
+                .maxIdle(1000)
+                .socketBufferSizes(64 * 1024, -1)
+                .done()
+
+        when:
+        def client = DefaultHttpClientConfiguration.buildDefaultClient('abc', new CompressionStats(), poolConfig)
+        def asyncClient = DefaultHttpClientConfiguration.buildDefaultAsyncClient('abc', poolConfig)
+
+        then:
+        client != null
+        asyncClient != null
+
+        cleanup:
+        client?.close()
+        asyncClient?.close()
+    }
+
+    def "pool config rejects invalid limits"() {
+        when:
+        ConnectionPoolConfig.make().maxConnections(0, 10)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
 }
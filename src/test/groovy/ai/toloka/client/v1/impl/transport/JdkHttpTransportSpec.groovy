@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+
+import ai.toloka.client.v1.impl.AbstractClientSpec
+import ai.toloka.client.v1.impl.TolokaClientFactoryImpl
+import ai.toloka.client.v1.task.Task
+import groovy.json.JsonBuilder
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.client.methods.HttpPost
+import org.apache.http.concurrent.FutureCallback
+import org.apache.http.message.BasicHeader
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer
+import org.mockserver.client.server.MockServerClient
+import org.mockserver.model.Header
+
+import static org.mockserver.matchers.Times.once
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+import static org.mockserver.model.JsonBody.json
+
+class JdkHttpTransportSpec extends AbstractClientSpec {
+
+    def transport = new JdkHttpTransport(
+            java.net.http.HttpClient.newBuilder().version(java.net.http.HttpClient.Version.HTTP_1_1).build(),
+            [DefaultHttpClientConfiguration.getDefaultAuthorizationHeader('abc')],
+            Duration.ofSeconds(10))
+
+    def jdkFactory = new TolokaClientFactoryImpl(
+            new URI('http://localhost:8083/api/'), transport.httpClient, transport.httpAsyncClient)
+            .tune({ http -> http.addHeader(new BasicHeader(headerName, headerValue)) })
+
+    def "blocking clients send requests with JDK client"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks/task-1')
+                        .withMethod('GET')
+                        .withHeader(headerName, headerValue)
+                        .withHeader('Authorization', 'OAuth abc'), once())
+                .respond(response(new JsonBuilder([id: 'task-1', pool_id: '21', input_values: [image: 'a.png']])
+                        .toString()))
+
+        when:
+        def task = jdkFactory.taskClient.getTask('task-1')
+
+        then:
+        task.id == 'task-1'
+        task.poolId == '21'
+    }
+
+    def "request bodies and missing entities are converted"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks')
+                        .withMethod('POST')
+                        .withHeader('Content-Type', 'application/json; charset=UTF-8')
+                        .withBody(json(new JsonBuilder([pool_id: '21', input_values: [image: 'a.png']]).toString())),
+                        once())
+                .respond(response(new JsonBuilder([id: 'task-2', pool_id: '21', input_values: [image: 'a.png']])
+                        .toString()).withStatusCode(201))
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks/task-3').withMethod('GET'), once())
+                .respond(response().withStatusCode(404))
+
+        when:
+        def result = jdkFactory.taskClient.createTask(new Task('21', [image: 'a.png']))
+
+        then:
+        result.result.id == 'task-2'
+        jdkFactory.taskClient.getTask('task-3') == null
+    }
+
+    def "streaming request bodies are written while sent"() {
+        setup:
+        def tasks = (1..1000).collect { new Task('21', [image: "${it}.png" as String]) }
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks').withMethod('POST')
+                        .withBody(json(MapperUtil.objectWriter.writeValueAsString(tasks))), once())
+                .respond(response().withStatusCode(204))
+        def post = new HttpPost('http://localhost:8083/api/v1/tasks')
+        post.entity = new JsonArrayEntity(tasks.iterator(), 64)
+
+        when:
+        def response = transport.httpClient.execute(post)
+
+        then:
+        response.statusLine.statusCode == 204
+    }
+
+    def "errors of writing request bodies fail requests"() {
+        setup:
+        def post = new HttpPost('http://localhost:8083/api/v1/tasks')
+        post.entity = new JsonArrayEntity([hasNext: { true }, next: { throw new IllegalStateException('broken') }]
+                as Iterator)
+
+        when:
+        transport.httpClient.execute(post)
+
+        then:
+        thrown(IOException)
+    }
+
+    def "non-blocking clients send requests with JDK client"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/tasks/task-4').withMethod('GET'), once())
+                .respond(response(new JsonBuilder([id: 'task-4', pool_id: '21', input_values: [:]]).toString())
+                        .withHeader(new Header('Content-Type', 'application/json')))
+
+        when:
+        def task = jdkFactory.taskClientAsync.getTask('task-4').get()
+
+        then:
+        task.id == 'task-4'
+    }
+
+    def "cancelling non-blocking exchange cancels the JDK one"() {
+        setup:
+        def sent = new CompletableFuture()
+        def client = Mock(java.net.http.HttpClient) {
+            sendAsync(_, _) >> sent
+        }
+        def callback = Mock(FutureCallback)
+        def mockedTransport = new JdkHttpTransport(client, [], Duration.ofSeconds(10))
+
+        when:
+        def result = mockedTransport.httpAsyncClient.execute(new HttpGet('http://localhost/api/v1/tasks'), callback)
+        result.cancel(true)
+
+        then:
+        sent.cancelled
+        1 * callback.cancelled()
+    }
+
+    def "unsupported parts of client api do not throw"() {
+        setup:
+        def consumer = Mock(HttpAsyncResponseConsumer)
+        def blockingClient = RetryPolicy.make().done().retrying(transport.httpClient)
+
+        expect:
+        blockingClient.params != null
+
+        when:
+        transport.httpAsyncClient.execute(Mock(HttpAsyncRequestProducer), consumer, null).get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof UnsupportedOperationException
+        1 * consumer.failed(_ as UnsupportedOperationException)
+    }
+
+    def cleanup() {
+        jdkFactory.close()
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import ai.toloka.client.v1.task.Task
+import org.apache.http.entity.ByteArrayEntity
+import org.apache.http.util.EntityUtils
+import spock.lang.Specification
+
+class JsonEntitySpec extends Specification {
+
+    def tasks = (1..JsonEntity.STREAMING_COLLECTION_SIZE + 1).collect { new Task('21', [image: "${it}.png" as String]) }
+
+    def "streamed body equals serialized one and output stays open"() {
+        setup:
+        def entity = JsonEntity.streaming(tasks)
+        def closed = false
+        def out = new ByteArrayOutputStream() {
+            @Override
+            void close() {
+                closed = true
+            }
+        }
+
+        when:
+        entity.writeTo(out)
+
+        then:
+        out.toString('UTF-8') == MapperUtil.objectWriter.writeValueAsString(tasks)
+        !closed
+        entity.chunked
+        entity.contentLength == -1
+        entity.contentType.value == 'application/json; charset=UTF-8'
+
+        and: 'entity is repeatable'
+        entity.repeatable
+        EntityUtils.toString(entity) == out.toString('UTF-8')
+    }
+
+    def "small bodies are buffered with known length"() {
+        expect:
+        JsonEntity.of(tasks) instanceof JsonEntity
+        JsonEntity.of(tasks.take(2)) instanceof ByteArrayEntity
+        JsonEntity.of(tasks.first()) instanceof ByteArrayEntity
+        JsonEntity.of(tasks.first()).contentLength ==
+                MapperUtil.objectWriter.writeValueAsBytes(tasks.first()).length
+    }
+
+    def "array entity writes items of the iterator once"() {
+        setup:
+        def entity = new JsonArrayEntity(tasks.iterator(), 64)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        entity.writeTo(out)
+
+        then:
+        out.toString('UTF-8') == MapperUtil.objectWriter.writeValueAsString(tasks)
+        !entity.repeatable
+        entity.chunked
+
+        when:
+        entity.writeTo(new ByteArrayOutputStream())
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "array entity passes errors of the iterator to the caller"() {
+        setup:
+        def failing = [hasNext: { true }, next: { throw new IllegalStateException('broken input') }] as Iterator
+
+        when:
+        new JsonArrayEntity(failing).writeTo(new ByteArrayOutputStream())
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == 'broken input'
+    }
+
+    def "array entity content is read while items are written"() {
+        setup:
+        def entity = new JsonArrayEntity(tasks.iterator(), 64)
+
+        when:
+        def content = entity.content.withCloseable { it.getText('UTF-8') }
+
+        then:
+        content == MapperUtil.objectWriter.writeValueAsString(tasks)
+
+        when:
+        entity.content
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "array entity content passes errors of the iterator to the reader"() {
+        setup:
+        def failing = [hasNext: { true }, next: { throw new IllegalStateException('broken input') }] as Iterator
+
+        when:
+        new JsonArrayEntity(failing).content.withCloseable { it.getText('UTF-8') }
+
+        then:
+        def e = thrown(IOException)
+        e.cause.message == 'broken input'
+    }
+
+    def "array entity content stops writing once closed"() {
+        setup:
+        def read = 0
+        def endless = [hasNext: { true }, next: { read++; tasks.first() }] as Iterator
+        def content = new JsonArrayEntity(endless, 64).content
+
+        when:
+        content.read(new byte[16])
+        content.close()
+        def readOnClose = read
+        sleep(500)
+
+        then:
+        read - readOnClose < 100
+
+        when:
+        content.read()
+
+        then:
+        thrown(IOException)
+    }
+}
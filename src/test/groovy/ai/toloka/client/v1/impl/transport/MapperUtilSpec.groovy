@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+import ai.toloka.client.v1.SearchResult
+import ai.toloka.client.v1.task.Task
+import com.fasterxml.jackson.core.type.TypeReference
+import spock.lang.Specification
+
+class MapperUtilSpec extends Specification {
+
+    def "date format round trip; #_formatted"() {
+        setup:
+        def format = MapperUtil.tolokaDateFormat
+
+        expect:
+        format.format(format.parse(_formatted)) == _formatted
+        format.parse(_formatted).time == _millis
+
+        where:
+        _formatted                | _millis
+        '2016-10-09T11:42:01'     | 1476013321000L
+        '2016-10-09T11:42:01.123' | 1476013321123L
+        '1969-12-31T23:59:59.500' | -500L
+    }
+
+    def "fraction of any precision and overflowing fields are parsed; #_formatted"() {
+        expect:
+        MapperUtil.tolokaDateFormat.parse(_formatted).time == _millis
+
+        where:
+        _formatted                   | _millis
+        '2016-10-09T11:42:01.5'      | 1476013321500L
+        '2016-10-09T11:42:01.123456' | 1476013321123L
+        '2016-10-08T35:42:01'        | 1476013321000L
+    }
+
+    def "malformed date is not parsed"() {
+        when:
+        MapperUtil.tolokaDateFormat.parse('2016/10/09 11:42:01')
+
+        then:
+        thrown(java.text.ParseException)
+    }
+
+    def "shared date format can not be modified"() {
+        when:
+        _modify(MapperUtil.tolokaDateFormat)
+
+        then:
+        thrown(UnsupportedOperationException)
+        MapperUtil.tolokaDateFormat.timeZone.ID == 'UTC'
+        MapperUtil.tolokaDateFormat.format(new Date(1476013321000L)) == '2016-10-09T11:42:01'
+
+        where:
+        _modify << [
+                { it.timeZone = TimeZone.getTimeZone('Europe/Moscow') },
+                { it.lenient = false },
+                { it.calendar = Calendar.getInstance() },
+                { it.numberFormat = java.text.NumberFormat.getInstance() }
+        ]
+    }
+
+    def "calendar of shared date format is a copy"() {
+        when:
+        MapperUtil.tolokaDateFormat.calendar.timeZone = TimeZone.getTimeZone('Europe/Moscow')
+
+        then:
+        MapperUtil.tolokaDateFormat.timeZone.ID == 'UTC'
+    }
+
+    def "dates are read and written in toloka format"() {
+        when:
+        def task = MapperUtil.getObjectReader(Task).readValue('{"created": "2016-10-09T11:42:01.5"}') as Task
+
+        then:
+        task.created.time == 1476013321500L
+        MapperUtil.objectWriter.writeValueAsString([created: task.created]) == '{"created":"2016-10-09T11:42:01.500"}'
+    }
+
+    def "readers are cached per type"() {
+        expect:
+        MapperUtil.getObjectReader(Task).is(MapperUtil.getObjectReader(Task))
+        MapperUtil.getObjectReader(new TypeReference<SearchResult<Task>>() {})
+                .is(MapperUtil.getObjectReader(new TypeReference<SearchResult<Task>>() {}))
+        MapperUtil.objectWriter.is(MapperUtil.objectWriter)
+    }
+
+    def "shared date format may be used concurrently"() {
+        setup:
+        def executor = Executors.newFixedThreadPool(8)
+        def dates = (0..<1000).collect { new Date(1476013321000L + it * 1001L) }
+
+        when:
+        def formatted = executor.invokeAll(dates.collect { date ->
+            { -> MapperUtil.tolokaDateFormat.parse(MapperUtil.tolokaDateFormat.format(date)) } as Callable<Date>
+        })*.get()
+
+        then:
+        formatted == dates
+
+        cleanup:
+        executor.shutdown()
+    }
+}
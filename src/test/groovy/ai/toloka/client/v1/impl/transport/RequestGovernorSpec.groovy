@@ -0,0 +1,242 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import ai.toloka.client.v1.RequestThrottledException
+import org.apache.http.HttpVersion
+import org.apache.http.client.HttpClient
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.concurrent.FutureCallback
+import org.apache.http.entity.StringEntity
+import org.apache.http.message.BasicHttpResponse
+import org.apache.http.nio.client.HttpAsyncClient
+import org.apache.http.util.EntityUtils
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class RequestGovernorSpec extends Specification {
+
+    def "endpoint family is the first segment after api version"() {
+        expect:
+        EndpointUtil.familyOf(uri) == family
+
+        where:
+        uri                                                  | family
+        'https://toloka.dev/api/v1/tasks'                    | 'tasks'
+        'https://toloka.dev/api/v1/tasks/123?limit=1'        | 'tasks'
+        'https://toloka.dev/api/v1/operations/456/log'       | 'operations'
+        'https://toloka.dev/api/new/v2/assignments'          | 'assignments'
+        'https://toloka.dev/api/v1/'                         | EndpointUtil.UNKNOWN_FAMILY
+        'https://toloka.dev/robots.txt'                      | EndpointUtil.UNKNOWN_FAMILY
+    }
+
+    def "requests are started not faster than allowed"() {
+        setup:
+        def governor = RequestGovernor.make().defaultBudget(RequestBudget.ofRate(20, 1)).done()
+
+        when:
+        def start = System.nanoTime()
+        5.times { governor.acquire('tasks').release() }
+        def elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+
+        then:
+        elapsed >= 180
+    }
+
+    def "families with own budget do not share default one"() {
+        setup:
+        def governor = RequestGovernor.make()
+                .policy(RequestGovernor.Policy.FAIL_FAST)
+                .defaultBudget(RequestBudget.ofInFlight(1))
+                .budget('operations', RequestBudget.ofInFlight(1))
+                .done()
+
+        when:
+        governor.acquire('tasks')
+        governor.acquire('operations')
+
+        then:
+        noExceptionThrown()
+
+        when:
+        governor.acquire('pools')
+
+        then:
+        thrown(RequestThrottledException)
+    }
+
+    def "slot is held until response is read"() {
+        setup:
+        def governor = RequestGovernor.make()
+                .policy(RequestGovernor.Policy.FAIL_FAST)
+                .defaultBudget(RequestBudget.ofInFlight(1))
+                .done()
+        def delegate = Mock(HttpClient) {
+            execute(_, _) >> { okResponse() }
+        }
+        def client = governor.govern(delegate)
+
+        when:
+        def response = client.execute(new HttpGet('http://localhost/api/v1/tasks'))
+
+        then:
+        governor.getInFlightRequests('tasks') == 1
+
+        when:
+        client.execute(new HttpGet('http://localhost/api/v1/tasks'))
+
+        then:
+        thrown(RequestThrottledException)
+
+        when:
+        EntityUtils.consume(response.entity)
+        client.execute(new HttpGet('http://localhost/api/v1/tasks'))
+
+        then:
+        noExceptionThrown()
+    }
+
+    def "blocked requests wait for free slot"() {
+        setup:
+        def governor = RequestGovernor.make().defaultBudget(RequestBudget.ofInFlight(1)).done()
+        def permit = governor.acquire('tasks')
+        def executor = Executors.newSingleThreadExecutor()
+
+        when:
+        def waiting = executor.submit({ governor.acquire('tasks') } as Callable)
+        while (governor.getWaitingRequests('tasks') == 0) {
+            Thread.sleep(10)
+        }
+
+        then:
+        !waiting.done
+        governor.getWaitingRequests() == 1
+
+        when:
+        permit.release()
+        waiting.get(5, TimeUnit.SECONDS).release()
+
+        then:
+        governor.getWaitingRequests('tasks') == 0
+        governor.getInFlightRequests('tasks') == 0
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "async exchanges release slot on completion"() {
+        setup:
+        def governor = RequestGovernor.make()
+                .policy(RequestGovernor.Policy.FAIL_FAST)
+                .defaultBudget(RequestBudget.ofInFlight(1))
+                .done()
+        FutureCallback<?> exchangeCallback = null
+        def delegate = Mock(HttpAsyncClient) {
+            execute(_, _, _) >> { request, context, callback -> exchangeCallback = callback; null }
+        }
+        def client = governor.govern(delegate, Executors.newSingleThreadExecutor())
+
+        when:
+        def first = client.execute(new HttpGet('http://localhost/api/v1/tasks'), null)
+        def second = client.execute(new HttpGet('http://localhost/api/v1/tasks'), null)
+        second.get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof RequestThrottledException
+
+        when:
+        exchangeCallback.completed(okResponse())
+
+        then:
+        first.get().statusLine.statusCode == 200
+        governor.getInFlightRequests('tasks') == 0
+    }
+
+    def "waiting async exchanges do not occupy executor"() {
+        setup:
+        def governor = RequestGovernor.make().defaultBudget(RequestBudget.ofInFlight(1)).done()
+        List<FutureCallback<?>> exchangeCallbacks = []
+        def delegate = Mock(HttpAsyncClient) {
+            execute(_, _, _) >> { request, context, callback -> exchangeCallbacks << callback; null }
+        }
+        def executor = Executors.newSingleThreadExecutor()
+        def client = governor.govern(delegate, executor)
+
+        when:
+        def first = client.execute(new HttpGet('http://localhost/api/v1/tasks'), null)
+        def second = client.execute(new HttpGet('http://localhost/api/v1/tasks'), null)
+
+        then:
+        governor.getWaitingRequests('tasks') == 1
+        executor.submit({ true } as Callable).get(1, TimeUnit.SECONDS)
+
+        when:
+        exchangeCallbacks[0].completed(okResponse())
+
+        then:
+        first.get().statusLine.statusCode == 200
+        new PollingConditions(timeout: 1).eventually {
+            assert exchangeCallbacks.size() == 2
+        }
+        governor.getWaitingRequests('tasks') == 0
+
+        when:
+        exchangeCallbacks[1].completed(okResponse())
+
+        then:
+        second.get().statusLine.statusCode == 200
+        governor.getInFlightRequests('tasks') == 0
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "waiting async exchanges are started once token is refilled"() {
+        setup:
+        def governor = RequestGovernor.make().defaultBudget(RequestBudget.ofRate(20, 1)).done()
+        def delegate = Mock(HttpAsyncClient) {
+            execute(_, _, _) >> { request, context, callback -> callback.completed(okResponse()); null }
+        }
+        def executor = Executors.newSingleThreadExecutor()
+        def client = governor.govern(delegate, executor)
+
+        when:
+        def start = System.nanoTime()
+        def futures = (1..3).collect { client.execute(new HttpGet('http://localhost/api/v1/tasks'), null) }
+        futures*.get(1, TimeUnit.SECONDS)
+        def elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+
+        then:
+        elapsed >= 90
+        governor.getWaitingRequests('tasks') == 0
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    private static okResponse() {
+        def response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, 'OK')
+        response.entity = new StringEntity('{}')
+        response
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+import ai.toloka.client.v1.TlkException
+import ai.toloka.client.v1.impl.AbstractClientSpec
+import ai.toloka.client.v1.impl.TolokaClientFactoryImpl
+import groovy.json.JsonBuilder
+import org.mockserver.client.server.MockServerClient
+import spock.lang.Unroll
+
+import static org.mockserver.matchers.Times.once
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+
+class RequestListenerSpec extends AbstractClientSpec {
+
+    def events = Collections.synchronizedList([])
+
+    def setup() {
+        factory.addRequestListener({ events << it } as RequestListener)
+    }
+
+    @Unroll
+    def "endpoint template replaces identifiers"() {
+        expect:
+        EndpointUtil.templateOf(URI.create(uri)) == template
+
+        where:
+        uri                                                          | template
+        'https://toloka.dev/api/v1/tasks'                            | 'tasks'
+        'https://toloka.dev/api/v1/tasks/123?limit=1'                | 'tasks/{id}'
+        'https://toloka.dev/api/v1/operations/4a5f-01/log'           | 'operations/{id}/log'
+        'https://toloka.dev/api/v1/pools/21/open'                    | 'pools/{id}/open'
+        'https://toloka.dev/api/new/v2/assignments/0001a--62e1/read' | 'assignments/{id}/read'
+        'https://toloka.dev/robots.txt'                              | 'other'
+    }
+
+    def "blocking call is reported"() {
+        setup:
+        def body = new JsonBuilder([id: '31', public_name: 'Traced']).toString()
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/projects/31'), once())
+                .respond(response(body))
+
+        when:
+        factory.projectClient.getProject('31')
+
+        then:
+        events.size() == 1
+        with(events[0] as RequestEvent) {
+            endpoint == 'projects/{id}'
+            method == 'GET'
+            statusCode == 200
+            error == null
+            retries == 0
+            requestBytes == 0
+            responseBytes == body.length()
+            responseWaitNanos > 0
+            handleNanos >= 0
+            totalNanos == responseWaitNanos + handleNanos
+        }
+    }
+
+    def "retries are reported"() {
+        setup:
+        factory.retryPolicy = RetryPolicy.make().initialBackoff(10).done()
+        def mockServerClient = new MockServerClient('localhost', 8083)
+        mockServerClient
+                .when(request('/api/v1/projects/32'), once())
+                .respond(response().withStatusCode(503))
+        mockServerClient
+                .when(request('/api/v1/projects/32'), once())
+                .respond(response().withStatusCode(404))
+
+        when:
+        def project = factory.projectClient.getProject('32')
+
+        then:
+        project == null
+        events.size() == 1
+        with(events[0] as RequestEvent) {
+            statusCode == 404
+            retries == 1
+            error == null
+        }
+    }
+
+    def "failed call is reported with its error"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/projects/35'), once())
+                .respond(response().withStatusCode(500)
+                        .withBody(new JsonBuilder([code: 'INTERNAL_ERROR', message: 'Oops']).toString()))
+
+        when:
+        factory.projectClient.getProject('35')
+
+        then:
+        def e = thrown(TlkException)
+        events.size() == 1
+        with(events[0] as RequestEvent) {
+            statusCode == 500
+            error.is(e)
+        }
+    }
+
+    def "non-blocking call is reported on completion"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/projects/33'), once())
+                .respond(response(new JsonBuilder([id: '33']).toString()))
+
+        when:
+        def project = factory.projectClientAsync.getProject('33').get()
+
+        then:
+        project.id == '33'
+        events.size() == 1
+        with(events[0] as RequestEvent) {
+            endpoint == 'projects/{id}'
+            statusCode == 200
+            responseBytes > 0
+        }
+        RequestTrace.current() == null
+    }
+
+    def "failing listener does not affect call"() {
+        setup:
+        factory.addRequestListener({ throw new IllegalStateException('broken') } as RequestListener)
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/projects/34'), once())
+                .respond(response(new JsonBuilder([id: '34']).toString()))
+
+        when:
+        def project = factory.projectClient.getProject('34')
+
+        then:
+        project.id == '34'
+        events.size() == 1
+        RequestTrace.current() == null
+    }
+
+    def "transport stats show connection pools, executor and calls in flight"() {
+        setup:
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/projects/36'), once())
+                .respond(response(new JsonBuilder([id: '36']).toString()))
+        factory.projectClient.getProject('36')
+
+        def silentServer = new ServerSocket(0)
+        def silentFactory = new TolokaClientFactoryImpl(
+                new URI("http://localhost:${silentServer.localPort}/api/"), 'abc')
+
+        expect:
+        with(factory.transportStats) {
+            connectionPool.routes.keySet() == ['http://localhost:8083'] as Set
+            connectionPool.leased == 0
+            connectionPool.max == ConnectionPoolConfig.DEFAULT.maxConnections
+            asyncConnectionPool == null
+            inFlightRequests == [ProjectClient: 0]
+        }
+
+        when:
+        def future = RequestOptions.make().socketTimeout(500).done().call({
+            silentFactory.projectClientAsync.getProject('37')
+        })
+        def stats = silentFactory.transportStats
+
+        then:
+        stats.inFlightRequests == [ProjectClientAsync: 1]
+        stats.asyncConnectionPool != null
+        stats.executor.poolSize >= 0
+
+        when:
+        future.get()
+
+        then:
+        thrown(ExecutionException)
+        silentFactory.transportStats.inFlightRequests == [ProjectClientAsync: 0]
+
+        cleanup:
+        silentFactory.close()
+        silentServer.close()
+    }
+
+    def "transport stats are reported periodically"() {
+        setup:
+        def reported = new LinkedBlockingQueue<TransportStats>()
+        factory.addRequestListener([onRequest: {}, onTransportStats: { reported << it }] as RequestListener)
+
+        when:
+        factory.statsReportInterval = 20
+
+        then:
+        reported.poll(5, TimeUnit.SECONDS).connectionPool != null
+        reported.poll(5, TimeUnit.SECONDS) != null
+
+        when:
+        factory.statsReportInterval = 0
+        sleep(100)
+        reported.clear()
+        sleep(100)
+
+        then:
+        reported.isEmpty()
+    }
+}
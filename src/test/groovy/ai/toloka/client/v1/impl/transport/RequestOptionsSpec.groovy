@@ -0,0 +1,261 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+
+import ai.toloka.client.v1.BulkUpload
+import ai.toloka.client.v1.BulkUploadException
+import ai.toloka.client.v1.ServiceUnavailableException
+import ai.toloka.client.v1.TolokaRequestIOException
+import ai.toloka.client.v1.assignment.AssignmentSearchRequest
+import ai.toloka.client.v1.impl.AbstractClientSpec
+import ai.toloka.client.v1.impl.TolokaClientFactoryImpl
+import ai.toloka.client.v1.task.Task
+import org.apache.http.client.config.CookieSpecs
+import org.apache.http.client.config.RequestConfig
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.impl.client.HttpClients
+import org.mockserver.client.server.MockServerClient
+import spock.lang.Timeout
+
+import static org.mockserver.matchers.Times.once
+import static org.mockserver.model.HttpRequest.request
+import static org.mockserver.model.HttpResponse.response
+
+class RequestOptionsSpec extends AbstractClientSpec {
+
+    def silentServer = new ServerSocket(0)
+
+    def silentFactory = new TolokaClientFactoryImpl(new URI("http://localhost:${silentServer.localPort}/api/"), 'abc')
+
+    def cleanup() {
+        silentFactory.close()
+        silentServer.close()
+    }
+
+    def "timeouts are cut to the time left until deadline"() {
+        setup:
+        def base = RequestConfig.custom()
+                .setConnectTimeout(10000).setConnectionRequestTimeout(0).setSocketTimeout(120000).build()
+
+        when:
+        def scope = RequestOptions.make().deadline(5000).socketTimeout(300).done().open()
+        def config = scope.configure(base, 1000)
+        scope.close()
+
+        then:
+        config.socketTimeout == 300
+        config.connectTimeout == 1000
+        config.connectionRequestTimeout == 1000
+    }
+
+    def "timeouts are kept without deadline"() {
+        setup:
+        def base = RequestConfig.custom().setConnectTimeout(10000).setSocketTimeout(120000).build()
+
+        when:
+        def scope = RequestOptions.make().socketTimeout(600000).done().open()
+        def config = scope.configure(base, scope.remainingMillis)
+        scope.close()
+
+        then:
+        config.socketTimeout == 600000
+        config.connectTimeout == 10000
+    }
+
+    def "nested scope may not extend deadline of enclosing one"() {
+        when:
+        def outer = RequestOptions.make().deadline(1000).socketTimeout(500).done().open()
+        def inner = RequestOptions.make().deadline(60000).done().open()
+
+        then:
+        RequestOptions.current().is(inner)
+        inner.remainingMillis <= 1000
+        inner.configure(RequestConfig.DEFAULT, 1000).socketTimeout == 500
+
+        when:
+        inner.close()
+
+        then:
+        RequestOptions.current().is(outer)
+
+        when:
+        outer.close()
+
+        then:
+        RequestOptions.current() == null
+    }
+
+    def "scope applies config to request"() {
+        setup:
+        def request = new HttpGet('http://localhost:8083/api/v1/projects/1')
+
+        when:
+        RequestOptions.make().connectionRequestTimeout(100).done().call({
+            RequestOptions.applyCurrent(request, factory.transportHttpClient)
+        })
+
+        then:
+        request.config.connectionRequestTimeout == 100
+        request.config.socketTimeout == DefaultHttpClientConfiguration.defaultRequestConfig.socketTimeout
+    }
+
+    def "scope keeps default config of client other than timeouts"() {
+        setup:
+        def defaults = RequestConfig.custom()
+                .setSocketTimeout(7000).setRedirectsEnabled(false).setCookieSpec(CookieSpecs.IGNORE_COOKIES).build()
+        def client = HttpClients.custom().setDefaultRequestConfig(defaults).build()
+        def request = new HttpGet('http://localhost:8083/api/v1/projects/1')
+
+        when:
+        RequestOptions.make().connectTimeout(100).done().call({
+            RequestOptions.applyCurrent(request, RetryPolicy.make().done().retrying(client))
+        })
+
+        then:
+        request.config.connectTimeout == 100
+        request.config.socketTimeout == 7000
+        !request.config.redirectsEnabled
+        request.config.cookieSpec == CookieSpecs.IGNORE_COOKIES
+        factory.transportHttpAsyncClient.config.socketTimeout ==
+                DefaultHttpClientConfiguration.defaultRequestConfig.socketTimeout
+
+        cleanup:
+        client.close()
+    }
+
+    def "waiting for a permit is bounded by deadline"() {
+        setup:
+        def governor = RequestGovernor.make().defaultBudget(RequestBudget.ofInFlight(1)).done()
+        def permit = governor.acquire('tasks')
+        def scope = RequestOptions.make().deadline(200).done().open()
+
+        when:
+        governor.acquire('tasks')
+
+        then:
+        thrown(DeadlineExceededException)
+        governor.getInFlightRequests('tasks') == 1
+
+        cleanup:
+        scope.close()
+        permit.release()
+    }
+
+    def "call; fails without sending request after deadline"() {
+        when:
+        RequestOptions.make().deadline(0).done().call({ factory.projectClient.getProject('20') })
+
+        then:
+        def e = thrown(TolokaRequestIOException)
+        e.cause instanceof DeadlineExceededException
+        mockServer.retrieveRecordedRequests(request('/api/v1/projects/20')).length == 0
+    }
+
+    def "call; applies socket timeout"() {
+        when:
+        RequestOptions.make().socketTimeout(300).done().call({ silentFactory.projectClient.getProject('21') })
+
+        then:
+        def e = thrown(TolokaRequestIOException)
+        e.cause instanceof SocketTimeoutException
+    }
+
+    def "call; does not retry after deadline"() {
+        setup:
+        factory.retryPolicy = RetryPolicy.make().initialBackoff(2000).jitter(0).done()
+
+        new MockServerClient('localhost', 8083)
+                .when(request('/api/v1/projects/22'), once())
+                .respond(response().withStatusCode(503))
+
+        when:
+        RequestOptions.make().deadline(1000).done().call({ factory.projectClient.getProject('22') })
+
+        then:
+        thrown(ServiceUnavailableException)
+        mockServer.retrieveRecordedRequests(request('/api/v1/projects/22')).length == 1
+    }
+
+    def "async call; keeps options of the scope it was started in"() {
+        when:
+        def future = RequestOptions.make().deadline(300).done().call({
+            silentFactory.projectClientAsync.getProject('23')
+        })
+        future.get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof TolokaRequestIOException
+        e.cause.cause instanceof SocketTimeoutException
+    }
+
+    @Timeout(30)
+    def "chunked upload; keeps options of the scope it was started in"() {
+        setup:
+        def scope = RequestOptions.make().deadline(300).done().open()
+
+        when:
+        silentFactory.taskClient.createTasks([new Task('21', [image: 'a.png'])].iterator(), new BulkUpload(1, 1))
+
+        then:
+        def e = thrown(BulkUploadException)
+        e.cause instanceof TolokaRequestIOException
+        e.cause.cause instanceof SocketTimeoutException
+
+        cleanup:
+        scope.close()
+    }
+
+    @Timeout(30)
+    def "prefetching stream; keeps options of the scope it was started in"() {
+        setup:
+        def scope = RequestOptions.make().deadline(300).done().open()
+        def request = AssignmentSearchRequest.make().filter().byPoolId('21').and().done()
+
+        when:
+        silentFactory.assignmentClient.streamAssignments(request, 1).withCloseable { it.findFirst() }
+
+        then:
+        def e = thrown(TolokaRequestIOException)
+        e.cause instanceof SocketTimeoutException
+
+        cleanup:
+        scope.close()
+    }
+
+    def "context binds captured scope to other threads and restores their own"() {
+        setup:
+        def scope = RequestOptions.make().deadline(1000).done().open()
+        def context = RequestContext.capture()
+        scope.close()
+        def own = RequestOptions.make().deadline(2000).done().open()
+
+        when:
+        def bound = context.wrap({ RequestOptions.current() } as Callable).call()
+
+        then:
+        bound.is(scope)
+        RequestOptions.current().is(own)
+
+        cleanup:
+        own.close()
+    }
+}
+
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.impl.transport
+
+import java.util.concurrent.Executors
+
+import org.apache.http.HttpVersion
+import org.apache.http.NoHttpResponseException
+import org.apache.http.client.HttpClient
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.client.methods.HttpPost
+import org.apache.http.client.utils.DateUtils
+import org.apache.http.concurrent.FutureCallback
+import org.apache.http.conn.HttpHostConnectException
+import org.apache.http.message.BasicHttpResponse
+import org.apache.http.nio.client.HttpAsyncClient
+import spock.lang.Specification
+
+class RetryPolicySpec extends Specification {
+
+    def policy = RetryPolicy.make().initialBackoff(100).multiplier(2).maxBackoff(1000).jitter(0).done()
+
+    def "idempotent requests are retried on retryable statuses"() {
+        expect:
+        policy.nextRetryDelayMillis(request, 0, response(status), null) == delay
+
+        where:
+        request                                                           | status | delay
+        new HttpGet('http://localhost/api/v1/tasks/1')                    | 503    | 100
+        new HttpGet('http://localhost/api/v1/tasks/1')                    | 429    | 100
+        new HttpGet('http://localhost/api/v1/tasks/1')                    | 500    | -1
+        new HttpGet('http://localhost/api/v1/tasks/1')                    | 404    | -1
+        new HttpPost('http://localhost/api/v1/tasks')                     | 503    | -1
+        new HttpPost('http://localhost/api/v1/tasks?operation_id=abc')    | 503    | 100
+    }
+
+    def "backoff grows exponentially up to max"() {
+        expect:
+        (0..4).collect {
+            RetryPolicy.make().maxRetries(5).initialBackoff(100).maxBackoff(1000).jitter(0).done()
+                    .nextRetryDelayMillis(new HttpGet('http://localhost/api/v1/tasks'), it, response(502), null)
+        } == [100, 200, 400, 800, 1000]
+    }
+
+    def "retries are limited"() {
+        expect:
+        policy.nextRetryDelayMillis(new HttpGet('http://localhost/api/v1/tasks'), 3, response(503), null) == -1
+    }
+
+    def "Retry-After is honored"() {
+        setup:
+        def request = new HttpGet('http://localhost/api/v1/tasks')
+
+        expect:
+        policy.nextRetryDelayMillis(request, 0, response(503, '1'), null) == 1000
+        policy.nextRetryDelayMillis(request, 0, response(503, '5'), null) == -1
+        policy.nextRetryDelayMillis(request, 0,
+                response(503, DateUtils.formatDate(new Date(System.currentTimeMillis() + 500))), null) <= 1000
+    }
+
+    def "connection errors are retried if the request was not sent or may be repeated"() {
+        expect:
+        policy.nextRetryDelayMillis(request, 0, null, error) == delay
+
+        where:
+        request                                        | error                                      | delay
+        new HttpPost('http://localhost/api/v1/tasks')  | new HttpHostConnectException(null, null)   | 100
+        new HttpPost('http://localhost/api/v1/tasks')  | new NoHttpResponseException('no response') | -1
+        new HttpGet('http://localhost/api/v1/tasks')   | new NoHttpResponseException('no response') | 100
+        new HttpGet('http://localhost/api/v1/tasks')   | new IOException('other')                   | -1
+    }
+
+    def "budget limits retries"() {
+        setup:
+        def policy = RetryPolicy.make().initialBackoff(0).budget(0.5, 2).done()
+        def request = new HttpGet('http://localhost/api/v1/tasks')
+
+        expect:
+        policy.nextRetryDelayMillis(request, 0, response(503), null) == 0
+        policy.nextRetryDelayMillis(request, 0, response(503), null) == 0
+        policy.nextRetryDelayMillis(request, 0, response(503), null) == -1
+
+        when:
+        policy.recordRequest()
+        policy.recordRequest()
+
+        then:
+        policy.nextRetryDelayMillis(request, 0, response(503), null) == 0
+    }
+
+    def "blocking client returns response of the last attempt"() {
+        setup:
+        def delegate = Mock(HttpClient)
+        def client = RetryPolicy.make().initialBackoff(1).done().retrying(delegate)
+
+        when:
+        def result = client.execute(new HttpGet('http://localhost/api/v1/tasks'))
+
+        then:
+        1 * delegate.execute(_, _) >> { throw new NoHttpResponseException('no response') }
+        1 * delegate.execute(_, _) >> response(503)
+        1 * delegate.execute(_, _) >> response(200)
+        result.statusLine.statusCode == 200
+    }
+
+    def "non-blocking client schedules retries"() {
+        setup:
+        def delegate = Mock(HttpAsyncClient)
+        def client = RetryPolicy.make().initialBackoff(1).maxRetries(1).done()
+                .retrying(delegate, Executors.newSingleThreadExecutor())
+
+        when:
+        def result = client.execute(new HttpGet('http://localhost/api/v1/tasks'), null).get()
+
+        then:
+        2 * delegate.execute(_, _, _) >> { request, context, FutureCallback callback ->
+            callback.completed(response(503)); null
+        }
+        result.statusLine.statusCode == 503
+    }
+
+    private static response(int status, String retryAfter = null) {
+        def response = new BasicHttpResponse(HttpVersion.HTTP_1_1, status, 'reason')
+        if (retryAfter != null) {
+            response.addHeader('Retry-After', retryAfter)
+        }
+        response
+    }
+}
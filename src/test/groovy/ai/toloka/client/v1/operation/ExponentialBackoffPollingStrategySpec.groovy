@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.operation
+
+import ai.toloka.client.v1.pool.PoolOpenOperation
+import spock.lang.Specification
+
+class ExponentialBackoffPollingStrategySpec extends Specification {
+
+    def strategy = ExponentialBackoffPollingStrategy.make()
+            .initialDelay(300)
+            .initialInterval(100)
+            .multiplier(2)
+            .maxInterval(1000)
+            .jitter(0)
+            .done()
+
+    def "first check is delayed only for just started operations"() {
+        expect:
+        strategy.getDelayMillis(operation(null, null), 0) == 300
+        strategy.getDelayMillis(operation(new Date(), null), 0) == 300
+        strategy.getDelayMillis(operation(new Date(System.currentTimeMillis() - 60000), null), 0) == 0
+    }
+
+    def "intervals grow exponentially up to max interval"() {
+        expect:
+        (1..6).collect { strategy.getDelayMillis(operation(null, null), it) } == [100, 200, 400, 800, 1000, 1000]
+    }
+
+    def "interval is limited by time left estimated from progress"() {
+        setup:
+        def started = new Date(System.currentTimeMillis() - 4500)
+
+        expect: 'running for 4.5 s and 90% done, so about 0.5 s left'
+        (500..510).contains(strategy.getDelayMillis(operation(started, 90), 10) as int)
+        strategy.getDelayMillis(operation(started, 99), 10) == 100
+        strategy.getDelayMillis(operation(started, 10), 10) == 1000
+    }
+
+    def "jitter only shortens intervals"() {
+        setup:
+        def jittered = ExponentialBackoffPollingStrategy.make().initialInterval(1000).jitter(0.5).done()
+
+        when:
+        def delays = (1..100).collect { jittered.getDelayMillis(operation(null, null), 1) }
+
+        then:
+        delays.every { it >= 500 && it <= 1000 }
+        delays.unique().size() > 1
+    }
+
+    def "invalid parameters are rejected"() {
+        when:
+        ExponentialBackoffPollingStrategy.make().with(_setter).done()
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        _setter << [
+                { it.multiplier(0.5) },
+                { it.jitter(1.5) },
+                { it.timeout(-1) }
+        ]
+    }
+
+    private static Operation<?, ?> operation(Date started, Integer progress) {
+        new PoolOpenOperation(started: started, progress: progress)
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ai.toloka.client.v1.operation
+
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ExecutionException
+
+import ai.toloka.client.v1.SearchResult
+import ai.toloka.client.v1.pool.PoolCloseOperation
+import ai.toloka.client.v1.pool.PoolOpenOperation
+import spock.lang.Specification
+
+class OperationWatcherSpec extends Specification {
+
+    def client = Mock(OperationClient)
+
+    def watcher = new OperationWatcher(client, 3_600_000, 3_600_000)
+
+    def cleanup() {
+        watcher.close()
+    }
+
+    def "completed and pseudo operations are returned at once"() {
+        setup:
+        def done = new PoolOpenOperation(id: 'op1', status: OperationStatus.SUCCESS)
+        def pseudo = PoolOpenOperation.createPseudo(new Date())
+
+        expect:
+        watcher.watch(done).get().is(done)
+        watcher.watch(pseudo).get().is(pseudo)
+        watcher.watchedCount == 0
+    }
+
+    def "many operations are completed by one search per tick"() {
+        setup:
+        def submitted = new Date(1_000_000)
+        def open = new PoolOpenOperation(id: 'op1', status: OperationStatus.RUNNING, submitted: submitted)
+        def close = new PoolCloseOperation(id: 'op2', status: OperationStatus.PENDING, submitted: submitted)
+
+        def openFuture = watcher.watch(open)
+        def closeFuture = watcher.watch(close)
+
+        when:
+        watcher.poll()
+
+        then:
+        1 * client.findOperations({ it.queryParameters.finished_gte == submitted }) >> result(false,
+                new PoolOpenOperation(id: 'other', status: OperationStatus.SUCCESS, finished: new Date(1_500_000)),
+                new PoolOpenOperation(id: 'op1', status: OperationStatus.SUCCESS, finished: new Date(2_000_000)))
+        0 * client._
+
+        openFuture.isDone()
+        openFuture.get().status == OperationStatus.SUCCESS
+        !closeFuture.isDone()
+        watcher.watchedCount == 1
+
+        when: 'next scan starts slightly before the latest finish date seen'
+        watcher.poll()
+
+        then:
+        1 * client.findOperations({
+            it.queryParameters.finished_gte == new Date(2_000_000 - OperationWatcher.FINISHED_OVERLAP_MILLIS)
+        }) >> result(false,
+                new PoolCloseOperation(id: 'op2', status: OperationStatus.FAIL, finished: new Date(2_500_000)))
+
+        closeFuture.get().status == OperationStatus.FAIL
+        watcher.watchedCount == 0
+    }
+
+    def "pages are followed by finish date"() {
+        setup:
+        def operation = new PoolOpenOperation(id: 'op3', status: OperationStatus.RUNNING, submitted: new Date(1000))
+        def future = watcher.watch(operation)
+
+        when:
+        watcher.poll()
+
+        then:
+        1 * client.findOperations({ it.queryParameters.finished_gte == new Date(1000) }) >> result(true,
+                new PoolOpenOperation(id: 'op1', status: OperationStatus.SUCCESS, finished: new Date(5000)))
+        1 * client.findOperations({ it.queryParameters.id_gt == 'op1' }) >> result(false)
+        1 * client.findOperations({ it.queryParameters.finished_gt == new Date(5000) }) >> result(false,
+                new PoolOpenOperation(id: 'op3', status: OperationStatus.SUCCESS, finished: new Date(6000)))
+
+        future.get().id == 'op3'
+    }
+
+    def "operations finished at the same time are paged by id"() {
+        setup:
+        def finished = new Date(5000)
+        def operation = new PoolOpenOperation(id: 'op9', type: OperationType.POOL_OPEN, status: OperationStatus.RUNNING,
+                submitted: new Date(1000))
+        def future = watcher.watch(operation)
+
+        when:
+        watcher.poll()
+
+        then:
+        1 * client.findOperations({ it.queryParameters.finished_gte == new Date(1000) }) >> result(true,
+                new PoolOpenOperation(id: 'op1', status: OperationStatus.SUCCESS, finished: finished),
+                new PoolOpenOperation(id: 'op2', status: OperationStatus.SUCCESS, finished: finished))
+        1 * client.findOperations({
+            it.queryParameters.finished_gte == finished && it.queryParameters.finished_lte == finished
+                    && it.queryParameters.id_gt == 'op2' && it.queryParameters.sort == 'id'
+        }) >> result(true, new PoolOpenOperation(id: 'op5', status: OperationStatus.SUCCESS, finished: finished))
+        1 * client.findOperations({ it.queryParameters.id_gt == 'op5' }) >> result(false,
+                new PoolOpenOperation(id: 'op9', status: OperationStatus.SUCCESS, finished: finished))
+        0 * client._
+
+        future.get().id == 'op9'
+    }
+
+    def "search is limited to the type shared by watched operations"() {
+        setup:
+        watcher.watch(new PoolOpenOperation(id: 'op1', type: OperationType.POOL_OPEN, status: OperationStatus.RUNNING,
+                submitted: new Date(1000)))
+
+        when:
+        watcher.poll()
+
+        then:
+        1 * client.findOperations({ it.queryParameters.type == OperationType.POOL_OPEN }) >> result(false)
+    }
+
+    def "failed polls are retried and unfinished operations time out"() {
+        setup:
+        def shortWatcher = new OperationWatcher(client, 3_600_000, 1)
+        def future = shortWatcher.watch(
+                new PoolOpenOperation(id: 'op1', status: OperationStatus.RUNNING, submitted: new Date()))
+        sleep(10)
+
+        when:
+        shortWatcher.poll()
+        future.get()
+
+        then:
+        1 * client.findOperations(_) >> { throw new RuntimeException('unavailable') }
+        def e = thrown(ExecutionException)
+        e.cause instanceof OperationTimeoutException
+
+        cleanup:
+        shortWatcher.close()
+    }
+
+    def "closing cancels watched operations"() {
+        setup:
+        def future = watcher.watch(new PoolOpenOperation(id: 'op1', status: OperationStatus.RUNNING))
+
+        when:
+        watcher.close()
+        future.get()
+
+        then:
+        thrown(CancellationException)
+
+        when:
+        watcher.watch(new PoolOpenOperation(id: 'op2', status: OperationStatus.RUNNING))
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    private static SearchResult<Operation<?, ?>> result(boolean hasMore, Operation<?, ?>... operations) {
+        new SearchResult<Operation<?, ?>>(items: operations as List, hasMore: hasMore)
+    }
+}